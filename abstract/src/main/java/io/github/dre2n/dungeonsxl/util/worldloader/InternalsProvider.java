@@ -26,4 +26,21 @@ public abstract class InternalsProvider {
 
     abstract World createWorld(WorldCreator creator);
 
+    /**
+     * @param creator
+     * the WorldCreator which stores the information to create the new world
+     * @param lean
+     * if the world is a copy of a dungeon map that does not need its spawn region to be kept in memory. Only the
+     * chunks that are accessed later are loaded. The conversion is only skipped if the DataVersion of the level.dat
+     * shows that the map has already been saved by this server version.
+     * @return
+     * the new World
+     */
+    abstract World createWorld(WorldCreator creator, boolean lean);
+
+    /**
+     * Waits until the file I/O thread of the server has written all queued chunks.
+     */
+    abstract void flush();
+
 }
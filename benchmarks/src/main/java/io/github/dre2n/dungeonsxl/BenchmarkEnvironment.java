@@ -0,0 +1,451 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl;
+
+import io.github.dre2n.commons.config.MessageConfig;
+import io.github.dre2n.debukkit.DebukkIt;
+import io.github.dre2n.dungeonsxl.config.GlobalData;
+import io.github.dre2n.dungeonsxl.config.MainConfig;
+import io.github.dre2n.dungeonsxl.config.WorldConfig;
+import io.github.dre2n.dungeonsxl.dungeon.Dungeons;
+import io.github.dre2n.dungeonsxl.game.GameRulesCache;
+import io.github.dre2n.dungeonsxl.global.GlobalProtections;
+import io.github.dre2n.dungeonsxl.player.DGlobalPlayer;
+import io.github.dre2n.dungeonsxl.player.DGroup;
+import io.github.dre2n.dungeonsxl.player.DPlayers;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import io.github.dre2n.dungeonsxl.world.DResourceWorld;
+import io.github.dre2n.dungeonsxl.world.DWorlds;
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.objenesis.ObjenesisStd;
+import static org.mockito.Mockito.*;
+
+/**
+ * Replaces the server and the plugin instance with stubs so that the DungeonsXL classes can be benchmarked without a running server.
+ * Everything that is called in measured code is a plain Stub; Mockito is only used for objects that are touched during setup.
+ * The scheduler queues tasks until {@link #tick()} runs them, so that simulations can drive the plugin tick by tick.
+ *
+ * @author Daniel Saukel
+ */
+public class BenchmarkEnvironment {
+
+    private static boolean initialized;
+
+    private static final ObjenesisStd OBJENESIS = new ObjenesisStd();
+
+    private static Server server;
+    private static BenchmarkPlugin plugin;
+    private static Map<UUID, Player> players = new ConcurrentHashMap<>();
+    private static Map<String, Player> playersByName = new ConcurrentHashMap<>();
+
+    private static long currentTick;
+    private static int nextTaskId;
+    private static Map<Integer, ScheduledTask> tasks = new LinkedHashMap<>();
+
+    /**
+     * A task that the stubbed scheduler has queued
+     */
+    static class ScheduledTask {
+
+        int id;
+        Runnable runnable;
+        long nextTick;
+        long period;
+
+    }
+
+    /**
+     * Sets up the stubbed server and plugin. Benchmarks must call this before they touch any other DungeonsXL class.
+     */
+    public static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+
+        server = new Stub() {
+            @Override
+            protected Object answer(String method, Object[] args) {
+                if (method.equals("getPlayer") && args[0] instanceof UUID) {
+                    return players.get((UUID) args[0]);
+                } else if ((method.equals("getPlayer") || method.equals("getPlayerExact")) && args[0] instanceof String) {
+                    return playersByName.get((String) args[0]);
+                }
+                return null;
+            }
+        }.set("getLogger", Logger.getLogger("Benchmark"))
+                .set("getName", "Benchmark")
+                .set("getVersion", "Benchmark")
+                .set("getBukkitVersion", "1.10.2-R0.1-SNAPSHOT")
+                .set("getPluginManager", new Stub().create(PluginManager.class))
+                .set("getScheduler", createScheduler())
+                .set("getConsoleSender", new Stub().create(ConsoleCommandSender.class))
+                .create(Server.class);
+        Bukkit.setServer(server);
+
+        File folder = new File(System.getProperty("java.io.tmpdir"), "dungeonsxl-benchmarks");
+        DungeonsXL.MAPS = new File(folder, "maps");
+        DungeonsXL.PLAYERS = new File(folder, "players");
+        DungeonsXL.DUNGEONS = new File(folder, "dungeons");
+        new File(DungeonsXL.MAPS, ".raw").mkdirs();
+        DungeonsXL.PLAYERS.mkdirs();
+        DungeonsXL.DUNGEONS.mkdirs();
+
+        // JavaPlugin refuses to be constructed outside of a plugin class loader
+        plugin = OBJENESIS.newInstance(BenchmarkPlugin.class);
+        setField(DungeonsXL.class, null, "instance", plugin);
+        setField(DungeonsXL.class, plugin, "debug", mock(DebukkIt.class));
+        setField(JavaPlugin.class, plugin, "server", server);
+        setField(JavaPlugin.class, plugin, "dataFolder", folder);
+        setField(JavaPlugin.class, plugin, "isEnabled", true);
+
+        plugin.globalData = mock(GlobalData.class);
+        when(plugin.globalData.getConfig()).thenReturn(new YamlConfiguration());
+        plugin.mainConfig = mock(MainConfig.class);
+        when(plugin.mainConfig.getDefaultWorldConfig()).thenReturn(new WorldConfig());
+        when(plugin.mainConfig.getInstanceMaxEntities()).thenReturn(-1);
+        when(plugin.mainConfig.getInstanceMaxItems()).thenReturn(-1);
+        when(plugin.mainConfig.getInstanceMaxChunks()).thenReturn(-1);
+        when(plugin.mainConfig.getInstanceMaxTickTime()).thenReturn(-1D);
+        plugin.messageConfig = mock(MessageConfig.class, RETURNS_SMART_NULLS);
+        plugin.dungeons = mock(Dungeons.class);
+        plugin.ioExecutor = new IOExecutor(Logger.getLogger("Benchmark"), 2, 256);
+        plugin.games = new CopyOnWriteArrayList<>();
+        plugin.dGroups = new CopyOnWriteArrayList<>();
+
+        // These read the plugin instance when they are constructed
+        plugin.dPlayers = new DPlayers();
+        plugin.dWorlds = new DWorlds(DungeonsXL.MAPS);
+        plugin.protections = new GlobalProtections();
+        plugin.gameRulesCache = new GameRulesCache();
+        plugin.loadInstanceQueue();
+    }
+
+    /**
+     * Removes all groups, players, instances, protections and tasks that previous benchmarks created.
+     */
+    public static void reset() {
+        plugin.games.clear();
+        plugin.dGroups.clear();
+        plugin.dPlayers.getDGlobalPlayers().clear();
+        plugin.dWorlds.getInstances().clear();
+        plugin.protections.getProtections().clear();
+        players.clear();
+        playersByName.clear();
+
+        synchronized (tasks) {
+            tasks.clear();
+        }
+        // Groups stop their countdown when they are deleted
+        plugin.startTimeIsRunningTask();
+    }
+
+    /* Getters */
+    /**
+     * @return the stubbed plugin
+     */
+    public static DungeonsXL getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * @return the stubbed server
+     */
+    public static Server getServer() {
+        return server;
+    }
+
+    /* Actions */
+    /**
+     * Runs the tasks that are due in the next server tick.
+     */
+    public static void tick() {
+        List<ScheduledTask> due = new ArrayList<>();
+        synchronized (tasks) {
+            currentTick++;
+            for (ScheduledTask task : tasks.values()) {
+                if (task.nextTick <= currentTick) {
+                    due.add(task);
+                }
+            }
+        }
+
+        for (ScheduledTask task : due) {
+            synchronized (tasks) {
+                // An earlier task of this tick may have cancelled it
+                if (!tasks.containsKey(task.id)) {
+                    continue;
+                }
+                if (task.period >= 0) {
+                    task.nextTick += Math.max(task.period, 1);
+                } else {
+                    tasks.remove(task.id);
+                }
+            }
+            task.runnable.run();
+        }
+    }
+
+    /* Factories */
+    /**
+     * @param name
+     * the name of the world
+     * @return
+     * a stubbed world that creates stubbed blocks
+     */
+    public static World createWorld(String name) {
+        final World[] world = new World[1];
+        world[0] = new Stub() {
+            @Override
+            protected Object answer(String method, Object[] args) {
+                if (method.equals("getBlockAt") && args.length == 3) {
+                    return createBlock(world[0], (Integer) args[0], (Integer) args[1], (Integer) args[2]);
+                } else if (method.equals("getSpawnLocation")) {
+                    return new Location(world[0], 0, 64, 0);
+                }
+                return null;
+            }
+        }.set("getName", name).create(World.class);
+        return world[0];
+    }
+
+    /**
+     * @return
+     * a stubbed block at the given position
+     */
+    public static Block createBlock(World world, int x, int y, int z) {
+        return new Stub()
+                .set("getWorld", world)
+                .set("getX", x)
+                .set("getY", y)
+                .set("getZ", z)
+                .set("getType", Material.AIR)
+                .set("getLocation", new Location(world, x, y, z))
+                .create(Block.class);
+    }
+
+    /**
+     * @return
+     * a stubbed online player at the given location that Bukkit.getPlayer(UUID) and Bukkit.getPlayer(String) know
+     */
+    public static Player createPlayer(String name, Location location) {
+        UUID uuid = UUID.randomUUID();
+        PlayerInventory inventory = new Stub() {
+            @Override
+            protected Object answer(String method, Object[] args) {
+                if (method.equals("iterator")) {
+                    return Collections.<ItemStack>emptyList().listIterator();
+                }
+                return null;
+            }
+        }.create(PlayerInventory.class);
+        Player player = new Stub()
+                .set("getUniqueId", uuid)
+                .set("getName", name)
+                .set("getLocation", location)
+                .set("getWorld", location.getWorld())
+                .set("getInventory", inventory)
+                .set("getGameMode", GameMode.SURVIVAL)
+                .set("isOnline", true)
+                .create(Player.class);
+        players.put(uuid, player);
+        playersByName.put(name, player);
+        return player;
+    }
+
+    /**
+     * @return
+     * a stubbed living entity of the given type at the given location
+     */
+    public static LivingEntity createLivingEntity(EntityType type, Location location) {
+        return new Stub()
+                .set("getType", type)
+                .set("getWorld", location.getWorld())
+                .set("getLocation", location)
+                .set("getEquipment", new Stub().create(EntityEquipment.class))
+                .create(LivingEntity.class);
+    }
+
+    /**
+     * Removes a player that createPlayer(String, Location) created.
+     */
+    public static void removePlayer(Player player) {
+        players.remove(player.getUniqueId());
+        playersByName.remove(player.getName());
+    }
+
+    /**
+     * Registers a DGlobalPlayer without loading its player data file.
+     *
+     * @return
+     * the DGlobalPlayer that represents the player
+     */
+    public static DGlobalPlayer createDGlobalPlayer(Player player) {
+        DGlobalPlayer dPlayer = OBJENESIS.newInstance(DGlobalPlayer.class);
+        setField(DGlobalPlayer.class, dPlayer, "player", player);
+        plugin.dPlayers.getDGlobalPlayers().add(dPlayer);
+        return dPlayer;
+    }
+
+    /**
+     * @return
+     * a group that consists of the given players; the first one is the captain
+     */
+    public static DGroup createDGroup(String name, Player... members) {
+        DGroup dGroup = new DGroup(name, members[0]);
+        for (int i = 1; i < members.length; i++) {
+            dGroup.addPlayer(members[i], false);
+        }
+        return dGroup;
+    }
+
+    /**
+     * @param id
+     * the instance ID
+     * @return
+     * a DGameWorld with a stubbed world, registered in the DWorlds like a real instance
+     */
+    public static DGameWorld createGameWorld(int id) {
+        World world = createWorld("DXL_Game_" + id);
+        try {
+            Constructor<DGameWorld> constructor = DGameWorld.class.getDeclaredConstructor(DResourceWorld.class, File.class, World.class, int.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(null, new File(DungeonsXL.MAPS, world.getName()), world, id);
+
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * @return
+     * a scheduler that queues all tasks, including asynchronous ones, until {@link #tick()} runs them in the calling thread
+     */
+    static BukkitScheduler createScheduler() {
+        return new Stub() {
+            @Override
+            protected Object answer(String method, Object[] args) {
+                switch (method) {
+                    case "runTask":
+                    case "runTaskAsynchronously":
+                        return schedule((Runnable) args[1], 0, -1);
+                    case "runTaskLater":
+                    case "runTaskLaterAsynchronously":
+                        return schedule((Runnable) args[1], (Long) args[2], -1);
+                    case "runTaskTimer":
+                    case "runTaskTimerAsynchronously":
+                        return schedule((Runnable) args[1], (Long) args[2], (Long) args[3]);
+                    case "scheduleSyncDelayedTask":
+                    case "scheduleAsyncDelayedTask":
+                        return schedule((Runnable) args[1], args.length > 2 ? (Long) args[2] : 0, -1).getTaskId();
+                    case "scheduleSyncRepeatingTask":
+                    case "scheduleAsyncRepeatingTask":
+                        return schedule((Runnable) args[1], (Long) args[2], (Long) args[3]).getTaskId();
+                    case "cancelTask":
+                        cancel((Integer) args[0]);
+                        return null;
+                    case "isQueued":
+                        synchronized (tasks) {
+                            return tasks.containsKey((Integer) args[0]);
+                        }
+                    default:
+                        return null;
+                }
+            }
+        }.create(BukkitScheduler.class);
+    }
+
+    /* Statics */
+    /**
+     * @param period
+     * the period in ticks or -1 if the task runs only once
+     */
+    static BukkitTask schedule(Runnable runnable, long delay, long period) {
+        final ScheduledTask task = new ScheduledTask();
+        task.runnable = runnable;
+        task.period = period;
+        synchronized (tasks) {
+            task.id = ++nextTaskId;
+            // Like on a server, a task without delay runs in the next tick
+            task.nextTick = currentTick + Math.max(delay, 1);
+            tasks.put(task.id, task);
+        }
+
+        return new Stub() {
+            @Override
+            protected Object answer(String method, Object[] args) {
+                if (method.equals("cancel")) {
+                    cancel(task.id);
+                }
+                return null;
+            }
+        }.set("getTaskId", task.id)
+                .set("getOwner", plugin)
+                .set("isSync", true)
+                .create(BukkitTask.class);
+    }
+
+    static void cancel(int id) {
+        synchronized (tasks) {
+            tasks.remove(id);
+        }
+    }
+
+    static void setField(Class<?> clazz, Object object, String name, Object value) {
+        try {
+            Field field = clazz.getDeclaredField(name);
+            // Accessible final instance fields may be set by reflection; static final fields may not
+            field.setAccessible(true);
+            field.set(object, value);
+
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
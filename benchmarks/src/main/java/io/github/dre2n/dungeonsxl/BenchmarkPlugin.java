@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl;
+
+import io.github.dre2n.commons.config.MessageConfig;
+import io.github.dre2n.dungeonsxl.config.GlobalData;
+import io.github.dre2n.dungeonsxl.config.MainConfig;
+import io.github.dre2n.dungeonsxl.dungeon.Dungeons;
+import io.github.dre2n.dungeonsxl.game.Game;
+import io.github.dre2n.dungeonsxl.game.GameRulesCache;
+import io.github.dre2n.dungeonsxl.global.GlobalProtections;
+import io.github.dre2n.dungeonsxl.player.DGroup;
+import io.github.dre2n.dungeonsxl.player.DPlayers;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
+import io.github.dre2n.dungeonsxl.world.DWorlds;
+import java.util.List;
+
+/**
+ * A DungeonsXL instance that is created without a plugin class loader and serves the managers of the BenchmarkEnvironment.
+ *
+ * @author Daniel Saukel
+ */
+public class BenchmarkPlugin extends DungeonsXL {
+
+    GlobalData globalData;
+    MainConfig mainConfig;
+    MessageConfig messageConfig;
+    Dungeons dungeons;
+    GlobalProtections protections;
+    DPlayers dPlayers;
+    DWorlds dWorlds;
+    GameRulesCache gameRulesCache;
+    IOExecutor ioExecutor;
+    List<Game> games;
+    List<DGroup> dGroups;
+
+    @Override
+    public GlobalData getGlobalData() {
+        return globalData;
+    }
+
+    @Override
+    public MainConfig getMainConfig() {
+        return mainConfig;
+    }
+
+    @Override
+    public MessageConfig getMessageConfig() {
+        return messageConfig;
+    }
+
+    @Override
+    public Dungeons getDungeons() {
+        return dungeons;
+    }
+
+    @Override
+    public GlobalProtections getGlobalProtections() {
+        return protections;
+    }
+
+    @Override
+    public DPlayers getDPlayers() {
+        return dPlayers;
+    }
+
+    @Override
+    public DWorlds getDWorlds() {
+        return dWorlds;
+    }
+
+    @Override
+    public GameRulesCache getGameRulesCache() {
+        return gameRulesCache;
+    }
+
+    @Override
+    public IOExecutor getIOExecutor() {
+        return ioExecutor;
+    }
+
+    @Override
+    public List<Game> getGames() {
+        return games;
+    }
+
+    @Override
+    public List<DGroup> getDGroups() {
+        return dGroups;
+    }
+
+}
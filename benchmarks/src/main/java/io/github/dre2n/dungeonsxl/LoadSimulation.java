@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl;
+
+import io.github.dre2n.dungeonsxl.game.Game;
+import io.github.dre2n.dungeonsxl.mob.DMob;
+import io.github.dre2n.dungeonsxl.player.DGamePlayer;
+import io.github.dre2n.dungeonsxl.player.DGroup;
+import io.github.dre2n.dungeonsxl.player.DPlayers;
+import io.github.dre2n.dungeonsxl.trigger.DistanceTrigger;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Drives synthetic groups through dungeon instances tick by tick and reports the tick time, allocations and instance turnaround.
+ * The players join as DGamePlayers and ready up, walk through distance triggers, kill mobs, finish the floor and leave; the
+ * instances are then unloaded by the WorldUnloadTask. The plugin tasks run on the scheduler of the BenchmarkEnvironment.
+ * Dungeons have a single floor, since the next floor of a multi floor dungeon would have to be loaded from a resource world.
+ * <p>
+ * Arguments are key=value pairs:
+ * ticks, arrivalsPerMinute, groupSize, triggers, mobs and maxTickTime (milliseconds at the 99th percentile, -1 to disable).
+ * If maxTickTime is exceeded, the simulation fails, so that it can guard capacity changes in the build.
+ *
+ * @author Daniel Saukel
+ */
+public class LoadSimulation {
+
+    public static final int TICKS_PER_SECOND = 20;
+    public static final double WALK_SPEED = 0.25;
+    public static final int TRIGGER_SPACING = 4;
+    public static final int KILL_INTERVAL = 10;
+    public static final String DUNGEON = "Simulation";
+
+    private int ticks = 6000;
+    private int arrivalsPerMinute = 60;
+    private int groupSize = 4;
+    private int triggers = 50;
+    private int mobs = 20;
+    private double maxTickTime = -1;
+
+    private List<Instance> instances = new ArrayList<>();
+    private long[] tickTimes;
+    private long allocated;
+    private long turnaroundTicks;
+    private int maxTurnaround;
+    private int started;
+    private int finished;
+    private int peakInstances;
+    private int nextId;
+
+    /**
+     * A dungeon instance played by one synthetic group
+     */
+    static class Instance {
+
+        int startTick;
+        DGroup dGroup;
+        DGameWorld gameWorld;
+        Game game;
+        Player[] players;
+        Location[] locations;
+        List<DMob> dMobs = new ArrayList<>();
+        double goal;
+
+    }
+
+    public LoadSimulation(String[] args) {
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+
+            switch (pair[0]) {
+                case "ticks":
+                    ticks = Integer.parseInt(pair[1]);
+                    break;
+                case "arrivalsPerMinute":
+                    arrivalsPerMinute = Integer.parseInt(pair[1]);
+                    break;
+                case "groupSize":
+                    groupSize = Integer.parseInt(pair[1]);
+                    break;
+                case "triggers":
+                    triggers = Integer.parseInt(pair[1]);
+                    break;
+                case "mobs":
+                    mobs = Integer.parseInt(pair[1]);
+                    break;
+                case "maxTickTime":
+                    maxTickTime = Double.parseDouble(pair[1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + pair[0]);
+            }
+        }
+
+        tickTimes = new long[ticks];
+    }
+
+    /* Actions */
+    /**
+     * Runs the simulation and prints the report.
+     *
+     * @return
+     * the tick time in milliseconds at the 99th percentile
+     */
+    public double run() {
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.reset();
+
+        // The tasks that the plugin starts when it is enabled
+        DungeonsXL plugin = BenchmarkEnvironment.getPlugin();
+        plugin.startWorldUnloadTask(1200L);
+        plugin.startLazyUpdateTask(20L);
+        plugin.startUpdateTask(20L);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocations = null;
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            allocations = (com.sun.management.ThreadMXBean) threads;
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = allocations != null ? allocations.getThreadAllocatedBytes(threadId) : 0;
+
+        double arrivalsPerTick = arrivalsPerMinute / 60D / TICKS_PER_SECOND;
+        double arrivals = 0;
+
+        for (int tick = 0; tick < ticks; tick++) {
+            long start = System.nanoTime();
+
+            arrivals += arrivalsPerTick;
+            while (arrivals >= 1) {
+                arrivals--;
+                start(tick);
+            }
+
+            tick(tick);
+            BenchmarkEnvironment.tick();
+
+            tickTimes[tick] = System.nanoTime() - start;
+            peakInstances = Math.max(peakInstances, instances.size());
+        }
+
+        if (allocations != null) {
+            allocated = allocations.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        }
+
+        return report();
+    }
+
+    void start(int tick) {
+        Instance instance = new Instance();
+        instance.startTick = tick;
+        instance.gameWorld = BenchmarkEnvironment.createGameWorld(nextId++);
+        World world = instance.gameWorld.getWorld();
+
+        instance.players = new Player[groupSize];
+        instance.locations = new Location[groupSize];
+        for (int i = 0; i < groupSize; i++) {
+            instance.locations[i] = new Location(world, -i, 64, 0);
+            instance.players[i] = BenchmarkEnvironment.createPlayer("Player" + nextId + "_" + i, instance.locations[i]);
+        }
+        instance.dGroup = BenchmarkEnvironment.createDGroup("Group_" + nextId, instance.players);
+        instance.dGroup.setDungeon(DUNGEON);
+        instance.dGroup.setGameWorld(instance.gameWorld);
+        instance.game = new Game(instance.dGroup, instance.gameWorld);
+
+        for (int i = 0; i < triggers; i++) {
+            instance.gameWorld.addTrigger(new DistanceTrigger(3, new Location(world, (i + 1) * TRIGGER_SPACING, 64, 0)));
+        }
+        instance.goal = (triggers + 1) * TRIGGER_SPACING;
+
+        for (int i = 0; i < mobs; i++) {
+            LivingEntity entity = BenchmarkEnvironment.createLivingEntity(EntityType.ZOMBIE, new Location(world, i * 2, 64, 5));
+            instance.dMobs.add(new DMob(entity, instance.gameWorld, null));
+        }
+
+        // The players enter the lobby and ready up; the game starts when the last one is ready
+        for (Player player : instance.players) {
+            if (DGamePlayer.getByPlayer(player) == null) {
+                new DGamePlayer(player, instance.gameWorld);
+            }
+        }
+        for (Player player : instance.players) {
+            DGamePlayer dPlayer = DGamePlayer.getByPlayer(player);
+            if (!dPlayer.isReady()) {
+                dPlayer.ready();
+            }
+        }
+        if (!instance.dGroup.isPlaying()) {
+            throw new IllegalStateException(instance.dGroup.getName() + " did not start the game");
+        }
+
+        instances.add(instance);
+        started++;
+    }
+
+    void tick(int tick) {
+        Iterator<Instance> iterator = instances.iterator();
+        while (iterator.hasNext()) {
+            Instance instance = iterator.next();
+
+            // Movement through the distance triggers
+            boolean arrived = true;
+            for (int i = 0; i < groupSize; i++) {
+                Location location = instance.locations[i];
+                if (location.getX() < instance.goal) {
+                    location.setX(location.getX() + WALK_SPEED);
+                    arrived = false;
+                }
+                DistanceTrigger.triggerAllInDistance(instance.players[i], instance.gameWorld);
+            }
+
+            // Mob kills
+            if (!instance.dMobs.isEmpty() && (tick - instance.startTick) % KILL_INTERVAL == 0) {
+                DMob dMob = instance.dMobs.remove(instance.dMobs.size() - 1);
+                dMob.onDeath(new EntityDeathEvent(dMob.getEntity(), new ArrayList<ItemStack>()));
+            }
+
+            if (arrived && instance.dMobs.isEmpty()) {
+                finish(instance, tick);
+                iterator.remove();
+            }
+        }
+    }
+
+    void finish(Instance instance, int tick) {
+        // The last player to finish the floor makes the group finish the dungeon and leave
+        for (Player player : instance.players) {
+            DGamePlayer dPlayer = DGamePlayer.getByPlayer(player);
+            if (dPlayer != null) {
+                dPlayer.finishFloor(null);
+            }
+        }
+
+        DPlayers dPlayers = BenchmarkEnvironment.getPlugin().getDPlayers();
+        for (Player player : instance.players) {
+            if (DGamePlayer.getByPlayer(player) != null) {
+                throw new IllegalStateException(player.getName() + " did not leave the dungeon");
+            }
+
+            // The players log out after they have left
+            dPlayers.removePlayer(dPlayers.getByPlayer(player));
+            BenchmarkEnvironment.removePlayer(player);
+        }
+
+        int turnaround = tick - instance.startTick;
+        turnaroundTicks += turnaround;
+        maxTurnaround = Math.max(maxTurnaround, turnaround);
+        finished++;
+    }
+
+    double report() {
+        long[] sorted = Arrays.copyOf(tickTimes, tickTimes.length);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long time : sorted) {
+            total += time;
+        }
+
+        double p99 = toMillis(sorted[(int) (sorted.length * 0.99)]);
+
+        System.out.println("DungeonsXL load simulation");
+        System.out.println("= Ticks: " + ticks + ", arrivals per minute: " + arrivalsPerMinute + ", group size: " + groupSize
+                + ", triggers: " + triggers + ", mobs: " + mobs);
+        System.out.println("= Instances: " + started + " started, " + finished + " finished, " + instances.size() + " running, " + peakInstances + " at peak, "
+                + BenchmarkEnvironment.getPlugin().getDWorlds().getInstances().size() + " loaded");
+        System.out.println(String.format("= Tick time: %.3f ms average, %.3f ms median, %.3f ms 99th percentile, %.3f ms max",
+                toMillis(total / sorted.length), toMillis(sorted[sorted.length / 2]), p99, toMillis(sorted[sorted.length - 1])));
+        if (allocated > 0) {
+            System.out.println(String.format("= Allocations: %.1f KiB per tick", allocated / 1024D / ticks));
+        }
+        if (finished > 0) {
+            System.out.println(String.format("= Instance turnaround: %.1f s average, %.1f s max",
+                    (double) turnaroundTicks / finished / TICKS_PER_SECOND, (double) maxTurnaround / TICKS_PER_SECOND));
+        }
+
+        return p99;
+    }
+
+    /* Statics */
+    static double toMillis(long nanos) {
+        return nanos / 1000000D;
+    }
+
+    public static void main(String[] args) {
+        LoadSimulation simulation = new LoadSimulation(args);
+        double p99 = simulation.run();
+
+        if (simulation.maxTickTime >= 0 && p99 > simulation.maxTickTime) {
+            throw new IllegalStateException("The 99th percentile tick time " + p99 + " ms exceeds the limit of " + simulation.maxTickTime + " ms");
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A cheap stand-in for Bukkit interfaces. Unlike mocking frameworks, it does not record invocations, so it does not distort the
+ * measured time of hot lookups. Methods without a value return empty collections and arrays, so that loops over them work.
+ *
+ * @author Daniel Saukel
+ */
+public class Stub implements InvocationHandler {
+
+    private Map<String, Object> values = new HashMap<>();
+
+    /**
+     * @param method
+     * the name of the method
+     * @param value
+     * the value the method returns regardless of its arguments
+     * @return
+     * this stub
+     */
+    public Stub set(String method, Object value) {
+        values.put(method, value);
+        return this;
+    }
+
+    /**
+     * @param type
+     * the interface to implement
+     * @return
+     * a proxy that implements the interface with the values of this stub
+     */
+    public <T> T create(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, this));
+    }
+
+    /**
+     * Override to answer methods whose return value depends on the arguments.
+     *
+     * @return
+     * the value to return or null to fall back to the static values
+     */
+    protected Object answer(String method, Object[] args) {
+        return null;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return values.containsKey("getName") ? String.valueOf(values.get("getName")) : "Stub";
+        }
+
+        Object value = answer(name, args);
+        if (value != null) {
+            return value;
+        }
+
+        value = values.get(name);
+        if (value != null) {
+            return value;
+        }
+
+        return getDefault(method.getReturnType());
+    }
+
+    /* Statics */
+    static Object getDefault(Class<?> type) {
+        if (type.isArray()) {
+            return Array.newInstance(type.getComponentType(), 0);
+        } else if (type == List.class || type == Collection.class) {
+            return Collections.emptyList();
+        } else if (type == Set.class) {
+            return Collections.emptySet();
+        } else if (type == Map.class) {
+            return Collections.emptyMap();
+        } else if (!type.isPrimitive() || type == void.class) {
+            return null;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0F;
+        } else {
+            return 0D;
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.config;
+
+import io.github.dre2n.dungeonsxl.BenchmarkEnvironment;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing and reading the sign positions of a map.
+ *
+ * @author Daniel Saukel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignDataBenchmark {
+
+    @Param({"10", "500", "5000"})
+    public int signs;
+
+    private File file;
+    private SignData signData;
+    private List<Block> blocks;
+    private DGameWorld gameWorld;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.reset();
+
+        file = File.createTempFile("DXLData", ".data");
+        signData = new SignData(file);
+        gameWorld = BenchmarkEnvironment.createGameWorld(0);
+
+        World world = gameWorld.getWorld();
+        blocks = new ArrayList<>(signs);
+        for (int i = 0; i < signs; i++) {
+            blocks.add(BenchmarkEnvironment.createBlock(world, i % 100, 64, i / 100));
+        }
+        signData.serializeSigns(blocks);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void serializeSigns() {
+        signData.serializeSigns(blocks);
+        BenchmarkEnvironment.getPlugin().getIOExecutor().await(file);
+    }
+
+    @Benchmark
+    public void deserializeSigns() {
+        signData.deserializeSigns(gameWorld);
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.game;
+
+import io.github.dre2n.dungeonsxl.BenchmarkEnvironment;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the check if a block may be placed in a game world that contains many place signs: the position index against the
+ * linear scan over all place signs that it replaced.
+ *
+ * @author Daniel Saukel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GamePlaceableBlockBenchmark {
+
+    @Param({"10", "500", "5000"})
+    public int signs;
+
+    private DGameWorld gameWorld;
+    private Block[] blocks;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.reset();
+
+        gameWorld = BenchmarkEnvironment.createGameWorld(0);
+        World world = gameWorld.getWorld();
+
+        blocks = new Block[signs * 2];
+        for (int i = 0; i < signs; i++) {
+            Block block = BenchmarkEnvironment.createBlock(world, i % 100, 64, i / 100);
+            gameWorld.addPlaceableBlock(new GamePlaceableBlock(block, "1,4", "xxxxxx"));
+            blocks[i] = block;
+            // Half of the checks miss
+            blocks[signs + i] = BenchmarkEnvironment.createBlock(world, i % 100, 65, i / 100);
+        }
+    }
+
+    @Benchmark
+    public boolean canBuildHere() {
+        next = (next + 1) % blocks.length;
+        return GamePlaceableBlock.canBuildHere(blocks[next], BlockFace.UP, Material.STONE, gameWorld);
+    }
+
+    @Benchmark
+    public boolean canBuildHereScan() {
+        next = (next + 1) % blocks.length;
+        return scan(blocks[next], BlockFace.UP, Material.STONE, gameWorld);
+    }
+
+    /**
+     * The check as it was before the position index: every place sign of the world is compared with the block.
+     */
+    static boolean scan(Block block, BlockFace blockFace, Material mat, DGameWorld gameWorld) {
+        for (GamePlaceableBlock placeableBlock : gameWorld.getPlaceableBlocks()) {
+            Block signBlock = placeableBlock.getBlock();
+            if (signBlock.getX() != block.getX() || signBlock.getY() != block.getY() || signBlock.getZ() != block.getZ()) {
+                continue;
+            }
+
+            if (placeableBlock.allows(blockFace, mat)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
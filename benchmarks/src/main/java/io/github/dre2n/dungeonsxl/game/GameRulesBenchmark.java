@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.game;
+
+import io.github.dre2n.dungeonsxl.BenchmarkEnvironment;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rules of a new game: applying one set of rules, merging all layers as done once per game type, dungeon and floor,
+ * and the GameRulesCache lookup that every other game of the same combination uses.
+ *
+ * @author Daniel Saukel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameRulesBenchmark {
+
+    private GameRulesCache cache;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        cache = BenchmarkEnvironment.getPlugin().getGameRulesCache();
+        cache.getRules(GameTypeDefault.DEFAULT, null, null);
+    }
+
+    @Benchmark
+    public GameRules apply() {
+        GameRules rules = new GameRules();
+        rules.apply(GameRules.DEFAULT_VALUES);
+        return rules;
+    }
+
+    @Benchmark
+    public GameRules merge() {
+        cache.clear();
+        return cache.getRules(GameTypeDefault.DEFAULT, null, null);
+    }
+
+    @Benchmark
+    public GameRules cached() {
+        return cache.getRules(GameTypeDefault.DEFAULT, null, null);
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.global;
+
+import io.github.dre2n.dungeonsxl.BenchmarkEnvironment;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the portal lookup that runs whenever a player moves into a portal block.
+ *
+ * @author Daniel Saukel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DPortalBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int portals;
+
+    private Block[] blocks;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.reset();
+
+        World world = BenchmarkEnvironment.createWorld("world");
+        blocks = new Block[portals * 2];
+        for (int i = 0; i < portals; i++) {
+            int x = i * 10;
+            new DPortal(i, BenchmarkEnvironment.createBlock(world, x, 64, 0), BenchmarkEnvironment.createBlock(world, x + 2, 67, 0), true);
+            blocks[i] = BenchmarkEnvironment.createBlock(world, x + 1, 65, 0);
+            // Half of the lookups miss
+            blocks[portals + i] = BenchmarkEnvironment.createBlock(world, x + 5, 65, 0);
+        }
+    }
+
+    @Benchmark
+    public DPortal getByBlock() {
+        next = (next + 1) % blocks.length;
+        return DPortal.getByBlock(blocks[next]);
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.loottable;
+
+import io.github.dre2n.dungeonsxl.BenchmarkEnvironment;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rolling the loot of a loot table.
+ *
+ * @author Daniel Saukel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DLootTableBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int entries;
+
+    @Param({"false", "true"})
+    public boolean weighted;
+
+    private DLootTable lootTable;
+    private Random random = new Random();
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+
+        lootTable = new DLootTable("benchmark", new YamlConfiguration());
+        Material[] materials = Material.values();
+        for (int i = 0; i < entries; i++) {
+            ItemStack item = new ItemStack(materials[i % materials.length]);
+            DLootTable.Entry entry = lootTable.new Entry("entry" + i, item, i % 100);
+            if (weighted) {
+                entry.setWeight(i % 10 + 1);
+                entry.setMinAmount(1);
+                entry.setMaxAmount(8);
+            }
+            lootTable.addEntry(entry);
+        }
+        lootTable.setRolls(3);
+    }
+
+    @Benchmark
+    public List<ItemStack> generateLootList() {
+        return lootTable.generateLootList(random);
+    }
+
+}
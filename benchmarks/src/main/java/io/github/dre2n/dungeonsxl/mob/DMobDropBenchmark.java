@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.mob;
+
+import io.github.dre2n.dungeonsxl.BenchmarkEnvironment;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures rolling the drops of a wave of mobs that die at once, e.g. when a boss wave is killed.
+ *
+ * @author Daniel Saukel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DMobDropBenchmark {
+
+    @Param({"10", "50"})
+    public int wave;
+
+    @Param({"5", "20"})
+    public int drops;
+
+    private DMobType type;
+    private Random random = new Random();
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+
+        type = new DMobType("benchmark", new YamlConfiguration());
+        Map<ItemStack, Integer> dropMap = new HashMap<>();
+        Material[] materials = Material.values();
+        for (int i = 0; i < drops; i++) {
+            dropMap.put(new ItemStack(materials[i % materials.length]), i * 5 % 100);
+        }
+        type.setDrops(dropMap);
+    }
+
+    @Benchmark
+    public void killWave(Blackhole blackhole) {
+        for (int i = 0; i < wave; i++) {
+            List<ItemStack> loot = type.getDropTable().generateLootList(random);
+            blackhole.consume(loot);
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.player;
+
+import io.github.dre2n.dungeonsxl.BenchmarkEnvironment;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the permission checks that run on the event hot path for players who lack the permission.
+ *
+ * @author Daniel Saukel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DPermissionsBenchmark {
+
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.reset();
+
+        player = BenchmarkEnvironment.createPlayer("Player", new Location(BenchmarkEnvironment.createWorld("world"), 0, 64, 0));
+    }
+
+    @Benchmark
+    public boolean hasPermission() {
+        return DPermissions.hasPermission(player, DPermissions.INSECURE);
+    }
+
+    @Benchmark
+    public boolean hasPermissionByNode() {
+        return DPermissions.hasPermission(player, "dxl.escape");
+    }
+
+    @Benchmark
+    public boolean hasPermissionAfterInvalidation() {
+        DPermissions.invalidate(player);
+        return DPermissions.hasPermission(player, DPermissions.INSECURE);
+    }
+
+}
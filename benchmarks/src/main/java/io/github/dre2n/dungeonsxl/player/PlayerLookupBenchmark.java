@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.player;
+
+import io.github.dre2n.dungeonsxl.BenchmarkEnvironment;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the player and group lookups that almost every listener performs.
+ *
+ * @author Daniel Saukel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerLookupBenchmark {
+
+    public static final int GROUP_SIZE = 4;
+
+    @Param({"10", "100", "1000"})
+    public int players;
+
+    private DPlayers dPlayers;
+    private Player[] bukkitPlayers;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.reset();
+        dPlayers = BenchmarkEnvironment.getPlugin().getDPlayers();
+
+        World world = BenchmarkEnvironment.createWorld("world");
+        bukkitPlayers = new Player[players];
+        for (int i = 0; i < players; i++) {
+            bukkitPlayers[i] = BenchmarkEnvironment.createPlayer("Player" + i, new Location(world, i, 64, 0));
+            BenchmarkEnvironment.createDGlobalPlayer(bukkitPlayers[i]);
+        }
+
+        for (int i = 0; i < players; i += GROUP_SIZE) {
+            int size = Math.min(GROUP_SIZE, players - i);
+            Player[] members = new Player[size];
+            System.arraycopy(bukkitPlayers, i, members, 0, size);
+            BenchmarkEnvironment.createDGroup("Group_" + i, members);
+        }
+    }
+
+    private Player nextPlayer() {
+        next = (next + 1) % bukkitPlayers.length;
+        return bukkitPlayers[next];
+    }
+
+    @Benchmark
+    public DGlobalPlayer dPlayersGetByPlayer() {
+        return dPlayers.getByPlayer(nextPlayer());
+    }
+
+    @Benchmark
+    public DGroup dGroupGetByPlayer() {
+        return DGroup.getByPlayer(nextPlayer());
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.trigger;
+
+import io.github.dre2n.dungeonsxl.BenchmarkEnvironment;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the distance trigger check that runs for every player movement in a game world.
+ *
+ * @author Daniel Saukel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceTriggerBenchmark {
+
+    @Param({"10", "500", "5000"})
+    public int signs;
+
+    private DGameWorld gameWorld;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.reset();
+
+        gameWorld = BenchmarkEnvironment.createGameWorld(0);
+        World world = gameWorld.getWorld();
+        for (int i = 0; i < signs; i++) {
+            // Out of reach, so that the benchmark measures the check and not the sign actions
+            gameWorld.addTrigger(new DistanceTrigger(5, new Location(world, i % 100 * 20, 200, i / 100 * 20)));
+        }
+
+        player = BenchmarkEnvironment.createPlayer("Player", new Location(world, 10, 64, 10));
+    }
+
+    @Benchmark
+    public void triggerAllInDistance() {
+        DistanceTrigger.triggerAllInDistance(player, gameWorld);
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.world;
+
+import io.github.dre2n.dungeonsxl.BenchmarkEnvironment;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup of the DGameWorld that belongs to a Bukkit world.
+ *
+ * @author Daniel Saukel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DGameWorldBenchmark {
+
+    @Param({"10", "100"})
+    public int instances;
+
+    private World[] worlds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.reset();
+
+        worlds = new World[instances + 1];
+        for (int i = 0; i < instances; i++) {
+            worlds[i] = BenchmarkEnvironment.createGameWorld(i).getWorld();
+        }
+        // A world that is not a DungeonsXL instance
+        worlds[instances] = BenchmarkEnvironment.createWorld("world");
+    }
+
+    @Benchmark
+    public DGameWorld getByWorld() {
+        next = (next + 1) % worlds.length;
+        return DGameWorld.getByWorld(worlds[next]);
+    }
+
+}
@@ -21,6 +21,7 @@ import io.github.dre2n.commons.compatibility.Internals;
 import io.github.dre2n.commons.config.MessageConfig;
 import io.github.dre2n.commons.javaplugin.BRPlugin;
 import io.github.dre2n.commons.javaplugin.BRPluginSettings;
+import io.github.dre2n.commons.util.messageutil.MessageUtil;
 import io.github.dre2n.dungeonsxl.announcer.Announcers;
 import io.github.dre2n.dungeonsxl.command.*;
 import io.github.dre2n.dungeonsxl.config.DMessages;
@@ -28,6 +29,7 @@ import io.github.dre2n.dungeonsxl.config.GlobalData;
 import io.github.dre2n.dungeonsxl.config.MainConfig;
 import io.github.dre2n.dungeonsxl.dungeon.Dungeons;
 import io.github.dre2n.dungeonsxl.game.Game;
+import io.github.dre2n.dungeonsxl.game.GameRulesCache;
 import io.github.dre2n.dungeonsxl.game.GameTypes;
 import io.github.dre2n.dungeonsxl.global.GlobalProtections;
 import io.github.dre2n.dungeonsxl.listener.*;
@@ -48,12 +50,21 @@ import io.github.dre2n.dungeonsxl.sign.SignScripts;
 import io.github.dre2n.dungeonsxl.task.AnnouncerTask;
 import io.github.dre2n.dungeonsxl.task.LazyUpdateTask;
 import io.github.dre2n.dungeonsxl.task.SecureModeTask;
+import io.github.dre2n.dungeonsxl.task.TimeIsRunningTask;
 import io.github.dre2n.dungeonsxl.task.UpdateTask;
 import io.github.dre2n.dungeonsxl.task.WorldUnloadTask;
 import io.github.dre2n.dungeonsxl.trigger.TriggerTypes;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
+import io.github.dre2n.dungeonsxl.util.StartupLoader;
 import io.github.dre2n.dungeonsxl.world.DWorlds;
+import io.github.dre2n.dungeonsxl.world.InstancePipeline;
+import io.github.dre2n.dungeonsxl.world.InstanceQueue;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import org.bukkit.event.HandlerList;
 import org.bukkit.scheduler.BukkitTask;
@@ -65,7 +76,7 @@ public class DungeonsXL extends BRPlugin {
 
     private static DungeonsXL instance;
 
-    public static final String[] EXCLUDED_FILES = {"config.yml", "uid.dat", "DXLData.data"};
+    public static final String[] EXCLUDED_FILES = {"config.yml", "uid.dat", "DXLData.data", "DXLData.journal"};
     public static File BACKUPS;
     public static File DUNGEONS;
     public static File LANGUAGES;
@@ -77,6 +88,7 @@ public class DungeonsXL extends BRPlugin {
     public static File LOOT_TABLES;
     public static File MOBS;
     public static File SIGNS;
+    public static File TEMPLATES;
 
     private GlobalData globalData;
     private MainConfig mainConfig;
@@ -98,14 +110,20 @@ public class DungeonsXL extends BRPlugin {
     private DMobTypes dMobTypes;
     private SignScripts signScripts;
     private DWorlds dWorlds;
+    private GameRulesCache gameRulesCache;
+    private InstanceQueue instanceQueue;
+    private InstancePipeline instancePipeline;
+    private IOExecutor ioExecutor;
+    private StartupLoader startupLoader;
 
     private BukkitTask announcerTask;
     private BukkitTask worldUnloadTask;
     private BukkitTask lazyUpdateTask;
     private BukkitTask updateTask;
     private BukkitTask secureModeTask;
+    private TimeIsRunningTask timeIsRunningTask;
 
-    private CopyOnWriteArrayList<DLootInventory> dLootInventories = new CopyOnWriteArrayList<>();
+    private Map<UUID, DLootInventory> dLootInventories = new HashMap<>();
     private CopyOnWriteArrayList<Game> games = new CopyOnWriteArrayList<>();
     private CopyOnWriteArrayList<DGroup> dGroups = new CopyOnWriteArrayList<>();
 
@@ -131,10 +149,12 @@ public class DungeonsXL extends BRPlugin {
     public void onEnable() {
         super.onEnable();
         instance = this;
+        startupLoader = new StartupLoader();
 
         initFolders();
         loadCore();
 
+        startupLoader.startPhase("listeners");
         manager.registerEvents(new EntityListener(), this);
         manager.registerEvents(new GUIListener(), this);
         manager.registerEvents(new PlayerListener(), this);
@@ -146,6 +166,7 @@ public class DungeonsXL extends BRPlugin {
         }
 
         // Load All
+        startupLoader.startPhase("data");
         loadData();
 
         // Tasks
@@ -153,9 +174,12 @@ public class DungeonsXL extends BRPlugin {
         startWorldUnloadTask(1200L);
         startLazyUpdateTask(20L);
         startUpdateTask(20L);
+        startTimeIsRunningTask();
         if (mainConfig.isSecureModeEnabled()) {
             startSecureModeTask(mainConfig.getSecureModeCheckInterval());
         }
+
+        finishStartup();
     }
 
     @Override
@@ -183,6 +207,9 @@ public class DungeonsXL extends BRPlugin {
         // Stop shedulers
         getServer().getScheduler().cancelTasks(this);
 
+        // Finish pending file operations
+        ioExecutor.shutdown(60);
+
         // DebukkIt
         debug.save();
     }
@@ -247,34 +274,81 @@ public class DungeonsXL extends BRPlugin {
         if (!SIGNS.exists()) {
             SIGNS.mkdir();
         }
+
+        TEMPLATES = new File(getDataFolder(), "templates");
+        if (!TEMPLATES.exists()) {
+            TEMPLATES.mkdir();
+        }
     }
 
     public void loadCore() {
+        // A reload is timed separately
+        boolean reload = startupLoader == null;
+        if (reload) {
+            startupLoader = new StartupLoader();
+        }
+
+        startupLoader.startPhase("config");
         loadCaliburnAPI();
         // Load Language
         loadMessageConfig(new File(LANGUAGES, "english.yml"));
         // Load Config
         loadGlobalData(new File(getDataFolder(), "data.yml"));
         loadMainConfig(new File(getDataFolder(), "config.yml"));
+        loadIOExecutor();
         // Load Language 2
         loadMessageConfig(new File(LANGUAGES, mainConfig.getLanguage() + ".yml"));
+
+        // Parse the scripts in the background while the types and maps are loaded
+        startupLoader.preload(ANNOUNCERS);
+        startupLoader.preload(CLASSES);
+        startupLoader.preload(LOOT_TABLES);
+        startupLoader.preload(MOBS);
+        startupLoader.preload(SIGNS);
+
+        startupLoader.startPhase("types");
         DPermissions.register();
         loadGameTypes();
         loadRequirementTypes();
         loadRewardTypes();
         loadTriggers();
         loadDSigns();
+        loadExternalMobProviders();
+
+        startupLoader.startPhase("maps");
+        loadDWorlds(MAPS);
+
+        startupLoader.startPhase("dungeons");
+        // The dungeon configs refer to the maps
         loadDungeons();
         loadGlobalProtections();
-        loadExternalMobProviders();
         loadDPlayers();
+
+        startupLoader.startPhase("scripts");
         loadAnnouncers(ANNOUNCERS);
         loadDClasses(CLASSES);
         loadDLootTables(LOOT_TABLES);
         loadDMobTypes(MOBS);
         loadSignScripts(SIGNS);
-        loadDWorlds(MAPS);
+
+        startupLoader.startPhase("commands");
+        loadGameRulesCache();
+        loadInstancePipeline();
+        loadInstanceQueue();
         loadDCommands();
+
+        if (reload) {
+            finishStartup();
+        }
+    }
+
+    /**
+     * Stops the StartupLoader and logs the duration of each phase
+     */
+    private void finishStartup() {
+        startupLoader.shutdown();
+        MessageUtil.log(this, DMessages.LOG_STARTUP_TIMINGS.getMessage(String.valueOf(startupLoader.getTotalTime()), startupLoader.toString()));
+        startupLoader = null;
     }
 
     // Save and load
@@ -288,6 +362,7 @@ public class DungeonsXL extends BRPlugin {
         protections.loadAll();
         dPlayers.loadAll();
         DSavePlayer.load();
+        // Moves the leftover instances away and recovers them asynchronously
         dWorlds.check();
     }
 
@@ -308,6 +383,13 @@ public class DungeonsXL extends BRPlugin {
         }
     }
 
+    /**
+     * @return the StartupLoader while the plugin is enabled or reloaded; null otherwise
+     */
+    public StartupLoader getStartupLoader() {
+        return startupLoader;
+    }
+
     /**
      * @return the loaded instance of GlobalData
      */
@@ -576,6 +658,74 @@ public class DungeonsXL extends BRPlugin {
         dWorlds = new DWorlds(MAPS);
     }
 
+    /**
+     * @return the loaded instance of GameRulesCache
+     */
+    public GameRulesCache getGameRulesCache() {
+        return gameRulesCache;
+    }
+
+    /**
+     * load / reload a new instance of GameRulesCache
+     */
+    public void loadGameRulesCache() {
+        gameRulesCache = new GameRulesCache();
+    }
+
+    /**
+     * @return the loaded instance of InstanceQueue
+     */
+    public InstanceQueue getInstanceQueue() {
+        return instanceQueue;
+    }
+
+    /**
+     * load / reload a new instance of InstanceQueue; the requests of the old one are kept
+     */
+    public void loadInstanceQueue() {
+        InstanceQueue oldQueue = instanceQueue;
+        instanceQueue = new InstanceQueue();
+
+        if (oldQueue != null) {
+            instanceQueue.getRequests().addAll(oldQueue.getRequests());
+            instanceQueue.getLoading().addAll(oldQueue.getLoading());
+            // A pending retry of the old queue must not admit the requests twice
+            oldQueue.getRequests().clear();
+            instanceQueue.process();
+        }
+    }
+
+    /**
+     * @return the loaded instance of IOExecutor
+     */
+    public IOExecutor getIOExecutor() {
+        return ioExecutor;
+    }
+
+    /**
+     * load / reload a new instance of IOExecutor; the pending operations of the old one are finished first
+     */
+    public void loadIOExecutor() {
+        if (ioExecutor != null) {
+            ioExecutor.shutdown(60);
+        }
+        ioExecutor = new IOExecutor(getLogger(), mainConfig.getIOThreads(), mainConfig.getIOCapacity());
+    }
+
+    /**
+     * @return the loaded instance of InstancePipeline
+     */
+    public InstancePipeline getInstancePipeline() {
+        return instancePipeline;
+    }
+
+    /**
+     * load / reload a new instance of InstancePipeline
+     */
+    public void loadInstancePipeline() {
+        instancePipeline = new InstancePipeline();
+    }
+
     /**
      * @return the AnnouncerTask
      */
@@ -600,7 +750,7 @@ public class DungeonsXL extends BRPlugin {
     }
 
     /**
-     * start a new WorldUnloadTask
+     * start a new WorldUnloadTask that sweeps all instances
      */
     public void startWorldUnloadTask(long period) {
         worldUnloadTask = new WorldUnloadTask().runTaskTimer(this, period, period);
@@ -649,9 +799,33 @@ public class DungeonsXL extends BRPlugin {
     }
 
     /**
-     * @return the dLootInventories
+     * @return the TimeIsRunningTask that counts down the time limits of all groups
+     */
+    public TimeIsRunningTask getTimeIsRunningTask() {
+        return timeIsRunningTask;
+    }
+
+    /**
+     * start a new TimeIsRunningTask
+     */
+    public void startTimeIsRunningTask() {
+        timeIsRunningTask = new TimeIsRunningTask();
+        timeIsRunningTask.runTaskTimer(this, 20L, 20L);
+    }
+
+    /**
+     * @return a copy of the pending DLootInventories
+     * @deprecated use {@link #getDLootInventoryMap()}
      */
+    @Deprecated
     public List<DLootInventory> getDLootInventories() {
+        return new ArrayList<>(dLootInventories.values());
+    }
+
+    /**
+     * @return the pending DLootInventories mapped to the unique ID of their player
+     */
+    public Map<UUID, DLootInventory> getDLootInventoryMap() {
         return dLootInventories;
     }
 
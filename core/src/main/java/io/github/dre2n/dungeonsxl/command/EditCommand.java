@@ -28,6 +28,7 @@ import io.github.dre2n.dungeonsxl.player.DPermissions;
 import io.github.dre2n.dungeonsxl.world.DEditWorld;
 import io.github.dre2n.dungeonsxl.world.DResourceWorld;
 import io.github.dre2n.dungeonsxl.world.DWorlds;
+import io.github.dre2n.dungeonsxl.world.InstanceFuture;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
@@ -63,7 +64,8 @@ public class EditCommand extends BRCommand {
             return;
         }
 
-        DEditWorld editWorld = resource.instantiateAsEditWorld();
+        InstanceFuture<DEditWorld> future = resource.instantiateAsEditWorldAsync();
+        DEditWorld editWorld = future != null ? future.getInstance() : null;
         DGroup dGroup = DGroup.getByPlayer(player);
         DGlobalPlayer dPlayer = plugin.getDPlayers().getByPlayer(player);
 
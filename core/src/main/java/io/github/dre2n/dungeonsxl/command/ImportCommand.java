@@ -22,12 +22,12 @@ import io.github.dre2n.commons.util.messageutil.MessageUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.config.DMessages;
 import io.github.dre2n.dungeonsxl.player.DPermissions;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
 import io.github.dre2n.dungeonsxl.world.DResourceWorld;
 import java.io.File;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
-import org.bukkit.scheduler.BukkitRunnable;
 
 /**
  * @author Frank Baumann, Daniel Saukel
@@ -73,15 +73,18 @@ public class ImportCommand extends BRCommand {
             FileUtil.copyDirectory(source, target, new String[]{"playerdata", "stats"});
 
         } else {
-            new BukkitRunnable() {
+            plugin.getIOExecutor().execute(IOExecutor.Priority.WORLD, target, new Runnable() {
                 @Override
                 public void run() {
                     FileUtil.copyDirectory(source, target, new String[]{"playerdata", "stats"});
                 }
-            }.runTaskAsynchronously(plugin);
+            });
         }
 
-        plugin.getDWorlds().addResource(new DResourceWorld(plugin.getDWorlds(), args[1]));
+        DResourceWorld resource = new DResourceWorld(plugin.getDWorlds(), args[1]);
+        // A template that is left over from a former map with this name must not be used
+        resource.getGameTemplate().delete();
+        plugin.getDWorlds().addResource(resource);
         MessageUtil.sendMessage(sender, DMessages.CMD_IMPORT_SUCCESS.getMessage(args[1]));
     }
 
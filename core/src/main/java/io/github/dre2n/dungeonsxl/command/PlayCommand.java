@@ -27,6 +27,9 @@ import io.github.dre2n.dungeonsxl.game.Game;
 import io.github.dre2n.dungeonsxl.player.DGamePlayer;
 import io.github.dre2n.dungeonsxl.player.DGroup;
 import io.github.dre2n.dungeonsxl.player.DPermissions;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import io.github.dre2n.dungeonsxl.world.InstanceQueue;
+import io.github.dre2n.dungeonsxl.world.InstanceRequest;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
@@ -133,26 +136,39 @@ public class PlayCommand extends BRCommand {
             return;
         }
 
-        if (dGroup.getGameWorld() == null) {
-            new Game(dGroup, dGroup.getMapName());
+        if (dGroup.getGameWorld() != null) {
+            play(player, dGroup);
+            return;
         }
 
+        final Player captain = player;
+        final DGroup group = dGroup;
+        InstanceQueue queue = plugin.getInstanceQueue();
+        boolean added = queue.add(new InstanceRequest(dGroup) {
+            @Override
+            public DGameWorld admit() {
+                new Game(group, group.getMapName());
+                return play(captain, group);
+            }
+        });
+
+        if (!added) {
+            MessageUtil.sendMessage(player, DMessages.PLAYER_QUEUE_POSITION.getMessage(String.valueOf(queue.getPosition(dGroup)), String.valueOf(queue.getRequests().size())));
+        }
+    }
+
+    private DGameWorld play(Player player, DGroup dGroup) {
         if (dGroup.getGameWorld() == null) {
-            MessageUtil.sendMessage(player, DMessages.ERROR_NOT_SAVED.getMessage(DGroup.getByPlayer(player).getMapName()));
+            MessageUtil.sendMessage(player, DMessages.ERROR_NOT_SAVED.getMessage(dGroup.getMapName()));
             dGroup.delete();
-            return;
+            return null;
         }
 
-        if (dGroup.getGameWorld().getLobbyLocation() == null) {
-            for (Player groupPlayer : dGroup.getPlayers()) {
-                DGamePlayer.create(groupPlayer, dGroup.getGameWorld());
-            }
-
-        } else {
-            for (Player groupPlayer : dGroup.getPlayers()) {
-                DGamePlayer.create(groupPlayer, dGroup.getGameWorld());
-            }
+        for (Player groupPlayer : dGroup.getPlayers()) {
+            DGamePlayer.create(groupPlayer, dGroup.getGameWorld());
         }
+
+        return dGroup.getGameWorld();
     }
 
 }
@@ -22,6 +22,10 @@ import io.github.dre2n.commons.util.messageutil.MessageUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.config.DMessages;
 import io.github.dre2n.dungeonsxl.player.DPermissions;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import io.github.dre2n.dungeonsxl.world.InstanceBudget;
+import io.github.dre2n.dungeonsxl.world.InstancePipeline;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
@@ -137,6 +141,26 @@ public class StatusCommand extends BRCommand {
         MessageUtil.sendMessage(sender, "= InsaneMobs: " + insanemobsVersion + " " + insanemobsVersionCorrect);
         MessageUtil.sendMessage(sender, "= MythicMobs: " + mythicmobsVersion + " " + mythicmobsVersionCorrect);
         MessageUtil.sendMessage(sender, "= HolographicDisplays: " + holographicdisplaysVersion + " " + holographicdisplaysVersionCorrect);
+
+        MessageUtil.sendMessage(sender, ChatColor.GRAY + "Instance info:");
+        for (DGameWorld gameWorld : plugin.getDWorlds().getGameWorlds()) {
+            if (gameWorld.getWorld() == null) {
+                continue;
+            }
+            InstanceBudget budget = gameWorld.getBudget();
+            MessageUtil.sendMessage(sender, "= " + gameWorld.getWorld().getName() + " (" + gameWorld.getName() + "): " + budget + " " + getSymbol(!budget.isOverBudget()));
+        }
+
+        MessageUtil.sendMessage(sender, ChatColor.GRAY + "Pipeline info:");
+        for (InstancePipeline.Metrics metrics : plugin.getInstancePipeline().getMetrics()) {
+            MessageUtil.sendMessage(sender, "= " + metrics);
+        }
+
+        IOExecutor ioExecutor = plugin.getIOExecutor();
+        MessageUtil.sendMessage(sender, ChatColor.GRAY + "I/O info: queue=" + ioExecutor.getQueueDepth() + ", pending=" + ioExecutor.getPending() + " " + getSymbol(!ioExecutor.isSaturated()));
+        for (IOExecutor.Metrics metrics : ioExecutor.getMetrics()) {
+            MessageUtil.sendMessage(sender, "= " + metrics);
+        }
     }
 
     public static String getSymbol(boolean value) {
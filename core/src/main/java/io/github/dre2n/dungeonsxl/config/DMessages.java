@@ -134,14 +134,17 @@ public enum DMessages implements Messages {
     GROUP_KICKED_PLAYER("Group_KickedPlayer", "&4&v1&6 kicked the player &4&v2&6 from the group &4&v3&6."),
     GROUP_PLAYER_JOINED("Group_PlayerJoined", "&6Player &4&v1&6 has joined the group!"),
     GROUP_WAVE_FINISHED("Group_WaveFinished", "&6Your group finished wave no. &4&v1&6. The next one is going to start in &4&v2&6 seconds."),
+    LOG_ERROR_INSTANTIATION("Log_Error_Instantiation", "&4The map &6&v1&4 could not be instantiated: &6&v2"),
     LOG_ERROR_MOB_ENCHANTMENT("Log_Error_MobEnchantment", "&4Error at loading mob.yml: Enchantment &6&v1&4 doesn't exist!"),
     LOG_ERROR_MOBTYPE("Log_Error_MobType", "&4Error at loading mob.yml: Mob &6&v1&4 doesn't exist!"),
     LOG_ERROR_NO_CONSOLE_COMMAND("Log_Error_NoConsoleCommand", "&6/dxl &v1&4 can not be executed as console!"),
     LOG_ERROR_SIGN_SETUP("Log_Error_SignSetup", "&4A sign at &6&v1&4 is erroneous!"),
     LOG_GENERATE_NEW_WORLD("Log_GenerateNewWorld", "&6Generating new world..."),
     LOG_IMPORT_WORLD("Log_ImportWorld", "&6Importing world..."),
+    LOG_INSTANCE_OVER_BUDGET("Log_InstanceOverBudget", "&4The instance &6&v1&4 is over budget and will be throttled: &6&v2"),
     LOG_NEW_MAP("Log_NewDungeon", "&6Creating new map."),
     LOG_NEW_PLAYER_DATA("Log_NewPlayerData", "&6A new player data file has been created and saved as &v1."),
+    LOG_STARTUP_TIMINGS("Log_StartupTimings", "&6Loaded in &4&v1&6ms: &v2"),
     LOG_WORLD_GENERATION_FINISHED("Log_WorldGenerationFinished", "&6World generation finished!"),
     PLAYER_BLOCK_INFO("Player_BlockInfo", "&6Block ID: &2&v1"),
     PLAYER_CHECKPOINT_REACHED("Player_CheckpointReached", "&6Checkpoint reached!"),
@@ -165,6 +168,7 @@ public enum DMessages implements Messages {
     PLAYER_PORTAL_CREATED("Player_PortalCreated", "&6Portal created!"),
     PLAYER_PORTAL_PROGRESS("Player_PortalProgress", "&6First edge successfully marked. You may now click at the other edge."),
     PLAYER_PROTECTED_BLOCK_DELETED("Player_ProtectedBlockDeleted", "&6Successfully removed the protection."),
+    PLAYER_QUEUE_POSITION("Player_QueuePosition", "&6Waiting for a free instance. Your position in the queue: &4&v1&6/&4&v2"),
     PLAYER_READY("Player_Ready", "&6You are now ready to start the dungeon."),
     PLAYER_SIGN_CREATED("Player_SignCreated", "&6Successfully created a dungeon sign."),
     PLAYER_SIGN_COPIED("Player_SignCopied", "&6Sign data copied."),
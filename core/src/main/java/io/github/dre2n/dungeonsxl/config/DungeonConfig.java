@@ -221,6 +221,16 @@ public class DungeonConfig extends BRConfig {
         save();
     }
 
+    @Override
+    public void save() {
+        super.save();
+
+        DungeonsXL plugin = DungeonsXL.getInstance();
+        if (plugin.getGameRulesCache() != null) {
+            plugin.getGameRulesCache().clear();
+        }
+    }
+
     @Override
     public void load() {
         if (config.contains("floors")) {
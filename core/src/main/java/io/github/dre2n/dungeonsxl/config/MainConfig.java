@@ -18,6 +18,7 @@ package io.github.dre2n.dungeonsxl.config;
 
 import io.github.dre2n.commons.config.BRConfig;
 import io.github.dre2n.commons.util.EnumUtil;
+import io.github.dre2n.dungeonsxl.util.CommandWhitelist;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -68,7 +69,16 @@ public class MainConfig extends BRConfig {
 
     /* Performance */
     private int maxInstances = 10;
+    private int maxParallelInstantiations = 2;
     private boolean tweaksEnabled = false;
+    private boolean bakeGameTemplates = true;
+    private int ioThreads = 2;
+    private int ioCapacity = 256;
+    private double pipelineTickBudget = 10;
+    private int instanceMaxEntities = -1;
+    private int instanceMaxItems = -1;
+    private int instanceMaxChunks = -1;
+    private double instanceMaxTickTime = -1;
 
     /* Secure Mode */
     private boolean secureModeEnabled = false;
@@ -76,6 +86,7 @@ public class MainConfig extends BRConfig {
     private boolean openInventories = false;
     private boolean dropItems = false;
     private List<String> editCommandWhitelist = new ArrayList<>();
+    private CommandWhitelist compiledEditCommandWhitelist;
     private BackupMode backupMode = BackupMode.ON_DISABLE_AND_SAVE;
 
     /* Permissions bridge */
@@ -250,6 +261,21 @@ public class MainConfig extends BRConfig {
         this.maxInstances = maxInstances;
     }
 
+    /**
+     * @return the maximum amount of worlds that are admitted from the instance queue and loaded at the same time
+     */
+    public int getMaxParallelInstantiations() {
+        return maxParallelInstantiations;
+    }
+
+    /**
+     * @param amount
+     * the maximum amount of worlds that are admitted from the instance queue and loaded at the same time
+     */
+    public void setMaxParallelInstantiations(int amount) {
+        maxParallelInstantiations = amount;
+    }
+
     /**
      * @return if the performance tweaks are enabled
      */
@@ -265,6 +291,126 @@ public class MainConfig extends BRConfig {
         tweaksEnabled = enabled;
     }
 
+    /**
+     * @return if game instances are copied from templates without the signs that are removed when the game starts
+     */
+    public boolean areGameTemplatesBaked() {
+        return bakeGameTemplates;
+    }
+
+    /**
+     * @param enabled
+     * if game instances are copied from templates without the signs that are removed when the game starts
+     */
+    public void setGameTemplatesBaked(boolean enabled) {
+        bakeGameTemplates = enabled;
+    }
+
+    /**
+     * @return the amount of file operations that may run at the same time
+     */
+    public int getIOThreads() {
+        return ioThreads;
+    }
+
+    /**
+     * @param threads
+     * the amount of file operations that may run at the same time
+     */
+    public void setIOThreads(int threads) {
+        ioThreads = threads;
+    }
+
+    /**
+     * @return the amount of file operations that may be pending before no further game instances are admitted
+     */
+    public int getIOCapacity() {
+        return ioCapacity;
+    }
+
+    /**
+     * @param capacity
+     * the amount of file operations that may be pending before no further game instances are admitted
+     */
+    public void setIOCapacity(int capacity) {
+        ioCapacity = capacity;
+    }
+
+    /**
+     * @return the time in milliseconds the instance pipeline may spend on loading worlds and registering signs per tick
+     */
+    public double getPipelineTickBudget() {
+        return pipelineTickBudget;
+    }
+
+    /**
+     * @param time
+     * the time in milliseconds the instance pipeline may spend on loading worlds and registering signs per tick
+     */
+    public void setPipelineTickBudget(double time) {
+        pipelineTickBudget = time;
+    }
+
+    /**
+     * @return the maximum amount of living entities per instance; -1 if unlimited
+     */
+    public int getInstanceMaxEntities() {
+        return instanceMaxEntities;
+    }
+
+    /**
+     * @param amount
+     * the maximum amount of living entities per instance; -1 if unlimited
+     */
+    public void setInstanceMaxEntities(int amount) {
+        instanceMaxEntities = amount;
+    }
+
+    /**
+     * @return the maximum amount of dropped items per instance; -1 if unlimited
+     */
+    public int getInstanceMaxItems() {
+        return instanceMaxItems;
+    }
+
+    /**
+     * @param amount
+     * the maximum amount of dropped items per instance; -1 if unlimited
+     */
+    public void setInstanceMaxItems(int amount) {
+        instanceMaxItems = amount;
+    }
+
+    /**
+     * @return the maximum amount of loaded chunks per instance; -1 if unlimited
+     */
+    public int getInstanceMaxChunks() {
+        return instanceMaxChunks;
+    }
+
+    /**
+     * @param amount
+     * the maximum amount of loaded chunks per instance; -1 if unlimited
+     */
+    public void setInstanceMaxChunks(int amount) {
+        instanceMaxChunks = amount;
+    }
+
+    /**
+     * @return the maximum average time in milliseconds DungeonsXL may spend on one instance per tick; -1 if unlimited
+     */
+    public double getInstanceMaxTickTime() {
+        return instanceMaxTickTime;
+    }
+
+    /**
+     * @param time
+     * the maximum average time in milliseconds DungeonsXL may spend on one instance per tick; -1 if unlimited
+     */
+    public void setInstanceMaxTickTime(double time) {
+        instanceMaxTickTime = time;
+    }
+
     /**
      * @return if the secure mode is enabled
      */
@@ -332,6 +478,16 @@ public class MainConfig extends BRConfig {
         return editCommandWhitelist;
     }
 
+    /**
+     * @return the editCommandWhitelist compiled for fast lookups
+     */
+    public CommandWhitelist getCompiledEditCommandWhitelist() {
+        if (compiledEditCommandWhitelist == null) {
+            compiledEditCommandWhitelist = new CommandWhitelist(editCommandWhitelist);
+        }
+        return compiledEditCommandWhitelist;
+    }
+
     /**
      * @return the backup mode
      */
@@ -408,10 +564,46 @@ public class MainConfig extends BRConfig {
             config.set("maxInstances", maxInstances);
         }
 
+        if (!config.contains("maxParallelInstantiations")) {
+            config.set("maxParallelInstantiations", maxParallelInstantiations);
+        }
+
         if (!config.contains("tweaksEnabled")) {
             config.set("tweaksEnabled", tweaksEnabled);
         }
 
+        if (!config.contains("bakeGameTemplates")) {
+            config.set("bakeGameTemplates", bakeGameTemplates);
+        }
+
+        if (!config.contains("io.threads")) {
+            config.set("io.threads", ioThreads);
+        }
+
+        if (!config.contains("io.capacity")) {
+            config.set("io.capacity", ioCapacity);
+        }
+
+        if (!config.contains("instancePipeline.tickBudget")) {
+            config.set("instancePipeline.tickBudget", pipelineTickBudget);
+        }
+
+        if (!config.contains("instanceBudget.maxEntities")) {
+            config.set("instanceBudget.maxEntities", instanceMaxEntities);
+        }
+
+        if (!config.contains("instanceBudget.maxItems")) {
+            config.set("instanceBudget.maxItems", instanceMaxItems);
+        }
+
+        if (!config.contains("instanceBudget.maxChunks")) {
+            config.set("instanceBudget.maxChunks", instanceMaxChunks);
+        }
+
+        if (!config.contains("instanceBudget.maxTickTime")) {
+            config.set("instanceBudget.maxTickTime", instanceMaxTickTime);
+        }
+
         if (!config.contains("secureMode.enabled")) {
             config.set("secureMode.enabled", secureModeEnabled);
         }
@@ -495,10 +687,46 @@ public class MainConfig extends BRConfig {
             maxInstances = config.getInt("maxInstances");
         }
 
+        if (config.contains("maxParallelInstantiations")) {
+            maxParallelInstantiations = config.getInt("maxParallelInstantiations");
+        }
+
         if (config.contains("tweaksEnabled")) {
             tweaksEnabled = config.getBoolean("tweaksEnabled");
         }
 
+        if (config.contains("bakeGameTemplates")) {
+            bakeGameTemplates = config.getBoolean("bakeGameTemplates");
+        }
+
+        if (config.contains("io.threads")) {
+            ioThreads = config.getInt("io.threads");
+        }
+
+        if (config.contains("io.capacity")) {
+            ioCapacity = config.getInt("io.capacity");
+        }
+
+        if (config.contains("instancePipeline.tickBudget")) {
+            pipelineTickBudget = config.getDouble("instancePipeline.tickBudget");
+        }
+
+        if (config.contains("instanceBudget.maxEntities")) {
+            instanceMaxEntities = config.getInt("instanceBudget.maxEntities");
+        }
+
+        if (config.contains("instanceBudget.maxItems")) {
+            instanceMaxItems = config.getInt("instanceBudget.maxItems");
+        }
+
+        if (config.contains("instanceBudget.maxChunks")) {
+            instanceMaxChunks = config.getInt("instanceBudget.maxChunks");
+        }
+
+        if (config.contains("instanceBudget.maxTickTime")) {
+            instanceMaxTickTime = config.getDouble("instanceBudget.maxTickTime");
+        }
+
         if (config.contains("secureMode.enabled")) {
             secureModeEnabled = config.getBoolean("secureMode.enabled");
         }
@@ -518,6 +746,7 @@ public class MainConfig extends BRConfig {
         if (config.contains("secureMode.editCommandWhitelist")) {
             editCommandWhitelist = config.getStringList("secureMode.editCommandWhitelist");
         }
+        compiledEditCommandWhitelist = new CommandWhitelist(editCommandWhitelist);
 
         if (config.contains("backupMode")) {
             String mode = config.getString("backupMode");
@@ -19,10 +19,13 @@ package io.github.dre2n.dungeonsxl.config;
 import io.github.dre2n.commons.config.BRConfig;
 import io.github.dre2n.commons.util.messageutil.MessageUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.game.FinishedDungeonsRule;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
+import org.bukkit.configuration.InvalidConfigurationException;
 
 /**
  * @author Daniel Saukel
@@ -34,10 +37,21 @@ public class PlayerData extends BRConfig {
     public static final int CONFIG_VERSION = 1;
 
     private Map<String, Long> timeLastPlayed = new HashMap<>();
+    private Map<FinishedDungeonsRule, Long> bestTimes = new WeakHashMap<>();
 
     public PlayerData(File file) {
         super(file, CONFIG_VERSION);
 
+        // A save from the last session of the player might still be pending
+        Object snapshot = plugin.getIOExecutor().getSnapshot(file);
+        if (snapshot instanceof String) {
+            try {
+                config.loadFromString((String) snapshot);
+            } catch (InvalidConfigurationException exception) {
+                exception.printStackTrace();
+            }
+        }
+
         if (initialize) {
             initialize();
         }
@@ -73,6 +87,7 @@ public class PlayerData extends BRConfig {
      */
     public void setTimeLastPlayed(String dungeon, long time) {
         timeLastPlayed.put(dungeon.toLowerCase(), time);
+        bestTimes.clear();
         save();
     }
 
@@ -82,9 +97,29 @@ public class PlayerData extends BRConfig {
      */
     public void logTimeLastPlayed(String dungeon) {
         timeLastPlayed.put(dungeon.toLowerCase(), System.currentTimeMillis());
+        bestTimes.clear();
         save();
     }
 
+    /**
+     * @param rule
+     * the rule to check
+     * @return the cached result of {@link FinishedDungeonsRule#getBestTime(PlayerData)} or null if it needs to be evaluated
+     */
+    public Long getCachedBestTime(FinishedDungeonsRule rule) {
+        return bestTimes.get(rule);
+    }
+
+    /**
+     * @param rule
+     * the evaluated rule
+     * @param bestTime
+     * the result of {@link FinishedDungeonsRule#getBestTime(PlayerData)}
+     */
+    public void cacheBestTime(FinishedDungeonsRule rule, long bestTime) {
+        bestTimes.put(rule, bestTime);
+    }
+
     @Override
     public void initialize() {
         if (!config.contains("timeLastPlayed")) {
@@ -104,6 +139,7 @@ public class PlayerData extends BRConfig {
 
     @Override
     public void load() {
+        bestTimes.clear();
         if (config.isConfigurationSection("timeLastPlayed")) {
             for (String key : config.getConfigurationSection("timeLastPlayed").getKeys(false)) {
                 timeLastPlayed.put(key, config.getLong("timeLastPlayed." + key));
@@ -114,7 +150,7 @@ public class PlayerData extends BRConfig {
     @Override
     public void save() {
         config.set("timeLastPlayed", timeLastPlayed);
-        super.save();
+        plugin.getIOExecutor().write(file, config.saveToString());
     }
 
 }
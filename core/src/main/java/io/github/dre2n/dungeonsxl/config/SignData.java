@@ -16,17 +16,36 @@
  */
 package io.github.dre2n.dungeonsxl.config;
 
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.sign.BakedSign;
 import io.github.dre2n.dungeonsxl.sign.DSign;
+import io.github.dre2n.dungeonsxl.sign.DSignType;
+import io.github.dre2n.dungeonsxl.sign.SignBlueprint;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
 import io.github.dre2n.dungeonsxl.world.DEditWorld;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
 import org.bukkit.block.Sign;
 
 /**
@@ -34,7 +53,15 @@ import org.bukkit.block.Sign;
  */
 public class SignData {
 
+    public static final String JOURNAL_FILE = "DXLData.journal";
+
     private File file;
+    private File journal;
+    private Set<Long> keys;
+    private int journalLength;
+    private long version;
+    private List<SignBlueprint> blueprints;
+    private long blueprintVersion;
 
     public SignData(File file) {
         if (!file.exists()) {
@@ -46,6 +73,57 @@ public class SignData {
         }
 
         this.file = file;
+        journal = new File(file.getParentFile(), JOURNAL_FILE);
+    }
+
+    /* Statics */
+    /**
+     * @param x
+     * the x coordinate of the block
+     * @param y
+     * the y coordinate of the block
+     * @param z
+     * the z coordinate of the block
+     * @return a key that identifies the position of the block
+     */
+    public static long getKey(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | y & 0xFFF;
+    }
+
+    /**
+     * @param block
+     * the block
+     * @return a key that identifies the position of the block
+     */
+    public static long getKey(Block block) {
+        return getKey(block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * @param key
+     * a key created with {@link #getKey(int, int, int)}
+     * @return the x coordinate
+     */
+    public static int getX(long key) {
+        return (int) (key >> 38);
+    }
+
+    /**
+     * @param key
+     * a key created with {@link #getKey(int, int, int)}
+     * @return the y coordinate
+     */
+    public static int getY(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    /**
+     * @param key
+     * a key created with {@link #getKey(int, int, int)}
+     * @return the z coordinate
+     */
+    public static int getZ(long key) {
+        return (int) (key << 26 >> 38);
     }
 
     /* Getters and setters */
@@ -56,41 +134,116 @@ public class SignData {
         return file;
     }
 
-    /* Actions */
     /**
-     * Applies all signs from the file to the DEditWorld.
-     * Also sets the lobby location of the DEditWorld to the location of the lobby sign if one exists.
+     * @return the file that stores the sign changes since the last compaction
+     */
+    public File getJournal() {
+        return journal;
+    }
+
+    /**
+     * @return the amount of changes stored in the journal
+     */
+    public int getJournalLength() {
+        getKeySet();
+        return journalLength;
+    }
+
+    /**
+     * The positions are read from the file and the journal once; afterwards, they are kept up to date in memory.
      *
-     * @param editWorld
-     * the DEditWorld where the signs are
-     * @throws IOException
+     * @return the keys of the sign positions in the order they were registered
      */
-    public void deserializeSigns(DEditWorld editWorld) {
-        try {
-            ObjectInputStream os = new ObjectInputStream(new FileInputStream(file));
-            int length = os.readInt();
+    public Set<Long> getKeys() {
+        return new LinkedHashSet<>(getKeySet());
+    }
+
+    private Set<Long> getKeySet() {
+        if (keys != null) {
+            return keys;
+        }
 
-            for (int i = 0; i < length; i++) {
-                int x = os.readInt();
-                int y = os.readInt();
-                int z = os.readInt();
+        // All writes update the keys in memory, so the keys of a SignData from before a reload are used while its writes are pending
+        Object snapshot = DungeonsXL.getInstance().getIOExecutor().getSnapshot(file);
+        if (snapshot instanceof SignData && snapshot != this) {
+            SignData pending = (SignData) snapshot;
+            keys = new LinkedHashSet<>(pending.getKeySet());
+            journalLength = pending.journalLength;
+            return keys;
+        }
 
-                Block block = editWorld.getWorld().getBlockAt(x, y, z);
-                editWorld.getSigns().add(block);
+        keys = new LinkedHashSet<>();
+        journalLength = 0;
+        if (file.length() != 0) {
+            try {
+                ObjectInputStream os = new ObjectInputStream(new FileInputStream(file));
+                int length = os.readInt();
+                for (int i = 0; i < length; i++) {
+                    keys.add(getKey(os.readInt(), os.readInt(), os.readInt()));
+                }
+                os.close();
 
-                if (block.getState() instanceof Sign) {
-                    Sign sign = (Sign) block.getState();
-                    String[] lines = sign.getLines();
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+        }
 
-                    if (lines[0].equalsIgnoreCase("[lobby]")) {
-                        editWorld.setLobbyLocation(block.getLocation());
+        if (journal.exists()) {
+            try {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journal)));
+                try {
+                    while (true) {
+                        boolean added = in.readBoolean();
+                        long key = in.readLong();
+                        if (added) {
+                            keys.add(key);
+                        } else {
+                            keys.remove(key);
+                        }
+                        journalLength++;
                     }
+
+                } catch (EOFException exception) {
+                    // End of the journal; a record that is cut off is ignored
                 }
+                in.close();
+
+            } catch (IOException exception) {
+                exception.printStackTrace();
             }
+        }
+
+        version = 0;
+        return keys;
+    }
+
+    /* Actions */
+    /**
+     * Applies all signs from the file to the DEditWorld.
+     * Also sets the lobby location of the DEditWorld to the location of the lobby sign if one exists.
+     *
+     * @param editWorld
+     * the DEditWorld where the signs are
+     * @throws IOException
+     */
+    public void deserializeSigns(DEditWorld editWorld) {
+        deserializeSigns(editWorld, getKeys());
+    }
 
-        } catch (IOException exception) {
-            exception.printStackTrace();
+    /**
+     * Registers the signs at the given positions in the DEditWorld.
+     *
+     * @param editWorld
+     * the DEditWorld where the signs are
+     * @param keys
+     * the keys of the sign positions
+     */
+    public void deserializeSigns(DEditWorld editWorld, Collection<Long> keys) {
+        World world = editWorld.getWorld();
+        for (long key : keys) {
+            editWorld.registerSign(world.getBlockAt(getX(key), getY(key), getZ(key)));
         }
+        editWorld.getChanges().clear();
     }
 
     /**
@@ -102,27 +255,121 @@ public class SignData {
      * @throws IOException
      */
     public void deserializeSigns(DGameWorld gameWorld) {
-        try {
-            ObjectInputStream os = new ObjectInputStream(new FileInputStream(file));
-
-            int length = os.readInt();
-            for (int i = 0; i < length; i++) {
-                int x = os.readInt();
-                int y = os.readInt();
-                int z = os.readInt();
-
-                Block block = gameWorld.getWorld().getBlockAt(x, y, z);
-                if (block.getState() instanceof Sign) {
-                    DSign dSign = DSign.create((Sign) block.getState(), gameWorld);
-                    gameWorld.getDSigns().add(dSign);
+        deserializeSigns(gameWorld, getBlueprints(gameWorld.getWorld()));
+    }
+
+    /**
+     * Binds the blueprints to the blocks of the DGameWorld.
+     *
+     * @param gameWorld
+     * the DGameWorld where the signs are
+     * @param blueprints
+     * the blueprints of the signs
+     */
+    public void deserializeSigns(DGameWorld gameWorld, List<SignBlueprint> blueprints) {
+        World world = gameWorld.getWorld();
+        for (SignBlueprint blueprint : blueprints) {
+            Block block = world.getBlockAt(blueprint.getX(), blueprint.getY(), blueprint.getZ());
+            Sign sign = null;
+            if (blueprint.isBaked()) {
+                sign = BakedSign.create(block, blueprint.getLines());
+            } else {
+                BlockState state = block.getState();
+                if (!(state instanceof Sign)) {
+                    continue;
                 }
+                sign = (Sign) state;
             }
 
-            os.close();
+            DSign dSign = DSign.create(sign, blueprint, gameWorld);
+            if (dSign != null) {
+                gameWorld.getDSigns().add(dSign);
+            }
+        }
+    }
+
+    /**
+     * @return a value that changes whenever a sign position is added or removed; equal sets of positions have equal values
+     */
+    public long getVersion() {
+        Set<Long> keys = getKeySet();
+        if (version == 0) {
+            long hash = keys.size();
+            for (long key : keys) {
+                // The sum does not depend on the order in which the signs were registered
+                hash += (key ^ key >>> 31) * 0x9E3779B97F4A7C15L;
+            }
+            version = hash != 0 ? hash : 1;
+        }
+        return version;
+    }
+
+    /**
+     * Returns the blueprints of the dungeon signs.
+     * They are compiled from the signs in the world when they are requested for the first time after the signs have been changed.
+     *
+     * @param world
+     * a fresh instance of the map to read the signs from
+     * @return the blueprints of the dungeon signs
+     */
+    public List<SignBlueprint> getBlueprints(World world) {
+        List<SignBlueprint> cached = getCachedBlueprints();
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = getVersion();
+        List<SignBlueprint> blueprints = compileBlueprints(world, getKeySet());
+        cacheBlueprints(blueprints, version);
+        return blueprints;
+    }
+
+    /**
+     * @return the blueprints that have been compiled from the current sign positions or null if there are none
+     */
+    public List<SignBlueprint> getCachedBlueprints() {
+        return blueprints != null && blueprintVersion == getVersion() ? blueprints : null;
+    }
+
+    /**
+     * @param blueprints
+     * the blueprints of all dungeon signs
+     * @param version
+     * the version of the sign positions the blueprints have been compiled from
+     */
+    public void cacheBlueprints(List<SignBlueprint> blueprints, long version) {
+        this.blueprints = blueprints;
+        blueprintVersion = version;
+    }
+
+    /**
+     * Compiles the blueprints of the dungeon signs at the given positions without caching them.
+     *
+     * @param world
+     * a fresh instance of the map to read the signs from
+     * @param keys
+     * the keys of the sign positions
+     * @return the blueprints of the dungeon signs
+     */
+    public List<SignBlueprint> compileBlueprints(World world, Collection<Long> keys) {
+        List<SignBlueprint> blueprints = new ArrayList<>();
+        for (long key : keys) {
+            int x = getX(key);
+            int y = getY(key);
+            int z = getZ(key);
+
+            BlockState state = world.getBlockAt(x, y, z).getState();
+            if (!(state instanceof Sign)) {
+                continue;
+            }
 
-        } catch (IOException exception) {
-            exception.printStackTrace();
+            String[] lines = ((Sign) state).getLines();
+            DSignType type = DungeonsXL.getInstance().getDSigns().getByHeader(lines[0]);
+            if (type != null) {
+                blueprints.add(new SignBlueprint(x, y, z, lines, type));
+            }
         }
+        return blueprints;
     }
 
     /**
@@ -134,31 +381,90 @@ public class SignData {
      */
     public void serializeSigns(DEditWorld editWorld) {
         serializeSigns(editWorld.getSigns());
+        editWorld.getChanges().clear();
     }
 
     /**
-     * Applies all signs from the sign list to the file.
+     * Applies all signs from the sign list to the file and discards the journal.
      *
      * @param signs
      * the signs to serialize
      * @throws IOException
      */
-    public void serializeSigns(List<Block> signs) {
-        try {
-            ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file));
-            out.writeInt(signs.size());
+    public void serializeSigns(Collection<Block> signs) {
+        final int[] positions = new int[signs.size() * 3];
+        Set<Long> keys = new LinkedHashSet<>();
+        int i = 0;
+        for (Block sign : signs) {
+            positions[i++] = sign.getX();
+            positions[i++] = sign.getY();
+            positions[i++] = sign.getZ();
+            keys.add(getKey(sign));
+        }
+        this.keys = keys;
+        journalLength = 0;
+        version = 0;
+
+        DungeonsXL.getInstance().getIOExecutor().write(IOExecutor.Priority.DATA, file, this, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file));
+                    out.writeInt(positions.length / 3);
+                    for (int position : positions) {
+                        out.writeInt(position);
+                    }
+                    out.close();
+
+                } catch (IOException exception) {
+                    exception.printStackTrace();
+                }
 
-            for (Block sign : signs) {
-                out.writeInt(sign.getX());
-                out.writeInt(sign.getY());
-                out.writeInt(sign.getZ());
+                journal.delete();
             }
+        });
+        blueprints = null;
+    }
 
-            out.close();
+    /**
+     * Appends the changes to the journal.
+     *
+     * @param changes
+     * the keys of the sign positions mapped to true if a sign was added there and to false if it was removed
+     */
+    public void journal(Map<Long, Boolean> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
 
-        } catch (IOException exception) {
-            exception.printStackTrace();
+        Set<Long> keys = getKeySet();
+        final Map<Long, Boolean> snapshot = new LinkedHashMap<>(changes);
+        for (Entry<Long, Boolean> change : snapshot.entrySet()) {
+            if (change.getValue()) {
+                keys.add(change.getKey());
+            } else {
+                keys.remove(change.getKey());
+            }
         }
+        journalLength += snapshot.size();
+        version = 0;
+        DungeonsXL.getInstance().getIOExecutor().write(IOExecutor.Priority.DATA, file, this, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journal, true)));
+                    for (Entry<Long, Boolean> change : snapshot.entrySet()) {
+                        out.writeBoolean(change.getValue());
+                        out.writeLong(change.getKey());
+                    }
+                    out.close();
+
+                } catch (IOException exception) {
+                    exception.printStackTrace();
+                }
+            }
+        });
+        blueprints = null;
     }
 
 }
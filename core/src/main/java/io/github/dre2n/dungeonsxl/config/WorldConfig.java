@@ -33,7 +33,6 @@ import io.github.dre2n.dungeonsxl.requirement.Requirement;
 import io.github.dre2n.dungeonsxl.requirement.RequirementTypeDefault;
 import io.github.dre2n.dungeonsxl.util.DeserializationUtil;
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -41,7 +40,6 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import org.bukkit.GameMode;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
 
 /**
@@ -62,7 +60,7 @@ public class WorldConfig extends GameRules {
 
     public WorldConfig(File file) {
         this.file = file;
-        FileConfiguration configFile = YamlConfiguration.loadConfiguration(file);
+        FileConfiguration configFile = plugin.getIOExecutor().loadConfiguration(file);
         load(configFile);
     }
 
@@ -242,7 +240,8 @@ public class WorldConfig extends GameRules {
         if (file == null) {
             return;
         }
-        FileConfiguration configFile = YamlConfiguration.loadConfiguration(file);
+        // Changes that have not been written yet are kept
+        FileConfiguration configFile = plugin.getIOExecutor().loadConfiguration(file);
 
         // Messages
         for (int msgs : this.msgs.keySet()) {
@@ -260,11 +259,10 @@ public class WorldConfig extends GameRules {
         // Invited Players
         configFile.set("invitedPlayers", invitedPlayers);
 
-        try {
-            configFile.save(file);
+        plugin.getIOExecutor().write(file, configFile.saveToString());
 
-        } catch (IOException exception) {
-            exception.printStackTrace();
+        if (plugin.getGameRulesCache() != null) {
+            plugin.getGameRulesCache().clear();
         }
     }
 
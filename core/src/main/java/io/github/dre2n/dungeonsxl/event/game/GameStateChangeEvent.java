@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.event.game;
+
+import io.github.dre2n.dungeonsxl.game.Game;
+import io.github.dre2n.dungeonsxl.game.GameState;
+import org.bukkit.event.HandlerList;
+
+/**
+ * Called after a game has changed its state.
+ *
+ * @author Daniel Saukel
+ */
+public class GameStateChangeEvent extends GameEvent {
+
+    private static final HandlerList handlers = new HandlerList();
+
+    private GameState previousState;
+    private GameState state;
+
+    public GameStateChangeEvent(Game game, GameState previousState, GameState state) {
+        super(game);
+        this.previousState = previousState;
+        this.state = state;
+    }
+
+    /**
+     * @return the state before the change
+     */
+    public GameState getPreviousState() {
+        return previousState;
+    }
+
+    /**
+     * @return the new state
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
+}
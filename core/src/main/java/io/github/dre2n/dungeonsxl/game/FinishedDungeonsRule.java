@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.game;
+
+import io.github.dre2n.dungeonsxl.config.PlayerData;
+import io.github.dre2n.dungeonsxl.world.DResourceWorld;
+import io.github.dre2n.dungeonsxl.world.DWorlds;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * The "mustFinishOne" and "mustFinishAll" rules of a GameRules instance, resolved against the loaded resources so that
+ * checking them does not need to access the maps folder.
+ *
+ * @author Frank Baumann, Daniel Saukel
+ */
+public class FinishedDungeonsRule {
+
+    public static final String ANY = "any";
+
+    private String[] maps;
+    private boolean[] needed;
+    private int neededCount;
+    private boolean oneNeeded;
+    private Set<String> resources = new HashSet<>();
+
+    public FinishedDungeonsRule(List<String> finishedAll, List<String> finishedOne, DWorlds worlds) {
+        for (DResourceWorld resource : worlds.getResources()) {
+            resources.add(resource.getName().toLowerCase());
+        }
+
+        List<String> resolved = new ArrayList<>();
+        List<Boolean> resolvedNeeded = new ArrayList<>();
+
+        for (String played : finishedAll) {
+            resolve(played, true, resolved, resolvedNeeded);
+        }
+        for (String played : finishedOne) {
+            resolve(played, finishedAll.contains(played), resolved, resolvedNeeded);
+        }
+
+        maps = resolved.toArray(new String[resolved.size()]);
+        needed = new boolean[maps.length];
+        for (int i = 0; i < maps.length; i++) {
+            needed[i] = resolvedNeeded.get(i);
+        }
+
+        neededCount = finishedAll.size();
+        oneNeeded = !finishedOne.isEmpty();
+    }
+
+    private void resolve(String played, boolean isNeeded, List<String> resolved, List<Boolean> resolvedNeeded) {
+        String map = played.toLowerCase();
+        if (!map.equals(ANY) && !resources.contains(map)) {
+            return;
+        }
+
+        resolved.add(map);
+        resolvedNeeded.add(isNeeded);
+    }
+
+    /**
+     * @return
+     * if the rule does not require any finished dungeons
+     */
+    public boolean isEmpty() {
+        return neededCount == 0 && !oneNeeded;
+    }
+
+    /**
+     * @param data
+     * the data of the player to check
+     * @return
+     * the time when the player finished the most recent of the relevant dungeons if the rule is fulfilled; 0 if it is
+     * not
+     */
+    public long getBestTime(PlayerData data) {
+        Long cached = data.getCachedBestTime(this);
+        if (cached != null) {
+            return cached;
+        }
+
+        long bestTime = 0;
+        int numOfNeeded = 0;
+        boolean doneTheOne = !oneNeeded;
+
+        for (int i = 0; i < maps.length; i++) {
+            long time = maps[i].equals(ANY) ? getBestTimeOfAny(data) : data.getTimeLastPlayed(maps[i]);
+            if (time == -1) {
+                continue;
+            }
+
+            if (needed[i]) {
+                numOfNeeded++;
+            } else {
+                doneTheOne = true;
+            }
+
+            if (bestTime < time) {
+                bestTime = time;
+            }
+        }
+
+        if (numOfNeeded < neededCount || !doneTheOne) {
+            bestTime = 0;
+        }
+
+        data.cacheBestTime(this, bestTime);
+        return bestTime;
+    }
+
+    private long getBestTimeOfAny(PlayerData data) {
+        long bestTime = -1;
+        for (Entry<String, Long> entry : data.getTimeLastPlayed().entrySet()) {
+            if (resources.contains(entry.getKey().toLowerCase()) && bestTime < entry.getValue()) {
+                bestTime = entry.getValue();
+            }
+        }
+        return bestTime;
+    }
+
+    /**
+     * @param data
+     * the data of the player to check
+     * @param timeLastPlayed
+     * the amount of hours in which the dungeons must have been finished; 0 if there is no limit
+     * @return
+     * if the player fulfills the rule
+     */
+    public boolean check(PlayerData data, int timeLastPlayed) {
+        if (isEmpty()) {
+            return true;
+        }
+
+        long bestTime = getBestTime(data);
+        if (bestTime == 0) {
+            return false;
+        }
+
+        return timeLastPlayed == 0 || System.currentTimeMillis() - bestTime <= timeLastPlayed * (long) 3600000;
+    }
+
+}
@@ -19,9 +19,8 @@ package io.github.dre2n.dungeonsxl.game;
 import io.github.dre2n.commons.util.playerutil.PlayerUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.config.DMessages;
-import io.github.dre2n.dungeonsxl.config.DungeonConfig;
-import io.github.dre2n.dungeonsxl.config.WorldConfig;
 import io.github.dre2n.dungeonsxl.dungeon.Dungeon;
+import io.github.dre2n.dungeonsxl.event.game.GameStateChangeEvent;
 import io.github.dre2n.dungeonsxl.global.GameSign;
 import io.github.dre2n.dungeonsxl.player.DGroup;
 import io.github.dre2n.dungeonsxl.sign.DSign;
@@ -29,6 +28,7 @@ import io.github.dre2n.dungeonsxl.sign.MobSign;
 import io.github.dre2n.dungeonsxl.trigger.ProgressTrigger;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
 import io.github.dre2n.dungeonsxl.world.DResourceWorld;
+import io.github.dre2n.dungeonsxl.world.InstanceFuture;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -36,6 +36,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -49,6 +50,8 @@ public class Game {
 
     private List<DGroup> dGroups = new ArrayList<>();
     private boolean started;
+    private GameState state = GameState.QUEUED;
+    private Set<UUID> readyPlayers = new HashSet<>();
     private GameType type = GameTypeDefault.DEFAULT;
     private DGameWorld world;
     private GameRules rules;
@@ -58,7 +61,6 @@ public class Game {
 
     public Game(DGroup dGroup) {
         dGroups.add(dGroup);
-        started = false;
         fetchRules();
 
         plugin.getGames().add(this);
@@ -66,8 +68,7 @@ public class Game {
 
     public Game(DGroup dGroup, DGameWorld world) {
         dGroups.add(dGroup);
-        started = false;
-        this.world = world;
+        setWorld(world);
         fetchRules();
 
         plugin.getGames().add(this);
@@ -77,10 +78,10 @@ public class Game {
         plugin.getGames().add(this);
 
         dGroups.add(dGroup);
-        started = false;
         DResourceWorld resource = plugin.getDWorlds().getResourceByName(worldName);
         if (resource != null) {
-            world = resource.instantiateAsGameWorld();
+            InstanceFuture<DGameWorld> future = resource.instantiateAsGameWorldAsync();
+            setWorld(future != null ? future.getInstance() : null);
         }
         dGroup.setGameWorld(world);
         fetchRules();
@@ -94,7 +95,8 @@ public class Game {
         this.dGroups = dGroups;
         this.type = type;
         this.world = world;
-        this.started = true;
+        started = true;
+        state = GameState.RUNNING;
         fetchRules();
 
         plugin.getGames().add(this);
@@ -128,6 +130,34 @@ public class Game {
     }
 
     /**
+     * @return the state of the game
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * Changes the state of the game if the new state follows the current one.
+     *
+     * @param state
+     * the state to change to
+     * @return if the state has changed
+     */
+    public boolean setState(GameState state) {
+        if (!this.state.canChangeTo(state)) {
+            return false;
+        }
+
+        GameState previousState = this.state;
+        this.state = state;
+        plugin.getServer().getPluginManager().callEvent(new GameStateChangeEvent(this, previousState, state));
+        return true;
+    }
+
+    /**
+     * This flag is independent from the {@link #getState() state}: It is only set for games that are created with a type and
+     * through {@link #setStarted(boolean)}.
+     *
      * @return if the Game has started yet
      */
     public boolean hasStarted() {
@@ -140,6 +170,9 @@ public class Game {
      */
     public void setStarted(boolean started) {
         this.started = started;
+        if (started) {
+            setState(GameState.RUNNING);
+        }
     }
 
     /**
@@ -170,6 +203,20 @@ public class Game {
      */
     public void setWorld(DGameWorld world) {
         this.world = world;
+
+        if (world == null || state != GameState.QUEUED) {
+            return;
+        }
+
+        setState(GameState.LOADING);
+        world.whenLoaded(new Runnable() {
+            @Override
+            public void run() {
+                if (state == GameState.LOADING) {
+                    setState(GameState.LOBBY);
+                }
+            }
+        });
     }
 
     /**
@@ -188,48 +235,17 @@ public class Game {
     }
 
     /**
-     * Fetchs the rules with the following priority:
-     * 1. Game type
-     * 2. Dungeon config: Override values
-     * 3. Floor config
-     * 4. Dungeon config: Default values
-     * 5. Main config: Default values
-     * 6. The default values
+     * Fetchs the rules of the game type, the dungeon and the floor from the cache.
+     *
+     * @see GameRulesCache
      */
     public void fetchRules() {
-        DungeonConfig dungeonConfig = null;
-        if (getDungeon() != null) {
-            dungeonConfig = getDungeon().getConfig();
-        }
-
-        WorldConfig floorConfig = null;
+        DResourceWorld floor = null;
         if (world != null) {
-            floorConfig = world.getConfig();
-        }
-
-        GameRules finalRules = new GameRules();
-
-        if (type != null) {
-            finalRules.apply(type);
+            floor = world.getResource();
         }
 
-        if (dungeonConfig != null && dungeonConfig.getOverrideValues() != null) {
-            finalRules.apply(dungeonConfig.getOverrideValues());
-        }
-
-        if (floorConfig != null) {
-            finalRules.apply(floorConfig);
-        }
-
-        if (dungeonConfig != null && dungeonConfig.getDefaultValues() != null) {
-            finalRules.apply(dungeonConfig.getDefaultValues());
-        }
-
-        finalRules.apply(plugin.getMainConfig().getDefaultWorldConfig());
-
-        finalRules.apply(GameRules.DEFAULT_VALUES);
-
-        rules = finalRules;
+        rules = plugin.getGameRulesCache().getRules(type, getDungeon(), floor);
     }
 
     /**
@@ -338,6 +354,43 @@ public class Game {
         return toReturn;
     }
 
+    /**
+     * @param player
+     * the player to check
+     * @return if the player is ready to play
+     */
+    public boolean isReady(Player player) {
+        return readyPlayers.contains(player.getUniqueId());
+    }
+
+    /**
+     * @param player
+     * the player
+     * @param ready
+     * if the player is ready to play
+     */
+    public void setReady(Player player, boolean ready) {
+        if (ready) {
+            readyPlayers.add(player.getUniqueId());
+        } else {
+            readyPlayers.remove(player.getUniqueId());
+        }
+    }
+
+    /**
+     * @return if all players of all groups are ready
+     */
+    public boolean isReady() {
+        for (DGroup dGroup : dGroups) {
+            for (Player player : dGroup.getPlayers()) {
+                if (!readyPlayers.contains(player.getUniqueId())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * @return if the DGroup list is empty
      */
@@ -353,6 +406,7 @@ public class Game {
         GameSign gameSign = GameSign.getByGame(this);
 
         plugin.getGames().remove(this);
+        setState(GameState.TEARDOWN);
 
         if (gameSign != null) {
             gameSign.update();
@@ -18,7 +18,7 @@ package io.github.dre2n.dungeonsxl.game;
 
 import io.github.dre2n.commons.util.NumberUtil;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -31,14 +31,8 @@ public class GamePlaceableBlock {
 
     // Variables
     private Block block;
-    private Set<Material> materials = new HashSet<>();
-
-    private boolean onTop = false;
-    private boolean onBottom = false;
-    private boolean onNorth = false;
-    private boolean onSouth = false;
-    private boolean onEast = false;
-    private boolean onWest = false;
+    private Set<Material> materials = EnumSet.noneOf(Material.class);
+    private int faces;
 
     public GamePlaceableBlock(Block block, String ids, String directions) {
         this.block = block;
@@ -64,11 +58,11 @@ public class GamePlaceableBlock {
                 }
 
                 if (direction == 0) {
-                    onTop = true;
+                    allow(BlockFace.UP);
                 }
 
                 if (direction == 1) {
-                    onBottom = true;
+                    allow(BlockFace.DOWN);
                 }
 
                 if (block.getType() == Material.WALL_SIGN) {
@@ -76,76 +70,76 @@ public class GamePlaceableBlock {
                     switch (data) {
                         case 3:
                             if (direction == 2) {
-                                onNorth = true;
+                                allow(BlockFace.NORTH);
                             }
 
                             if (direction == 3) {
-                                onEast = true;
+                                allow(BlockFace.EAST);
                             }
 
                             if (direction == 4) {
-                                onSouth = true;
+                                allow(BlockFace.SOUTH);
                             }
 
                             if (direction == 5) {
-                                onWest = true;
+                                allow(BlockFace.WEST);
                             }
 
                             break;
 
                         case 4:
                             if (direction == 5) {
-                                onNorth = true;
+                                allow(BlockFace.NORTH);
                             }
 
                             if (direction == 2) {
-                                onEast = true;
+                                allow(BlockFace.EAST);
                             }
 
                             if (direction == 3) {
-                                onSouth = true;
+                                allow(BlockFace.SOUTH);
                             }
 
                             if (direction == 4) {
-                                onWest = true;
+                                allow(BlockFace.WEST);
                             }
 
                             break;
 
                         case 2:
                             if (direction == 4) {
-                                onNorth = true;
+                                allow(BlockFace.NORTH);
                             }
 
                             if (direction == 5) {
-                                onEast = true;
+                                allow(BlockFace.EAST);
                             }
 
                             if (direction == 2) {
-                                onSouth = true;
+                                allow(BlockFace.SOUTH);
                             }
 
                             if (direction == 3) {
-                                onWest = true;
+                                allow(BlockFace.WEST);
                             }
 
                             break;
 
                         case 5:
                             if (direction == 3) {
-                                onNorth = true;
+                                allow(BlockFace.NORTH);
                             }
 
                             if (direction == 4) {
-                                onEast = true;
+                                allow(BlockFace.EAST);
                             }
 
                             if (direction == 5) {
-                                onSouth = true;
+                                allow(BlockFace.SOUTH);
                             }
 
                             if (direction == 2) {
-                                onWest = true;
+                                allow(BlockFace.WEST);
 
                             }
                             break;
@@ -159,19 +153,19 @@ public class GamePlaceableBlock {
                         case 2:
                         case 15:
                             if (direction == 2) {
-                                onNorth = true;
+                                allow(BlockFace.NORTH);
                             }
 
                             if (direction == 3) {
-                                onEast = true;
+                                allow(BlockFace.EAST);
                             }
 
                             if (direction == 4) {
-                                onSouth = true;
+                                allow(BlockFace.SOUTH);
                             }
 
                             if (direction == 5) {
-                                onWest = true;
+                                allow(BlockFace.WEST);
                             }
 
                             break;
@@ -180,19 +174,19 @@ public class GamePlaceableBlock {
                         case 5:
                         case 6:
                             if (direction == 5) {
-                                onNorth = true;
+                                allow(BlockFace.NORTH);
                             }
 
                             if (direction == 2) {
-                                onEast = true;
+                                allow(BlockFace.EAST);
                             }
 
                             if (direction == 3) {
-                                onSouth = true;
+                                allow(BlockFace.SOUTH);
                             }
 
                             if (direction == 4) {
-                                onWest = true;
+                                allow(BlockFace.WEST);
                             }
 
                             break;
@@ -202,19 +196,19 @@ public class GamePlaceableBlock {
                         case 9:
                         case 10:
                             if (direction == 4) {
-                                onNorth = true;
+                                allow(BlockFace.NORTH);
                             }
 
                             if (direction == 5) {
-                                onEast = true;
+                                allow(BlockFace.EAST);
                             }
 
                             if (direction == 2) {
-                                onSouth = true;
+                                allow(BlockFace.SOUTH);
                             }
 
                             if (direction == 3) {
-                                onWest = true;
+                                allow(BlockFace.WEST);
                             }
 
                             break;
@@ -223,19 +217,19 @@ public class GamePlaceableBlock {
                         case 13:
                         case 14:
                             if (direction == 3) {
-                                onNorth = true;
+                                allow(BlockFace.NORTH);
                             }
 
                             if (direction == 4) {
-                                onEast = true;
+                                allow(BlockFace.EAST);
                             }
 
                             if (direction == 5) {
-                                onSouth = true;
+                                allow(BlockFace.SOUTH);
                             }
 
                             if (direction == 2) {
-                                onWest = true;
+                                allow(BlockFace.WEST);
                             }
 
                             break;
@@ -244,47 +238,106 @@ public class GamePlaceableBlock {
             }
 
         } else {
-            onTop = true;
-            onBottom = true;
-            onNorth = true;
-            onEast = true;
-            onSouth = true;
-            onWest = true;
+            allow(BlockFace.UP);
+            allow(BlockFace.DOWN);
+            allow(BlockFace.NORTH);
+            allow(BlockFace.EAST);
+            allow(BlockFace.SOUTH);
+            allow(BlockFace.WEST);
         }
     }
 
-    // Can build
-    public static boolean canBuildHere(Block block, BlockFace blockFace, Material mat, DGameWorld gameWorld) {
-        for (GamePlaceableBlock gamePlacableBlock : gameWorld.getPlaceableBlocks()) {
-            if (gamePlacableBlock.block.getFace(block) != BlockFace.SELF) {
-                continue;
-            }
+    /**
+     * @return
+     * the block the sign was placed at
+     */
+    public Block getBlock() {
+        return block;
+    }
 
-            if (!(gamePlacableBlock.materials.contains(mat) || gamePlacableBlock.materials.isEmpty())) {
-                continue;
-            }
+    /**
+     * @return
+     * the materials that may be placed; empty if any material is allowed
+     */
+    public Set<Material> getMaterials() {
+        return materials;
+    }
 
-            if (blockFace == BlockFace.NORTH && gamePlacableBlock.onNorth) {
-                return true;
-            }
+    /**
+     * @param face
+     * the face of the placed block that points to the block it was placed against
+     */
+    public void allow(BlockFace face) {
+        faces |= getFaceBit(face);
+    }
 
-            if (blockFace == BlockFace.SOUTH && gamePlacableBlock.onSouth) {
-                return true;
-            }
+    /**
+     * @param face
+     * the face of the placed block that points to the block it was placed against
+     * @param material
+     * the material of the placed block
+     * @return
+     * if placing the material on the face is allowed
+     */
+    public boolean allows(BlockFace face, Material material) {
+        return (faces & getFaceBit(face)) != 0 && (materials.isEmpty() || materials.contains(material));
+    }
 
-            if (blockFace == BlockFace.EAST && gamePlacableBlock.onEast) {
-                return true;
-            }
+    /* Statics */
+    /**
+     * @param face
+     * a BlockFace
+     * @return
+     * the bit that represents the face in the face mask; 0 if the face is not a cardinal or vertical direction
+     */
+    public static int getFaceBit(BlockFace face) {
+        if (face == null) {
+            return 0;
+        }
 
-            if (blockFace == BlockFace.WEST && gamePlacableBlock.onWest) {
-                return true;
-            }
+        switch (face) {
+            case UP:
+                return 1;
+            case DOWN:
+                return 1 << 1;
+            case NORTH:
+                return 1 << 2;
+            case EAST:
+                return 1 << 3;
+            case SOUTH:
+                return 1 << 4;
+            case WEST:
+                return 1 << 5;
+            default:
+                return 0;
+        }
+    }
 
-            if (blockFace == BlockFace.UP && gamePlacableBlock.onTop) {
-                return true;
-            }
+    /**
+     * @return
+     * a key that represents the block position in a DGameWorld's placeable block index
+     */
+    public static long getPositionKey(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | (long) y & 0xFFF;
+    }
+
+    /**
+     * @return
+     * a key that represents the block position in a DGameWorld's placeable block index
+     */
+    public static long getPositionKey(Block block) {
+        return getPositionKey(block.getX(), block.getY(), block.getZ());
+    }
+
+    // Can build
+    public static boolean canBuildHere(Block block, BlockFace blockFace, Material mat, DGameWorld gameWorld) {
+        GamePlaceableBlock[] placeableBlocks = gameWorld.getPlaceableBlocks(block);
+        if (placeableBlocks == null) {
+            return false;
+        }
 
-            if (blockFace == BlockFace.DOWN && gamePlacableBlock.onBottom) {
+        for (GamePlaceableBlock placeableBlock : placeableBlocks) {
+            if (placeableBlock.allows(blockFace, mat)) {
                 return true;
             }
         }
@@ -18,7 +18,10 @@ package io.github.dre2n.dungeonsxl.game;
 
 import io.github.dre2n.dungeonsxl.requirement.Requirement;
 import io.github.dre2n.dungeonsxl.reward.Reward;
+import io.github.dre2n.dungeonsxl.util.CommandWhitelist;
+import io.github.dre2n.dungeonsxl.world.DWorlds;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -110,6 +113,10 @@ public class GameRules {
     protected Map<Integer, String> msgs;
     protected List<ItemStack> secureObjects;
 
+    /* Compiled */
+    protected FinishedDungeonsRule finishedRule;
+    protected CommandWhitelist compiledCommandWhitelist;
+
     /* Getters and setters */
     // keepInventory
     /**
@@ -273,6 +280,13 @@ public class GameRules {
         return merge;
     }
 
+    /**
+     * @return the finished dungeons rule compiled by {@link #compile(DWorlds)}
+     */
+    public FinishedDungeonsRule getFinishedRule() {
+        return finishedRule;
+    }
+
     /**
      * @return the rewards
      */
@@ -294,6 +308,16 @@ public class GameRules {
         return gameCommandWhitelist;
     }
 
+    /**
+     * @return the gameCommandWhitelist compiled by {@link #compile(DWorlds)}
+     */
+    public CommandWhitelist getCompiledCommandWhitelist() {
+        if (compiledCommandWhitelist == null) {
+            compiledCommandWhitelist = new CommandWhitelist(getGameCommandWhitelist());
+        }
+        return compiledCommandWhitelist;
+    }
+
     /**
      * @return the gamePermissions
      */
@@ -340,6 +364,35 @@ public class GameRules {
     }
 
     /* Actions */
+    /**
+     * Resolves the values that are expensive to evaluate during a game and makes the collections immutable, so that
+     * the compiled rules may be shared by several games.
+     *
+     * @param worlds
+     * the DWorlds to resolve map names
+     */
+    public void compile(DWorlds worlds) {
+        finishedAll = Collections.unmodifiableList(new ArrayList<>(getFinishedAll()));
+        if (finishedOne == null) {
+            finishedOne = Collections.emptyList();
+        } else {
+            finishedOne = Collections.unmodifiableList(new ArrayList<>(finishedOne));
+        }
+        requirements = Collections.unmodifiableList(new ArrayList<>(getRequirements()));
+        rewards = Collections.unmodifiableList(new ArrayList<>(getRewards()));
+        gameCommandWhitelist = Collections.unmodifiableList(new ArrayList<>(getGameCommandWhitelist()));
+        gamePermissions = Collections.unmodifiableList(new ArrayList<>(getGamePermissions()));
+        secureObjects = Collections.unmodifiableList(new ArrayList<>(getSecureObjects()));
+        if (msgs == null) {
+            msgs = Collections.emptyMap();
+        } else {
+            msgs = Collections.unmodifiableMap(new HashMap<>(msgs));
+        }
+
+        finishedRule = new FinishedDungeonsRule(finishedAll, finishedOne, worlds);
+        compiledCommandWhitelist = new CommandWhitelist(gameCommandWhitelist);
+    }
+
     /**
      * @param defaultValues
      * the GameType that overrides the values that are null.
@@ -458,26 +511,34 @@ public class GameRules {
 
         /* Commands and permissions */
         if (gameCommandWhitelist == null) {
-            gameCommandWhitelist = defaultValues.gameCommandWhitelist;
+            if (defaultValues.gameCommandWhitelist != null) {
+                gameCommandWhitelist = new ArrayList<>(defaultValues.gameCommandWhitelist);
+            }
         } else if (defaultValues.gameCommandWhitelist != null) {
             gameCommandWhitelist.addAll(defaultValues.gameCommandWhitelist);
         }
 
         if (gamePermissions == null) {
-            gamePermissions = defaultValues.gamePermissions;
+            if (defaultValues.gamePermissions != null) {
+                gamePermissions = new ArrayList<>(defaultValues.gamePermissions);
+            }
         } else if (defaultValues.gamePermissions != null) {
             gamePermissions.addAll(defaultValues.gamePermissions);
         }
 
         /* Misc */
         if (msgs == null) {
-            msgs = defaultValues.msgs;
+            if (defaultValues.msgs != null) {
+                msgs = new HashMap<>(defaultValues.msgs);
+            }
         } else if (defaultValues.msgs != null) {
             msgs.putAll(defaultValues.msgs);
         }
 
         if (secureObjects == null) {
-            secureObjects = defaultValues.secureObjects;
+            if (defaultValues.secureObjects != null) {
+                secureObjects = new ArrayList<>(defaultValues.secureObjects);
+            }
         } else if (defaultValues.secureObjects != null) {
             secureObjects.addAll(defaultValues.secureObjects);
         }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.game;
+
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.config.DungeonConfig;
+import io.github.dre2n.dungeonsxl.config.WorldConfig;
+import io.github.dre2n.dungeonsxl.dungeon.Dungeon;
+import io.github.dre2n.dungeonsxl.world.DResourceWorld;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches the merged GameRules of each combination of game type, dungeon and floor.
+ * The cached instances are shared by all games; their collections are immutable once compiled.
+ *
+ * @author Daniel Saukel
+ */
+public class GameRulesCache {
+
+    DungeonsXL plugin = DungeonsXL.getInstance();
+
+    private Map<List<Object>, GameRules> rules = new HashMap<>();
+
+    /**
+     * @param type
+     * the GameType or null
+     * @param dungeon
+     * the Dungeon or null
+     * @param floor
+     * the resource of the floor or null
+     * @return the merged GameRules
+     */
+    public GameRules getRules(GameType type, Dungeon dungeon, DResourceWorld floor) {
+        List<Object> key = Arrays.<Object>asList(type, dungeon, floor);
+        GameRules cached = rules.get(key);
+
+        if (cached == null) {
+            cached = merge(type, dungeon, floor);
+            rules.put(key, cached);
+        }
+
+        return cached;
+    }
+
+    /**
+     * Removes all cached GameRules, e.g. after a config has been changed.
+     */
+    public void clear() {
+        rules.clear();
+    }
+
+    /**
+     * Merges the rules with the following priority:
+     * 1. Game type
+     * 2. Dungeon config: Override values
+     * 3. Floor config
+     * 4. Dungeon config: Default values
+     * 5. Main config: Default values
+     * 6. The default values
+     */
+    private GameRules merge(GameType type, Dungeon dungeon, DResourceWorld floor) {
+        DungeonConfig dungeonConfig = null;
+        if (dungeon != null) {
+            dungeonConfig = dungeon.getConfig();
+        }
+
+        WorldConfig floorConfig = null;
+        if (floor != null) {
+            floorConfig = floor.getConfig();
+        }
+
+        GameRules finalRules = new GameRules();
+
+        if (type != null) {
+            finalRules.apply(type);
+        }
+
+        if (dungeonConfig != null && dungeonConfig.getOverrideValues() != null) {
+            finalRules.apply(dungeonConfig.getOverrideValues());
+        }
+
+        if (floorConfig != null) {
+            finalRules.apply(floorConfig);
+        }
+
+        if (dungeonConfig != null && dungeonConfig.getDefaultValues() != null) {
+            finalRules.apply(dungeonConfig.getDefaultValues());
+        }
+
+        finalRules.apply(plugin.getMainConfig().getDefaultWorldConfig());
+
+        finalRules.apply(GameRules.DEFAULT_VALUES);
+
+        finalRules.compile(plugin.getDWorlds());
+        return finalRules;
+    }
+
+}
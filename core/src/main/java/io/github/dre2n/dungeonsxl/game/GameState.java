@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.game;
+
+/**
+ * The stages a game passes through.
+ * A game only moves forward; TEARDOWN is final.
+ *
+ * @author Daniel Saukel
+ */
+public enum GameState {
+
+    /**
+     * The game waits for an instance.
+     */
+    QUEUED,
+    /**
+     * The instance world of the game is being loaded.
+     */
+    LOADING,
+    /**
+     * The instance is loaded and the players wait in the lobby until everyone is ready.
+     */
+    LOBBY,
+    /**
+     * The players are playing.
+     */
+    RUNNING,
+    /**
+     * A group has finished the dungeon and receives its rewards.
+     */
+    FINISHING,
+    /**
+     * The game has been removed.
+     */
+    TEARDOWN;
+
+    /**
+     * @param state
+     * the state to check
+     * @return if a game in this state may change to the other state
+     */
+    public boolean canChangeTo(GameState state) {
+        return state.ordinal() > ordinal();
+    }
+
+}
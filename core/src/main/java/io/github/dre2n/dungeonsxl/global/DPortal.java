@@ -22,7 +22,12 @@ import io.github.dre2n.dungeonsxl.config.DMessages;
 import io.github.dre2n.dungeonsxl.game.Game;
 import io.github.dre2n.dungeonsxl.player.DGamePlayer;
 import io.github.dre2n.dungeonsxl.player.DGroup;
+import io.github.dre2n.dungeonsxl.util.worldloader.BlockEditor;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import io.github.dre2n.dungeonsxl.world.InstanceFuture;
+import io.github.dre2n.dungeonsxl.world.InstanceQueue;
+import io.github.dre2n.dungeonsxl.world.InstanceRequest;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import org.bukkit.Location;
@@ -37,6 +42,11 @@ import org.bukkit.entity.Player;
  */
 public class DPortal extends GlobalProtection {
 
+    public static final Set<Material> REPLACEABLE = EnumSet.of(Material.AIR, Material.WATER, Material.STATIONARY_WATER, Material.LAVA, Material.STATIONARY_LAVA,
+            Material.SAPLING, Material.WEB, Material.LONG_GRASS, Material.DEAD_BUSH, Material.PISTON_EXTENSION, Material.YELLOW_FLOWER, Material.RED_ROSE,
+            Material.BROWN_MUSHROOM, Material.RED_MUSHROOM, Material.TORCH, Material.FIRE, Material.CROPS, Material.REDSTONE_WIRE, Material.REDSTONE_TORCH_OFF,
+            Material.SNOW, Material.REDSTONE_TORCH_ON);
+
     private Block block1;
     private Block block2;
     private boolean active;
@@ -109,58 +119,15 @@ public class DPortal extends GlobalProtection {
             return;
         }
 
-        int x1 = block1.getX(), y1 = block1.getY(), z1 = block1.getZ();
-        int x2 = block2.getX(), y2 = block2.getY(), z2 = block2.getZ();
-        int xcount = 0, ycount = 0, zcount = 0;
-
-        if (x1 > x2) {
-            xcount = -1;
-        } else if (x1 < x2) {
-            xcount = 1;
-        }
-        if (y1 > y2) {
-            ycount = -1;
-        } else if (y1 < y2) {
-            ycount = 1;
-        }
-        if (z1 > z2) {
-            zcount = -1;
-        } else if (z1 < z2) {
-            zcount = 1;
-        }
-
-        int xx = x1;
-        do {
-            int yy = y1;
-
-            do {
-                int zz = z1;
-
-                do {
-                    Material type = getWorld().getBlockAt(xx, yy, zz).getType();
-                    if (type == Material.AIR || type == Material.WATER || type == Material.STATIONARY_WATER || type == Material.LAVA || type == Material.STATIONARY_LAVA || type == Material.SAPLING
-                            || type == Material.WEB || type == Material.LONG_GRASS || type == Material.DEAD_BUSH || type == Material.PISTON_EXTENSION || type == Material.YELLOW_FLOWER
-                            || type == Material.RED_ROSE || type == Material.BROWN_MUSHROOM || type == Material.RED_MUSHROOM || type == Material.TORCH || type == Material.FIRE
-                            || type == Material.CROPS || type == Material.REDSTONE_WIRE || type == Material.REDSTONE_TORCH_OFF || type == Material.SNOW || type == Material.REDSTONE_TORCH_ON) {
-                        getWorld().getBlockAt(xx, yy, zz).setType(Material.PORTAL);
-                    }
-
-                    zz = zz + zcount;
-                } while (zz != z2 + zcount);
-
-                yy = yy + ycount;
-            } while (yy != y2 + ycount);
-
-            xx = xx + xcount;
-        } while (xx != x2 + xcount);
+        BlockEditor.replace(block1, block2, REPLACEABLE, Material.PORTAL, false);
     }
 
     /**
      * @param player
      * the player to teleport into his dungeon
      */
-    public void teleport(Player player) {
-        DGroup dGroup = DGroup.getByPlayer(player);
+    public void teleport(final Player player) {
+        final DGroup dGroup = DGroup.getByPlayer(player);
 
         if (dGroup == null) {
             MessageUtil.sendMessage(player, plugin.getMessageConfig().getMessage(DMessages.ERROR_JOIN_GROUP));
@@ -186,10 +153,31 @@ public class DPortal extends GlobalProtection {
         }
 
         if (target == null && dGroup.getMapName() != null) {
-            target = plugin.getDWorlds().getResourceByName(dGroup.getMapName()).instantiateAsGameWorld();//TO DO
-            dGroup.setGameWorld(target);
+            InstanceQueue queue = plugin.getInstanceQueue();
+            if (queue.getRequest(dGroup) != null) {
+                MessageUtil.sendMessage(player, DMessages.PLAYER_QUEUE_POSITION.getMessage(String.valueOf(queue.getPosition(dGroup)), String.valueOf(queue.getRequests().size())));
+                return;
+            }
+
+            queue.add(new InstanceRequest(dGroup) {
+                @Override
+                public DGameWorld admit() {
+                    InstanceFuture<DGameWorld> future = plugin.getDWorlds().getResourceByName(dGroup.getMapName()).instantiateAsGameWorldAsync();//TO DO
+                    DGameWorld gameWorld = future != null ? future.getInstance() : null;
+                    dGroup.setGameWorld(gameWorld);
+                    if (player.isOnline() && DGamePlayer.getByPlayer(player) == null) {
+                        teleport(player, dGroup, Game.getByDGroup(dGroup), gameWorld);
+                    }
+                    return gameWorld;
+                }
+            });
+            return;
         }
 
+        teleport(player, dGroup, game, target);
+    }
+
+    private void teleport(Player player, DGroup dGroup, Game game, DGameWorld target) {
         if (target == null) {
             MessageUtil.sendMessage(player, DMessages.ERROR_DUNGEON_NOT_EXIST.getMessage());
             return;
@@ -239,48 +227,9 @@ public class DPortal extends GlobalProtection {
     public void delete() {
         protections.removeProtection(this);
 
-        int x1 = block1.getX(), y1 = block1.getY(), z1 = block1.getZ();
-        int x2 = block2.getX(), y2 = block2.getY(), z2 = block2.getZ();
-        int xcount = 0, ycount = 0, zcount = 0;
-
-        if (x1 > x2) {
-            xcount = -1;
-        } else if (x1 < x2) {
-            xcount = 1;
-        }
-
-        if (y1 > y2) {
-            ycount = -1;
-        } else if (y1 < y2) {
-            ycount = 1;
+        if (block1 != null && block2 != null) {
+            BlockEditor.replace(block1, block2, EnumSet.of(Material.PORTAL), Material.AIR, false);
         }
-
-        if (z1 > z2) {
-            zcount = -1;
-        } else if (z1 < z2) {
-            zcount = 1;
-        }
-
-        int xx = x1;
-        do {
-            int yy = y1;
-            do {
-                int zz = z1;
-                do {
-                    Material type = getWorld().getBlockAt(xx, yy, zz).getType();
-
-                    if (type == Material.PORTAL) {
-                        getWorld().getBlockAt(xx, yy, zz).setType(Material.AIR);
-                    }
-
-                    zz = zz + zcount;
-                } while (zz != z2 + zcount);
-
-                yy = yy + ycount;
-            } while (yy != y2 + ycount);
-
-            xx = xx + xcount;
-        } while (xx != x2 + xcount);
     }
 
     /* Statics */
@@ -226,6 +226,16 @@ public class GameSign extends GlobalProtection {
         }
     }
 
+    @Override
+    public boolean isInUse() {
+        for (Game game : games) {
+            if (game != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public Set<Block> getBlocks() {
         if (blocks == null) {
@@ -456,6 +466,7 @@ public class GameSign extends GlobalProtection {
         }
 
         GameSign sign = new GameSign(protections.generateId(GameSign.class, world), startSign, mapName, maxGames, maxGroupsPerGame, multiFloor);
+        sign.save();
 
         return sign;
     }
@@ -469,11 +480,6 @@ public class GameSign extends GlobalProtection {
             return false;
         }
 
-        if (plugin.getDWorlds().getGameWorlds().size() >= plugin.getMainConfig().getMaxInstances()) {
-            MessageUtil.sendMessage(player, DMessages.ERROR_TOO_MANY_INSTANCES.getMessage());
-            return true;
-        }
-
         DGroup dGroup = DGroup.getByPlayer(player);
 
         if (dGroup == null) {
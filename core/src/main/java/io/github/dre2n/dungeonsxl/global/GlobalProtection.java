@@ -19,7 +19,6 @@ import org.bukkit.configuration.file.YamlConfiguration;
 public abstract class GlobalProtection {
 
     static DungeonsXL plugin = DungeonsXL.getInstance();
-    static FileConfiguration config = plugin.getGlobalData().getConfig();
     static GlobalProtections protections = plugin.getGlobalProtections();
 
     private World world;
@@ -61,12 +60,19 @@ public abstract class GlobalProtection {
         protections.removeProtection(this);
     }
 
+    /**
+     * @return if the protection is in use and must not be deactivated when its chunk is unloaded
+     */
+    public boolean isInUse() {
+        return false;
+    }
+
     /* Abstracts */
     /**
-     * Save the data to the default file
+     * Save the data to the protection store
      */
     public void save() {
-        save(config);
+        protections.getStore().put(this);
     }
 
     /**
@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.global;
+
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * An append-only log of protection records.
+ * Each record maps the path of a protection ("type.world.id") to its serialized data or marks it as deleted.
+ * The log is rewritten with the live records only when it has grown much larger than them.
+ *
+ * @author Daniel Saukel
+ */
+public class GlobalProtectionStore {
+
+    public static final int MIN_COMPACTION_LENGTH = 64;
+
+    DungeonsXL plugin = DungeonsXL.getInstance();
+
+    private File file;
+
+    private Map<String, String> records = new LinkedHashMap<>();
+    private Map<GlobalProtection, String> keys = new IdentityHashMap<>();
+    private int length;
+
+    public GlobalProtectionStore(File file) {
+        this.file = file;
+    }
+
+    /* Getters and setters */
+    /**
+     * @return the log file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the live records mapped to their paths
+     */
+    public Map<String, String> getRecords() {
+        return Collections.unmodifiableMap(records);
+    }
+
+    /**
+     * @return the amount of records in the log
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /* Actions */
+    /**
+     * Reads the log.
+     *
+     * @return the "protections" section of each live record
+     */
+    public List<ConfigurationSection> load() {
+        Object snapshot = plugin.getIOExecutor().getSnapshot(file);
+        if (snapshot instanceof GlobalProtectionStore) {
+            // The writes of a store from before a reload are pending, so its records are the current state of the log
+            GlobalProtectionStore pending = (GlobalProtectionStore) snapshot;
+            if (pending != this) {
+                records.clear();
+                records.putAll(pending.records);
+                length = pending.length;
+            }
+
+        } else if (file.exists()) {
+            records.clear();
+            length = 0;
+            try {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                try {
+                    while (true) {
+                        String key = in.readUTF();
+                        String data = in.readBoolean() ? in.readUTF() : null;
+                        if (data != null) {
+                            records.put(key, data);
+                        } else {
+                            records.remove(key);
+                        }
+                        length++;
+                    }
+
+                } catch (EOFException exception) {
+                    // End of the log; a record that is cut off is ignored
+                }
+                in.close();
+
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+
+        } else {
+            records.clear();
+            length = 0;
+        }
+
+        List<ConfigurationSection> sections = new ArrayList<>();
+        for (String data : records.values()) {
+            YamlConfiguration config = new YamlConfiguration();
+            try {
+                config.loadFromString(data);
+            } catch (InvalidConfigurationException exception) {
+                exception.printStackTrace();
+                continue;
+            }
+
+            ConfigurationSection section = config.getConfigurationSection("protections");
+            if (section != null) {
+                sections.add(section);
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * Writes all protections of the section to the log, including those of worlds that are not loaded.
+     *
+     * @param section
+     * a section that contains protections in the format "type.world.id"
+     */
+    public void importSection(ConfigurationSection section) {
+        for (String type : section.getKeys(false)) {
+            ConfigurationSection typeSection = section.getConfigurationSection(type);
+            if (typeSection == null) {
+                continue;
+            }
+
+            for (String world : typeSection.getKeys(false)) {
+                ConfigurationSection worldSection = typeSection.getConfigurationSection(world);
+                if (worldSection == null) {
+                    continue;
+                }
+
+                for (String id : worldSection.getKeys(false)) {
+                    ConfigurationSection protection = worldSection.getConfigurationSection(id);
+                    if (protection == null) {
+                        continue;
+                    }
+
+                    String key = type + "." + world + "." + id;
+                    YamlConfiguration config = new YamlConfiguration();
+                    for (String path : protection.getKeys(true)) {
+                        if (!protection.isConfigurationSection(path)) {
+                            config.set("protections." + key + "." + path, protection.get(path));
+                        }
+                    }
+                    records.put(key, config.saveToString());
+                }
+            }
+        }
+
+        compact();
+    }
+
+    /**
+     * Remembers the path of a protection that has been loaded from the log.
+     *
+     * @param protection
+     * the protection
+     * @param type
+     * the type key, e.g. "gameSigns"
+     */
+    public void bind(GlobalProtection protection, String type) {
+        keys.put(protection, type + "." + protection.getWorld().getName() + "." + protection.getId());
+    }
+
+    /**
+     * Forgets the path of a protection that has been deactivated without being deleted.
+     *
+     * @param protection
+     * the protection
+     */
+    public void unbind(GlobalProtection protection) {
+        keys.remove(protection);
+    }
+
+    /**
+     * Writes the current state of the protection to the log.
+     *
+     * @param protection
+     * the protection to store
+     */
+    public void put(GlobalProtection protection) {
+        YamlConfiguration config = new YamlConfiguration();
+        protection.save(config);
+
+        ConfigurationSection section = config.getConfigurationSection("protections");
+        String key = section != null ? getPath(section) : null;
+        if (key == null) {
+            remove(protection);
+            return;
+        }
+
+        String old = keys.put(protection, key);
+        if (old != null && !old.equals(key)) {
+            append(old, null);
+        }
+
+        String data = config.saveToString();
+        if (!data.equals(records.get(key))) {
+            append(key, data);
+        }
+    }
+
+    /**
+     * Marks the protection as deleted in the log.
+     *
+     * @param protection
+     * the protection to remove
+     */
+    public void remove(GlobalProtection protection) {
+        String key = keys.remove(protection);
+        if (key != null) {
+            append(key, null);
+        }
+    }
+
+    /**
+     * Rewrites the log if it has grown much larger than the live records.
+     */
+    public void compactIfNecessary() {
+        if (length > Math.max(MIN_COMPACTION_LENGTH, 2 * records.size())) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites the log with the live records only.
+     */
+    public void compact() {
+        final Map<String, String> snapshot = new LinkedHashMap<>(records);
+        length = snapshot.size();
+
+        plugin.getIOExecutor().write(IOExecutor.Priority.DATA, file, this, new Runnable() {
+            @Override
+            public void run() {
+                File temp = new File(file.getPath() + ".tmp");
+                try {
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+                    for (Entry<String, String> record : snapshot.entrySet()) {
+                        write(out, record.getKey(), record.getValue());
+                    }
+                    out.close();
+
+                } catch (IOException exception) {
+                    exception.printStackTrace();
+                    temp.delete();
+                    return;
+                }
+
+                try {
+                    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException exception) {
+                    // The log still contains all records, so it is kept as it is
+                    exception.printStackTrace();
+                    temp.delete();
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds the records of all protections and compacts the log.
+     *
+     * @param protections
+     * all protections
+     */
+    public void saveAll(Collection<GlobalProtection> protections) {
+        for (GlobalProtection protection : protections) {
+            put(protection);
+        }
+        compact();
+    }
+
+    private void append(final String key, final String data) {
+        if (data != null) {
+            records.put(key, data);
+        } else {
+            records.remove(key);
+        }
+        length++;
+
+        plugin.getIOExecutor().write(IOExecutor.Priority.DATA, file, this, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+                    write(out, key, data);
+                    out.close();
+
+                } catch (IOException exception) {
+                    exception.printStackTrace();
+                }
+            }
+        });
+
+        compactIfNecessary();
+    }
+
+    /* Statics */
+    private static void write(DataOutputStream out, String key, String data) throws IOException {
+        out.writeUTF(key);
+        out.writeBoolean(data != null);
+        if (data != null) {
+            out.writeUTF(data);
+        }
+    }
+
+    private static String getPath(ConfigurationSection section) {
+        for (String type : section.getKeys(false)) {
+            ConfigurationSection typeSection = section.getConfigurationSection(type);
+            if (typeSection == null) {
+                continue;
+            }
+
+            for (String world : typeSection.getKeys(false)) {
+                ConfigurationSection worldSection = typeSection.getConfigurationSection(world);
+                if (worldSection == null) {
+                    continue;
+                }
+
+                for (String id : worldSection.getKeys(false)) {
+                    return type + "." + world + "." + id;
+                }
+            }
+        }
+        return null;
+    }
+
+}
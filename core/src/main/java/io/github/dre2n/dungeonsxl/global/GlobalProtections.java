@@ -5,16 +5,24 @@
  */
 package io.github.dre2n.dungeonsxl.global;
 
+import io.github.dre2n.commons.util.NumberUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.Sign;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitRunnable;
 
 /**
  * @author Daniel Saukel
@@ -24,6 +32,9 @@ public class GlobalProtections {
     DungeonsXL plugin = DungeonsXL.getInstance();
 
     private Set<GlobalProtection> protections = new HashSet<>();
+    private GlobalProtectionStore store = new GlobalProtectionStore(new File(plugin.getDataFolder(), "protections.dat"));
+    private Map<String, Map<Long, Set<ProtectionRecord>>> records = new HashMap<>();
+    private Map<GlobalProtection, ProtectionRecord> activeRecords = new HashMap<>();
 
     /**
      * @return the protection which covers this location
@@ -52,6 +63,13 @@ public class GlobalProtections {
         return protections;
     }
 
+    /**
+     * @return the store that persists the protections
+     */
+    public GlobalProtectionStore getStore() {
+        return store;
+    }
+
     /**
      * @param type
      * All protections which are an instance of it will be returned.
@@ -80,13 +98,22 @@ public class GlobalProtections {
      */
     public void removeProtection(GlobalProtection protection) {
         protections.remove(protection);
+        store.remove(protection);
+
+        ProtectionRecord record = activeRecords.remove(protection);
+        if (record != null) {
+            Map<Long, Set<ProtectionRecord>> chunks = records.get(record.getWorld());
+            for (long chunk : record.getChunks()) {
+                chunks.get(chunk).remove(record);
+            }
+        }
     }
 
     /**
-     * Save all protections to the default file
+     * Save all protections to the store and compact it
      */
     public void saveAll() {
-        saveAll(plugin.getGlobalData().getConfig());
+        store.saveAll(protections);
     }
 
     /**
@@ -118,13 +145,24 @@ public class GlobalProtections {
      * @return an unused ID number for a new protection
      */
     public int generateId(Class<? extends GlobalProtection> type, World world) {
-        int id = 1;
+        int id = 0;
         for (GlobalProtection protection : protections) {
-            if (protection.getClass() == type) {
-                id++;
+            if (protection.getClass() == type && protection.getWorld().equals(world) && protection.getId() > id) {
+                id = protection.getId();
             }
         }
-        return id;
+
+        Map<Long, Set<ProtectionRecord>> chunks = records.get(world.getName());
+        if (chunks != null) {
+            for (Set<ProtectionRecord> inChunk : chunks.values()) {
+                for (ProtectionRecord record : inChunk) {
+                    if (record.getTypeClass() == type && record.getId() > id) {
+                        id = record.getId();
+                    }
+                }
+            }
+        }
+        return id + 1;
     }
 
     /**
@@ -141,96 +179,213 @@ public class GlobalProtections {
         return false;
     }
 
-    /* SUBJECT TO CHANGE */
-    @Deprecated
+    /**
+     * Loads all protections from the store.
+     * Only the protections in loaded chunks are activated; the others follow when their chunk is loaded.
+     * Protections that are still stored in the global data file are moved to the store.
+     */
     public void loadAll() {
         FileConfiguration data = plugin.getGlobalData().getConfig();
 
-        for (World world : plugin.getServer().getWorlds()) {
-            // GameSigns
-            if (data.contains("protections.gameSigns." + world.getName())) {
-                int id = 0;
-                String preString;
-
-                do {
-                    id++;
-                    preString = "protections.gameSigns." + world.getName() + "." + id + ".";
-                    if (data.contains(preString)) {
-                        String mapName = data.getString(preString + ".dungeon");
-                        int maxGames = data.getInt(preString + ".maxGames");
-                        int maxGroupsPerGame = data.getInt(preString + ".maxGroupsPerGame");
-                        boolean multiFloor = false;
-                        if (data.contains(preString + ".multiFloor")) {
-                            multiFloor = data.getBoolean(preString + ".multiFloor");
-                        }
-                        Block startSign = world.getBlockAt(data.getInt(preString + ".x"), data.getInt(preString + ".y"), data.getInt(preString + ".z"));
+        if (!store.getFile().exists() && data.contains("protections")) {
+            store.importSection(data.getConfigurationSection("protections"));
+            data.set("protections", null);
+            plugin.getGlobalData().save();
+        }
+
+        for (ConfigurationSection section : store.load()) {
+            load(section);
+        }
+    }
+
+    /**
+     * Activates the protections in the chunk.
+     * This happens one tick later sothat protections may touch neighbouring chunks.
+     *
+     * @param chunk
+     * a chunk that has been loaded
+     */
+    public void activate(final Chunk chunk) {
+        Map<Long, Set<ProtectionRecord>> chunks = records.get(chunk.getWorld().getName());
+        if (chunks == null) {
+            return;
+        }
+
+        Set<ProtectionRecord> inChunk = chunks.get(ProtectionRecord.getChunkKey(chunk.getX(), chunk.getZ()));
+        if (inChunk == null || inChunk.isEmpty()) {
+            return;
+        }
 
-                        new GameSign(id, startSign, mapName, maxGames, maxGroupsPerGame, multiFloor);
+        final List<ProtectionRecord> toActivate = new ArrayList<>(inChunk);
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                if (!chunk.isLoaded()) {
+                    return;
+                }
+
+                for (ProtectionRecord record : toActivate) {
+                    if (!record.isActive()) {
+                        activate(record, chunk.getWorld());
                     }
+                }
+            }
+        }.runTask(plugin);
+    }
+
+    /**
+     * Deactivates the protections which are not in use and not located in any other loaded chunk.
+     *
+     * @param chunk
+     * a chunk that is being unloaded
+     */
+    public void deactivate(Chunk chunk) {
+        World world = chunk.getWorld();
+        Map<Long, Set<ProtectionRecord>> chunks = records.get(world.getName());
+        if (chunks == null) {
+            return;
+        }
+
+        long key = ProtectionRecord.getChunkKey(chunk.getX(), chunk.getZ());
+        Set<ProtectionRecord> inChunk = chunks.get(key);
+        if (inChunk == null) {
+            return;
+        }
 
-                } while (data.contains(preString));
+        next:
+        for (ProtectionRecord record : new ArrayList<>(inChunk)) {
+            GlobalProtection protection = record.getProtection();
+            if (protection == null || protection.isInUse()) {
+                continue;
             }
 
-            // GroupSigns
-            if (data.contains("protections.groupSigns." + world.getName())) {
-                int id = 0;
-                String preString;
+            for (long other : record.getChunks()) {
+                if (other != key && world.isChunkLoaded((int) (other >> 32), (int) other)) {
+                    continue next;
+                }
+            }
 
-                do {
-                    id++;
-                    preString = "protections.groupSigns." + world.getName() + "." + id + ".";
-                    if (data.contains(preString)) {
-                        String mapName = data.getString(preString + ".dungeon");
-                        int maxGroups = data.getInt(preString + ".maxGroups");
-                        int maxPlayersPerGroup = data.getInt(preString + ".maxPlayersPerGroup");
-                        boolean multiFloor = false;
-                        if (data.contains(preString + ".multiFloor")) {
-                            multiFloor = data.getBoolean(preString + ".multiFloor");
-                        }
-                        Block startSign = world.getBlockAt(data.getInt(preString + ".x"), data.getInt(preString + ".y"), data.getInt(preString + ".z"));
+            YamlConfiguration config = new YamlConfiguration();
+            protection.save(config);
+            ConfigurationSection data = config.getConfigurationSection("protections." + record.getType() + "." + record.getWorld() + "." + record.getId());
+            if (data != null) {
+                // The size of the sign rows may have been changed
+                for (long other : record.getChunks()) {
+                    chunks.get(other).remove(record);
+                }
+                record.setData(data);
+                index(record, chunks);
+            }
 
-                        new GroupSign(id, startSign, mapName, maxGroups, maxPlayersPerGroup, multiFloor);
-                    }
-                } while (data.contains(preString));
+            protections.remove(protection);
+            activeRecords.remove(protection);
+            store.unbind(protection);
+            record.setProtection(null);
+        }
+    }
+
+    private void index(ProtectionRecord record, Map<Long, Set<ProtectionRecord>> chunks) {
+        for (long chunk : record.getChunks()) {
+            Set<ProtectionRecord> inChunk = chunks.get(chunk);
+            if (inChunk == null) {
+                inChunk = new HashSet<>();
+                chunks.put(chunk, inChunk);
             }
+            inChunk.add(record);
+        }
+    }
 
-            if (data.contains("protections.leaveSigns." + world.getName())) {
+    private void activate(ProtectionRecord record, World world) {
+        GlobalProtection protection = load(record.getType(), world, record.getId(), record.getData());
+        if (protection != null) {
+            record.setProtection(protection);
+            activeRecords.put(protection, record);
+            store.bind(protection, record.getType());
+        }
+    }
 
-                int id = 0;
-                String preString;
+    /**
+     * Registers the protections as records that are activated when their chunk is loaded.
+     * Protections in chunks that are already loaded are activated immediately.
+     *
+     * @param section
+     * a section that contains protections in the format "type.world.id"
+     */
+    private void load(ConfigurationSection section) {
+        for (String type : section.getKeys(false)) {
+            ConfigurationSection typeSection = section.getConfigurationSection(type);
+            if (typeSection == null) {
+                continue;
+            }
 
-                do {
-                    id++;
-                    preString = "protections.leaveSigns." + world.getName() + "." + id + ".";
-                    if (data.contains(preString)) {
-                        Block block = world.getBlockAt(data.getInt(preString + ".x"), data.getInt(preString + ".y"), data.getInt(preString + ".z"));
-                        if (block.getState() instanceof Sign) {
-                            Sign sign = (Sign) block.getState();
-                            new LeaveSign(id, sign);
+            for (String worldName : typeSection.getKeys(false)) {
+                ConfigurationSection worldSection = typeSection.getConfigurationSection(worldName);
+                if (worldSection == null) {
+                    continue;
+                }
+
+                Map<Long, Set<ProtectionRecord>> chunks = records.get(worldName);
+                if (chunks == null) {
+                    chunks = new HashMap<>();
+                    records.put(worldName, chunks);
+                }
+                World world = plugin.getServer().getWorld(worldName);
+
+                for (String key : worldSection.getKeys(false)) {
+                    ConfigurationSection data = worldSection.getConfigurationSection(key);
+                    int id = NumberUtil.parseInt(key);
+                    if (data == null || id == 0) {
+                        continue;
+                    }
+
+                    ProtectionRecord record = new ProtectionRecord(type, worldName, id, data);
+                    index(record, chunks);
+                    boolean loaded = false;
+                    for (long chunk : record.getChunks()) {
+                        if (world != null && world.isChunkLoaded((int) (chunk >> 32), (int) chunk)) {
+                            loaded = true;
+                            break;
                         }
                     }
 
-                } while (data.contains(preString));
+                    if (loaded) {
+                        activate(record, world);
+                    }
+                }
             }
+        }
+    }
 
-            // DPortals
-            if (data.contains("protections.portals." + world.getName())) {
-                int id = 0;
-                String preString;
+    private GlobalProtection load(String type, World world, int id, ConfigurationSection data) {
+        switch (type) {
+            case "gameSigns": {
+                Block startSign = world.getBlockAt(data.getInt("x"), data.getInt("y"), data.getInt("z"));
+                return new GameSign(id, startSign, data.getString("dungeon"), data.getInt("maxGames"), data.getInt("maxGroupsPerGame"), data.getBoolean("multiFloor"));
+            }
 
-                do {
-                    id++;
-                    preString = "protections.portals." + world.getName() + "." + id + ".";
+            case "groupSigns": {
+                Block startSign = world.getBlockAt(data.getInt("x"), data.getInt("y"), data.getInt("z"));
+                return new GroupSign(id, startSign, data.getString("dungeon"), data.getInt("maxGroups"), data.getInt("maxPlayersPerGroup"), data.getBoolean("multiFloor"));
+            }
 
-                    if (data.contains(preString)) {
-                        Block block1 = world.getBlockAt(data.getInt(preString + "loc1.x"), data.getInt(preString + "loc1.y"), data.getInt(preString + "loc1.z"));
-                        Block block2 = world.getBlockAt(data.getInt(preString + "loc2.x"), data.getInt(preString + "loc2.y"), data.getInt(preString + "loc2.z"));
-                        DPortal dPortal = new DPortal(id, block1, block2, true);
-                        dPortal.create();
-                    }
+            case "leaveSigns": {
+                Block block = world.getBlockAt(data.getInt("x"), data.getInt("y"), data.getInt("z"));
+                if (block.getState() instanceof Sign) {
+                    return new LeaveSign(id, (Sign) block.getState());
+                }
+                return null;
+            }
 
-                } while (data.contains(preString));
+            case "portals": {
+                Block block1 = world.getBlockAt(data.getInt("loc1.x"), data.getInt("loc1.y"), data.getInt("loc1.z"));
+                Block block2 = world.getBlockAt(data.getInt("loc2.x"), data.getInt("loc2.y"), data.getInt("loc2.z"));
+                DPortal dPortal = new DPortal(id, block1, block2, true);
+                dPortal.create();
+                return dPortal;
             }
+
+            default:
+                return null;
         }
     }
 
@@ -225,6 +225,16 @@ public class GroupSign extends GlobalProtection {
         }
     }
 
+    @Override
+    public boolean isInUse() {
+        for (DGroup dGroup : dGroups) {
+            if (dGroup != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public Set<Block> getBlocks() {
         if (blocks == null) {
@@ -437,6 +447,7 @@ public class GroupSign extends GlobalProtection {
         }
 
         GroupSign sign = new GroupSign(protections.generateId(GroupSign.class, world), startSign, mapName, maxGroups, maxPlayersPerGroup, multiFloor);
+        sign.save();
 
         return sign;
     }
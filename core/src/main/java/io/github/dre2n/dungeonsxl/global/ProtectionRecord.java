@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.global;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * A stored protection that is activated when one of its chunks is loaded.
+ *
+ * @author Daniel Saukel
+ */
+public class ProtectionRecord {
+
+    private String type;
+    private String world;
+    private int id;
+    private ConfigurationSection data;
+    private long[] chunks;
+    private GlobalProtection protection;
+
+    public ProtectionRecord(String type, String world, int id, ConfigurationSection data) {
+        this.type = type;
+        this.world = world;
+        this.id = id;
+        setData(data);
+    }
+
+    /* Getters and setters */
+    /**
+     * @return the type key, e.g. "gameSigns"
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return the class of the protection that is created from this record
+     */
+    public Class<? extends GlobalProtection> getTypeClass() {
+        switch (type) {
+            case "gameSigns":
+                return GameSign.class;
+            case "groupSigns":
+                return GroupSign.class;
+            case "leaveSigns":
+                return LeaveSign.class;
+            case "portals":
+                return DPortal.class;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return the name of the world
+     */
+    public String getWorld() {
+        return world;
+    }
+
+    /**
+     * @return the ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return the stored data
+     */
+    public ConfigurationSection getData() {
+        return data;
+    }
+
+    /**
+     * @param data
+     * the stored data to set
+     */
+    public void setData(ConfigurationSection data) {
+        this.data = data;
+
+        if (data.contains("loc1")) {
+            int x1 = data.getInt("loc1.x") >> 4, z1 = data.getInt("loc1.z") >> 4;
+            int x2 = data.getInt("loc2.x") >> 4, z2 = data.getInt("loc2.z") >> 4;
+            int minX = Math.min(x1, x2), minZ = Math.min(z1, z2);
+            int maxX = Math.max(x1, x2), maxZ = Math.max(z1, z2);
+
+            chunks = new long[(maxX - minX + 1) * (maxZ - minZ + 1)];
+            int i = 0;
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    chunks[i++] = getChunkKey(x, z);
+                }
+            }
+
+        } else {
+            // Game and group signs are rows of signs that start at the saved sign. The direction of the row is only known
+            // from the sign block, so every chunk the row and the blocks the signs are attached to may reach is indexed.
+            int x = data.getInt("x"), z = data.getInt("z");
+            int reach = Math.max(data.getInt("maxGames"), data.getInt("maxGroups")) + 1;
+            Set<Long> keys = new LinkedHashSet<>();
+            for (int i = -reach; i <= reach; i++) {
+                for (int j = -1; j <= 1; j++) {
+                    keys.add(getChunkKey(x + i >> 4, z + j >> 4));
+                    keys.add(getChunkKey(x + j >> 4, z + i >> 4));
+                }
+            }
+
+            chunks = new long[keys.size()];
+            int i = 0;
+            for (long key : keys) {
+                chunks[i++] = key;
+            }
+        }
+    }
+
+    /**
+     * @return the keys of the chunks the blocks of the protection may be located in
+     */
+    public long[] getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return the protection if the record is active; null if not
+     */
+    public GlobalProtection getProtection() {
+        return protection;
+    }
+
+    /**
+     * @param protection
+     * the active protection or null
+     */
+    public void setProtection(GlobalProtection protection) {
+        this.protection = protection;
+    }
+
+    /**
+     * @return if the protection is active
+     */
+    public boolean isActive() {
+        return protection != null;
+    }
+
+    /* Statics */
+    /**
+     * @param x
+     * the chunk x coordinate
+     * @param z
+     * the chunk z coordinate
+     * @return a key that identifies the chunk
+     */
+    public static long getChunkKey(int x, int z) {
+        return (long) x << 32 | z & 0xFFFFFFFFL;
+    }
+
+}
@@ -96,7 +96,7 @@ public class BlockListener implements Listener {
         // DEditWorld Signs
         DEditWorld editWorld = DEditWorld.getByWorld(block.getWorld());
         if (editWorld != null) {
-            editWorld.getSigns().remove(event.getBlock());
+            editWorld.unregisterSign(block);
             return;
         }
 
@@ -207,7 +207,7 @@ public class BlockListener implements Listener {
             } else if (lines[1].equalsIgnoreCase("Leave")) {
                 if (block.getState() instanceof Sign) {
                     Sign sign = (Sign) block.getState();
-                    new LeaveSign(plugin.getGlobalProtections().generateId(LeaveSign.class, sign.getWorld()), sign);
+                    new LeaveSign(plugin.getGlobalProtections().generateId(LeaveSign.class, sign.getWorld()), sign).save();
                 }
 
                 event.setCancelled(true);
@@ -233,8 +233,7 @@ public class BlockListener implements Listener {
                 }
 
                 if (dsign.check()) {
-                    editWorld.registerSign(block);
-                    editWorld.getSigns().add(block);
+                    editWorld.registerSign(block, sign.getLines());
                     MessageUtil.sendMessage(player, plugin.getMessageConfig().getMessage(DMessages.PLAYER_SIGN_CREATED));
 
                 } else {
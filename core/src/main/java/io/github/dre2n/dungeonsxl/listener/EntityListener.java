@@ -23,11 +23,13 @@ import io.github.dre2n.dungeonsxl.player.DGamePlayer;
 import io.github.dre2n.dungeonsxl.player.DGroup;
 import io.github.dre2n.dungeonsxl.world.DEditWorld;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import io.github.dre2n.dungeonsxl.world.InstanceBudget;
 import java.util.List;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
@@ -35,6 +37,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
 import org.bukkit.event.entity.EntityCombustByEntityEvent;
 import org.bukkit.event.entity.EntityCombustEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
@@ -43,20 +46,49 @@ import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.event.entity.FoodLevelChangeEvent;
 import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.inventory.ItemStack;
 
 /**
  * @author Frank Baumann, Tobias Schmitz, Milan Albrecht, Daniel Saukel
  */
 public class EntityListener implements Listener {
 
-    // Remove drops from breaking Signs
+    // Remove drops from breaking Signs and merge drops in instances that are over budget
     @EventHandler(priority = EventPriority.HIGH)
     public void onItemSpawn(ItemSpawnEvent event) {
-        if (DGameWorld.getByWorld(event.getLocation().getWorld()) != null) {
-            if (event.getEntity().getItemStack().getType() == Material.SIGN) {
+        DGameWorld gameWorld = DGameWorld.getByWorld(event.getLocation().getWorld());
+        if (gameWorld == null) {
+            return;
+        }
+
+        ItemStack itemStack = event.getEntity().getItemStack();
+        if (itemStack.getType() == Material.SIGN) {
+            event.setCancelled(true);
+            return;
+        }
+
+        InstanceBudget budget = gameWorld.getBudget();
+        if (budget.canDropItem()) {
+            budget.addItem();
+            return;
+        }
+
+        // Merge the drop into a similar item nearby if the instance is over budget
+        for (Entity entity : event.getEntity().getNearbyEntities(2, 2, 2)) {
+            if (!(entity instanceof Item) || entity.isDead()) {
+                continue;
+            }
+
+            ItemStack nearby = ((Item) entity).getItemStack();
+            if (nearby.isSimilar(itemStack) && nearby.getAmount() + itemStack.getAmount() <= nearby.getMaxStackSize()) {
+                nearby.setAmount(nearby.getAmount() + itemStack.getAmount());
+                ((Item) entity).setItemStack(nearby);
                 event.setCancelled(true);
+                return;
             }
         }
+
+        budget.addItem();
     }
 
     @EventHandler(priority = EventPriority.HIGH)
@@ -73,6 +105,16 @@ public class EntityListener implements Listener {
                 case MOUNT:
                 case NATURAL:
                     event.setCancelled(true);
+                    return;
+            }
+        }
+
+        if (gameWorld != null) {
+            // Mob signs pause themselves; spawners, eggs and breeding are stopped here
+            if (event.getSpawnReason() != SpawnReason.CUSTOM && !gameWorld.getBudget().canSpawnMob()) {
+                event.setCancelled(true);
+            } else {
+                gameWorld.getBudget().addEntity();
             }
         }
     }
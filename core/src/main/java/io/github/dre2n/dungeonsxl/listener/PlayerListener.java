@@ -42,8 +42,10 @@ import io.github.dre2n.dungeonsxl.sign.OpenDoorSign;
 import io.github.dre2n.dungeonsxl.task.RespawnTask;
 import io.github.dre2n.dungeonsxl.trigger.InteractTrigger;
 import io.github.dre2n.dungeonsxl.trigger.UseItemTrigger;
+import io.github.dre2n.dungeonsxl.util.CommandWhitelist;
 import io.github.dre2n.dungeonsxl.world.DEditWorld;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import io.github.dre2n.dungeonsxl.world.InstanceFuture;
 import java.util.ArrayList;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -63,6 +65,7 @@ import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
@@ -82,6 +85,8 @@ import org.bukkit.inventory.meta.BookMeta;
  */
 public class PlayerListener implements Listener {
 
+    static final CommandWhitelist DEFAULT_COMMAND_WHITELIST = new CommandWhitelist(new ArrayList<String>());
+
     DungeonsXL plugin = DungeonsXL.getInstance();
     DPlayers dPlayers = plugin.getDPlayers();
 
@@ -200,6 +205,7 @@ public class PlayerListener implements Listener {
                                         dPortal.setBlock2(event.getClickedBlock());
                                         dPortal.setActive(true);
                                         dPortal.create();
+                                        dPortal.save();
                                         MessageUtil.sendMessage(player, DMessages.PLAYER_PORTAL_CREATED.getMessage());
                                     }
                                     event.setCancelled(true);
@@ -428,18 +434,17 @@ public class PlayerListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onChat(AsyncPlayerChatEvent event) {
-        Player player = event.getPlayer();
-        DGamePlayer dPlayer = DGamePlayer.getByPlayer(player);
-        if (dPlayer == null) {
-            return;
-        }
-
-        if (dPlayer.isInDungeonChat()) {
-            dPlayer.sendMessage(player.getDisplayName() + ": " + event.getMessage());
+        if (dPlayers.getChat().chat(event.getPlayer(), event.getMessage())) {
             event.setCancelled(true);
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+        DPermissions.invalidate(event.getPlayer());
+        dPlayers.getChat().update();
+    }
+
     @EventHandler(priority = EventPriority.HIGH)
     public void onQuit(PlayerQuitEvent event) {
         plugin.debug.start("PlayerListener#onQuit");
@@ -471,6 +476,8 @@ public class PlayerListener implements Listener {
         } else if (dPlayer instanceof DEditPlayer) {
             ((DEditPlayer) dPlayer).leave();
         }
+        dPlayers.getChat().update();
+        DPermissions.invalidate(player);
         plugin.debug.end("PlayerListener#onQuit", true);
     }
 
@@ -478,6 +485,7 @@ public class PlayerListener implements Listener {
     public void onJoin(PlayerJoinEvent event) {
         plugin.debug.start("PlayerListener#onJoin");
         Player player = event.getPlayer();
+        DPermissions.invalidate(player);
 
         new DGlobalPlayer(player);
 
@@ -547,8 +555,11 @@ public class PlayerListener implements Listener {
             }
 
             if (dGroup.getGameWorld() == null) {
-                dGroup.setGameWorld(plugin.getDWorlds().getResourceByName(DGroup.getByPlayer(player).getMapName()).instantiateAsGameWorld());// TO DO
-                dGroup.getGameWorld().setTutorial(true);
+                InstanceFuture<DGameWorld> future = plugin.getDWorlds().getResourceByName(DGroup.getByPlayer(player).getMapName()).instantiateAsGameWorldAsync();// TO DO
+                if (future != null) {
+                    dGroup.setGameWorld(future.getInstance());
+                    dGroup.getGameWorld().setTutorial(true);
+                }
             }
 
             if (dGroup.getGameWorld() == null) {
@@ -610,8 +621,7 @@ public class PlayerListener implements Listener {
         }
         DInstancePlayer dPlayer = (DInstancePlayer) dPlayers.getByPlayer(event.getPlayer());
 
-        String command = event.getMessage().toLowerCase();
-        ArrayList<String> commandWhitelist = new ArrayList<>();
+        CommandWhitelist commandWhitelist = DEFAULT_COMMAND_WHITELIST;
 
         Game game = Game.getByWorld(dPlayer.getWorld());
 
@@ -620,28 +630,17 @@ public class PlayerListener implements Listener {
                 return;
 
             } else {
-                commandWhitelist.addAll(plugin.getMainConfig().getEditCommandWhitelist());
+                commandWhitelist = plugin.getMainConfig().getCompiledEditCommandWhitelist();
             }
 
         } else if (game != null) {
             if (game.getRules() != null) {
-                commandWhitelist.addAll(game.getRules().getGameCommandWhitelist());
-            }
-        }
-
-        commandWhitelist.add("dungeonsxl");
-        commandWhitelist.add("dungeon");
-        commandWhitelist.add("dxl");
-
-        event.setCancelled(true);
-
-        for (String whitelistEntry : commandWhitelist) {
-            if (command.equals('/' + whitelistEntry.toLowerCase()) || command.startsWith('/' + whitelistEntry.toLowerCase() + ' ')) {
-                event.setCancelled(false);
+                commandWhitelist = game.getRules().getCompiledCommandWhitelist();
             }
         }
 
-        if (event.isCancelled()) {
+        if (!commandWhitelist.isWhitelisted(event.getMessage())) {
+            event.setCancelled(true);
             MessageUtil.sendMessage(event.getPlayer(), DMessages.ERROR_CMD.getMessage());
         }
     }
@@ -687,23 +686,25 @@ public class PlayerListener implements Listener {
     @EventHandler
     public void onInventoryClose(InventoryCloseEvent event) {
         Player player = (Player) event.getPlayer();
+        DLootInventory inventory = DLootInventory.getByPlayer(player);
 
-        for (DLootInventory inventory : plugin.getDLootInventories()) {
-            if (event.getView() != inventory.getInventoryView()) {
-                continue;
-            }
+        if (inventory == null || event.getView() != inventory.getInventoryView()) {
+            return;
+        }
 
-            if (System.currentTimeMillis() - inventory.getTime() <= 500) {
-                continue;
-            }
+        if (System.currentTimeMillis() - inventory.getTime() <= 500) {
+            return;
+        }
 
-            for (ItemStack istack : inventory.getInventory().getContents()) {
-                if (istack != null) {
-                    player.getWorld().dropItem(player.getLocation(), istack);
-                }
+        for (ItemStack istack : inventory.getInventory().getContents()) {
+            if (istack != null) {
+                player.getWorld().dropItem(player.getLocation(), istack);
             }
+        }
 
-            plugin.getDLootInventories().remove(inventory);
+        // The items that did not fit are shown in a follow-up inventory
+        if (!inventory.next()) {
+            inventory.remove();
         }
     }
 
@@ -711,7 +712,6 @@ public class PlayerListener implements Listener {
     @EventHandler
     public void onMove(PlayerMoveEvent event) {
         Player player = event.getPlayer();
-        DLootInventory inventory = DLootInventory.getByPlayer(player);
 
         DPortal dPortal = DPortal.getByLocation(player.getEyeLocation());
         //TODO: Fix chat spam
@@ -720,13 +720,15 @@ public class PlayerListener implements Listener {
             return;
         }
 
+        DLootInventory inventory = DLootInventory.getByPlayer(player);
         if (inventory == null) {
             return;
         }
 
-        if (player.getLocation().getBlock().getRelative(0, 1, 0).getType() != Material.PORTAL && player.getLocation().getBlock().getRelative(0, -1, 0).getType() != Material.PORTAL
-                && player.getLocation().getBlock().getRelative(1, 0, 0).getType() != Material.PORTAL && player.getLocation().getBlock().getRelative(-1, 0, 0).getType() != Material.PORTAL
-                && player.getLocation().getBlock().getRelative(0, 0, 1).getType() != Material.PORTAL && player.getLocation().getBlock().getRelative(0, 0, -1).getType() != Material.PORTAL) {
+        Block block = player.getLocation().getBlock();
+        if (block.getRelative(0, 1, 0).getType() != Material.PORTAL && block.getRelative(0, -1, 0).getType() != Material.PORTAL
+                && block.getRelative(1, 0, 0).getType() != Material.PORTAL && block.getRelative(-1, 0, 0).getType() != Material.PORTAL
+                && block.getRelative(0, 0, 1).getType() != Material.PORTAL && block.getRelative(0, 0, -1).getType() != Material.PORTAL) {
             inventory.setInventoryView(player.openInventory(inventory.getInventory()));
             inventory.setTime(System.currentTimeMillis());
         }
@@ -16,12 +16,14 @@
  */
 package io.github.dre2n.dungeonsxl.listener;
 
+import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.world.DEditWorld;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.weather.WeatherChangeEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.event.world.ChunkUnloadEvent;
 
 /**
@@ -29,6 +31,13 @@ import org.bukkit.event.world.ChunkUnloadEvent;
  */
 public class WorldListener implements Listener {
 
+    DungeonsXL plugin = DungeonsXL.getInstance();
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        plugin.getGlobalProtections().activate(event.getChunk());
+    }
+
     @EventHandler(priority = EventPriority.HIGH)
     public void onChunkUnload(ChunkUnloadEvent event) {
         DGameWorld gameWorld = DGameWorld.getByWorld(event.getWorld());
@@ -39,6 +48,11 @@ public class WorldListener implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onProtectedChunkUnload(ChunkUnloadEvent event) {
+        plugin.getGlobalProtections().deactivate(event.getChunk());
+    }
+
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onWeatherChange(WeatherChangeEvent event) {
         if (DEditWorld.getByWorld(event.getWorld()) != null) {
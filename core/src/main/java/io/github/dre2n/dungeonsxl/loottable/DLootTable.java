@@ -17,12 +17,14 @@
 package io.github.dre2n.dungeonsxl.loottable;
 
 import io.github.dre2n.caliburn.item.UniversalItemStack;
-import io.github.dre2n.commons.util.NumberUtil;
+import io.github.dre2n.dungeonsxl.util.StartupLoader;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
 
 /**
@@ -35,6 +37,9 @@ public class DLootTable {
         private String id;
         private ItemStack item;
         private double chance;
+        private int weight;
+        private int minAmount = -1;
+        private int maxAmount = -1;
 
         public Entry(String id, ItemStack item, double chance) {
             this.id = id;
@@ -71,6 +76,7 @@ public class DLootTable {
          */
         public void setLootItem(ItemStack item) {
             this.item = item;
+            compiled = false;
         }
 
         /**
@@ -86,19 +92,92 @@ public class DLootTable {
          */
         public void setLootChance(double chance) {
             this.chance = chance;
+            compiled = false;
+        }
+
+        /**
+         * @return the weight of the entry in the pool; 0 if the entry is rolled independently
+         */
+        public int getWeight() {
+            return weight;
+        }
+
+        /**
+         * @param weight
+         * the weight of the entry in the pool to set
+         */
+        public void setWeight(int weight) {
+            this.weight = weight;
+            compiled = false;
+        }
+
+        /**
+         * @return the minimum amount of the loot item; -1 if the amount of the item stack is used
+         */
+        public int getMinAmount() {
+            return minAmount;
+        }
+
+        /**
+         * @param minAmount
+         * the minimum amount of the loot item to set
+         */
+        public void setMinAmount(int minAmount) {
+            this.minAmount = minAmount;
+        }
+
+        /**
+         * @return the maximum amount of the loot item; -1 if the amount of the item stack is used
+         */
+        public int getMaxAmount() {
+            return maxAmount;
+        }
+
+        /**
+         * @param maxAmount
+         * the maximum amount of the loot item to set
+         */
+        public void setMaxAmount(int maxAmount) {
+            this.maxAmount = maxAmount;
+        }
+
+        /* Actions */
+        /**
+         * @param random
+         * the random number generator to use
+         * @return a copy of the loot item with a random amount between the minimum and the maximum amount
+         */
+        public ItemStack createLootItem(Random random) {
+            ItemStack loot = item.clone();
+            if (minAmount > 0 && maxAmount >= minAmount) {
+                loot.setAmount(minAmount == maxAmount ? minAmount : minAmount + random.nextInt(maxAmount - minAmount + 1));
+            }
+            return loot;
         }
 
     }
 
+    private static final Random RANDOM = new Random();
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
     private String name;
     private List<Entry> entries = new ArrayList<>();
+    private int rolls = 1;
+
+    /* Compiled from the entries when the loot is generated the first time after a change */
+    private boolean compiled;
+    private Entry[] guaranteed = NO_ENTRIES;
+    private Entry[] chanced = NO_ENTRIES;
+    private double[] chances = new double[0];
+    private Entry[] pool = NO_ENTRIES;
+    private int[] cumulativeWeights = new int[0];
 
     /**
      * @param file
      * the script file
      */
     public DLootTable(File file) {
-        this(file.getName().substring(0, file.getName().length() - 4), YamlConfiguration.loadConfiguration(file));
+        this(file.getName().substring(0, file.getName().length() - 4), StartupLoader.loadConfiguration(file));
     }
 
     /**
@@ -110,7 +189,14 @@ public class DLootTable {
     public DLootTable(String name, FileConfiguration config) {
         this.name = name;
 
-        for (String id : config.getKeys(true)) {
+        for (String id : config.getKeys(false)) {
+            if (id.equals("rolls")) {
+                rolls = config.getInt(id);
+                continue;
+            } else if (!config.isConfigurationSection(id)) {
+                continue;
+            }
+
             ItemStack item = null;
             Object itemObj = config.get(id + ".item");
             if (itemObj instanceof ItemStack) {
@@ -121,8 +207,26 @@ public class DLootTable {
                 item = UniversalItemStack.deserializeSimple((String) itemObj).toItemStack();
             }
 
-            double chance = config.getDouble(id + ".chance");
-            entries.add(new Entry(id, item, chance));
+            Entry entry = new Entry(id, item, config.getDouble(id + ".chance"));
+            entry.weight = config.getInt(id + ".weight");
+            entry.minAmount = config.getInt(id + ".minAmount", -1);
+            entry.maxAmount = config.getInt(id + ".maxAmount", entry.minAmount);
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * @param name
+     * the name of the loot table
+     * @param chances
+     * the loot items mapped to their chance in percent
+     */
+    public DLootTable(String name, Map<ItemStack, Integer> chances) {
+        this.name = name;
+
+        int i = 0;
+        for (Map.Entry<ItemStack, Integer> chance : chances.entrySet()) {
+            entries.add(new Entry(String.valueOf(i++), chance.getKey(), chance.getValue()));
         }
     }
 
@@ -147,6 +251,7 @@ public class DLootTable {
      */
     public void addEntry(Entry entry) {
         entries.add(entry);
+        compiled = false;
     }
 
     /**
@@ -155,21 +260,103 @@ public class DLootTable {
      */
     public void removeEntry(Entry entry) {
         entries.remove(entry);
+        compiled = false;
+    }
+
+    /**
+     * @return how many items are drawn from the weighted entries
+     */
+    public int getRolls() {
+        return rolls;
+    }
+
+    /**
+     * @param rolls
+     * how many items are drawn from the weighted entries
+     */
+    public void setRolls(int rolls) {
+        this.rolls = rolls;
     }
 
     /* Actions */
+    /**
+     * Sorts the entries into guaranteed ones, ones with an independent chance and weighted ones and sums up the weights
+     */
+    private void compile() {
+        List<Entry> guaranteed = new ArrayList<>();
+        List<Entry> chanced = new ArrayList<>();
+        List<Entry> pool = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.item == null) {
+                continue;
+            } else if (entry.weight > 0) {
+                pool.add(entry);
+            } else if (entry.chance >= 100) {
+                guaranteed.add(entry);
+            } else if (entry.chance > 0) {
+                chanced.add(entry);
+            }
+        }
+
+        this.guaranteed = guaranteed.toArray(NO_ENTRIES);
+        this.chanced = chanced.toArray(NO_ENTRIES);
+        chances = new double[this.chanced.length];
+        for (int i = 0; i < chances.length; i++) {
+            chances[i] = this.chanced[i].chance;
+        }
+
+        this.pool = pool.toArray(NO_ENTRIES);
+        cumulativeWeights = new int[this.pool.length];
+        int sum = 0;
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            sum += this.pool[i].weight;
+            cumulativeWeights[i] = sum;
+        }
+
+        compiled = true;
+    }
+
     /**
      * Adds loot to a list randomly based on the chance value
      *
      * @return a list of the loot
      */
     public List<ItemStack> generateLootList() {
-        List<ItemStack> lootList = new ArrayList<>();
-        for (Entry entry : entries) {
-            if (NumberUtil.generateRandomInt(0, 100) < entry.getLootChance()) {
-                lootList.add(entry.getLootItem());
+        return generateLootList(RANDOM);
+    }
+
+    /**
+     * Adds the guaranteed loot, the loot that hits its chance value and the loot drawn from the weighted entries to a list.
+     *
+     * @param random
+     * the random number generator to use
+     * @return a list of copies of the loot
+     */
+    public List<ItemStack> generateLootList(Random random) {
+        if (!compiled) {
+            compile();
+        }
+
+        List<ItemStack> lootList = new ArrayList<>(guaranteed.length + (pool.length > 0 ? rolls : 0) + 4);
+        for (Entry entry : guaranteed) {
+            lootList.add(entry.createLootItem(random));
+        }
+
+        for (int i = 0; i < chances.length; i++) {
+            if (random.nextDouble() * 100 < chances[i]) {
+                lootList.add(chanced[i].createLootItem(random));
             }
         }
+
+        if (pool.length > 0) {
+            int totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+            for (int i = 0; i < rolls; i++) {
+                // An exact hit of a cumulative weight belongs to the next entry
+                int index = Arrays.binarySearch(cumulativeWeights, random.nextInt(totalWeight));
+                lootList.add(pool[index >= 0 ? index + 1 : -index - 1].createLootItem(random));
+            }
+        }
+
         return lootList;
     }
 
@@ -22,13 +22,11 @@ import io.github.dre2n.dungeonsxl.game.Game;
 import io.github.dre2n.dungeonsxl.trigger.MobTrigger;
 import io.github.dre2n.dungeonsxl.trigger.WaveTrigger;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
-import java.util.Random;
 import java.util.Set;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.entity.EntityDeathEvent;
-import org.bukkit.inventory.ItemStack;
 
 /**
  * @author Frank Baumann, Milan Albrecht, Daniel Saukel
@@ -118,14 +116,7 @@ public class DMob {
         if (type != null) {
             event.getDrops().clear();
 
-            for (ItemStack itemStack : type.getDrops().keySet()) {
-                Random randomGenerator = new Random();
-                int random = randomGenerator.nextInt(100);
-
-                if (type.getDrops().get(itemStack) > random) {
-                    event.getDrops().add(itemStack);
-                }
-            }
+            event.getDrops().addAll(type.getDropTable().generateLootList(gameWorld.getRandom()));
 
             name = type.getName();
 
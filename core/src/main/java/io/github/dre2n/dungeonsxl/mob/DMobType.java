@@ -20,6 +20,8 @@ import io.github.dre2n.commons.util.EnumUtil;
 import io.github.dre2n.commons.util.NumberUtil;
 import io.github.dre2n.commons.util.messageutil.MessageUtil;
 import io.github.dre2n.dungeonsxl.config.DMessages;
+import io.github.dre2n.dungeonsxl.loottable.DLootTable;
+import io.github.dre2n.dungeonsxl.util.StartupLoader;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
 import java.io.File;
 import java.util.Arrays;
@@ -30,7 +32,6 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
@@ -57,6 +58,7 @@ public class DMobType {
     private ItemStack itemBoots;
 
     private Map<ItemStack, Integer> drops = new HashMap<>();
+    private DLootTable dropTable;
 
     /* Extra Values for different Mob Types */
     private boolean witherSkeleton = false;
@@ -67,7 +69,7 @@ public class DMobType {
      * the script file
      */
     public DMobType(File file) {
-        this(file.getName().substring(0, file.getName().length() - 4), YamlConfiguration.loadConfiguration(file));
+        this(file.getName().substring(0, file.getName().length() - 4), StartupLoader.loadConfiguration(file));
     }
 
     /**
@@ -313,7 +315,17 @@ public class DMobType {
     }
 
     /**
-     * @return the drops
+     * @return the drops compiled into a loot table
+     */
+    public DLootTable getDropTable() {
+        if (dropTable == null) {
+            dropTable = new DLootTable(name, drops);
+        }
+        return dropTable;
+    }
+
+    /**
+     * @return the drops; use {@link #setDrops(Map)} to apply changes to the drop table
      */
     public Map<ItemStack, Integer> getDrops() {
         return drops;
@@ -325,6 +337,7 @@ public class DMobType {
      */
     public void setDrops(Map<ItemStack, Integer> drops) {
         this.drops = drops;
+        dropTable = null;
     }
 
     /**
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.player;
+
+import io.github.dre2n.commons.util.messageutil.MessageUtil;
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+
+/**
+ * Routes the dungeon chat.
+ *
+ * The audiences are rebuilt on the main thread whenever a player joins or leaves an instance or toggles the dungeon
+ * chat or the chat spy mode. Chat messages only read the latest immutable snapshot, so they can be sent from the
+ * asynchronous chat thread.
+ *
+ * @author Daniel Saukel
+ */
+public class DChat {
+
+    DungeonsXL plugin = DungeonsXL.getInstance();
+
+    public static final String SPY_PREFIX = ChatColor.GREEN + "[Chatspy] " + ChatColor.WHITE;
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.<UUID, Channel>emptyMap(), Collections.<World, Channel>emptyMap());
+    private boolean updateScheduled;
+
+    /**
+     * Schedules a rebuild of the audiences for the next tick.
+     * Must be called from the main thread.
+     */
+    public void update() {
+        if (updateScheduled || !plugin.isEnabled()) {
+            return;
+        }
+
+        updateScheduled = true;
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                updateScheduled = false;
+                rebuild();
+            }
+        }.runTask(plugin);
+    }
+
+    /**
+     * Rebuilds the audiences immediately.
+     * Must be called from the main thread.
+     */
+    public void rebuild() {
+        Map<World, List<Player>> members = new HashMap<>();
+        List<DGamePlayer> senders = new ArrayList<>();
+        List<Player> spies = new ArrayList<>();
+
+        for (DGlobalPlayer dPlayer : plugin.getDPlayers().getDGlobalPlayers()) {
+            if (dPlayer.isInChatSpyMode()) {
+                spies.add(dPlayer.getPlayer());
+            }
+
+            if (!(dPlayer instanceof DGamePlayer) || dPlayer.getPlayer() == null) {
+                continue;
+            }
+
+            DGamePlayer dGamePlayer = (DGamePlayer) dPlayer;
+            World world = dGamePlayer.getWorld();
+            if (world == null) {
+                continue;
+            }
+
+            List<Player> worldMembers = members.get(world);
+            if (worldMembers == null) {
+                worldMembers = new ArrayList<>();
+                members.put(world, worldMembers);
+            }
+            worldMembers.add(dGamePlayer.getPlayer());
+
+            if (dGamePlayer.isInDungeonChat()) {
+                senders.add(dGamePlayer);
+            }
+        }
+
+        Map<World, Channel> channels = new HashMap<>();
+        for (Entry<World, List<Player>> entry : members.entrySet()) {
+            List<Player> worldSpies = new ArrayList<>();
+            for (Player spy : spies) {
+                if (spy.getWorld() != entry.getKey()) {
+                    worldSpies.add(spy);
+                }
+            }
+
+            channels.put(entry.getKey(), new Channel(entry.getValue(), worldSpies));
+        }
+
+        Map<UUID, Channel> senderChannels = new HashMap<>();
+        for (DGamePlayer sender : senders) {
+            senderChannels.put(sender.getPlayer().getUniqueId(), channels.get(sender.getWorld()));
+        }
+
+        snapshot = new Snapshot(senderChannels, channels);
+    }
+
+    /**
+     * @param player
+     * the player to check
+     * @return
+     * if the player's messages are sent to the dungeon chat
+     */
+    public boolean isInDungeonChat(Player player) {
+        return snapshot.senders.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Sends a chat message to the dungeon chat of the sender.
+     * Safe to call from the asynchronous chat thread.
+     *
+     * @param sender
+     * the player who sent the message
+     * @param message
+     * the message
+     * @return
+     * if the sender is in the dungeon chat and the message was sent
+     */
+    public boolean chat(Player sender, String message) {
+        Channel channel = snapshot.senders.get(sender.getUniqueId());
+        if (channel == null) {
+            return false;
+        }
+
+        channel.send(sender.getDisplayName() + ": " + message);
+        return true;
+    }
+
+    /**
+     * Sends a message to the players who spy the chat of an instance.
+     *
+     * @param world
+     * the instance
+     * @param message
+     * the message
+     */
+    public void sendToSpies(World world, String message) {
+        Channel channel = snapshot.channels.get(world);
+        if (channel != null) {
+            channel.sendToSpies(SPY_PREFIX + message);
+        }
+    }
+
+    private static class Snapshot {
+
+        private final Map<UUID, Channel> senders;
+        private final Map<World, Channel> channels;
+
+        private Snapshot(Map<UUID, Channel> senders, Map<World, Channel> channels) {
+            this.senders = senders;
+            this.channels = channels;
+        }
+
+    }
+
+    private static class Channel {
+
+        private final Player[] members;
+        private final Player[] spies;
+
+        private Channel(List<Player> members, List<Player> spies) {
+            this.members = members.toArray(new Player[members.size()]);
+            this.spies = spies.toArray(new Player[spies.size()]);
+        }
+
+        private void send(String message) {
+            for (Player member : members) {
+                MessageUtil.sendMessage(member, message);
+            }
+
+            sendToSpies(SPY_PREFIX + message);
+        }
+
+        private void sendToSpies(String spyMessage) {
+            for (Player spy : spies) {
+                MessageUtil.sendMessage(spy, spyMessage);
+            }
+        }
+
+    }
+
+}
@@ -21,11 +21,11 @@ import io.github.dre2n.commons.compatibility.CompatibilityHandler;
 import io.github.dre2n.commons.compatibility.Version;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.util.DeserializationUtil;
+import io.github.dre2n.dungeonsxl.util.StartupLoader;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
 
 /**
@@ -42,7 +42,7 @@ public class DClass {
     private boolean dog;
 
     public DClass(File file) {
-        this(file.getName().substring(0, file.getName().length() - 4), YamlConfiguration.loadConfiguration(file));
+        this(file.getName().substring(0, file.getName().length() - 4), StartupLoader.loadConfiguration(file));
     }
 
     public DClass(String name, FileConfiguration config) {
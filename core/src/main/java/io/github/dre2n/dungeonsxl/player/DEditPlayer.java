@@ -69,7 +69,7 @@ public class DEditPlayer extends DInstancePlayer {
      * the player's EditWorld
      */
     public static void create(Player player, DEditWorld editWorld) {
-        new CreateDInstancePlayerTask(player, editWorld).runTaskTimer(plugin, 0L, 5L);
+        new CreateDInstancePlayerTask(player, editWorld).start();
     }
 
     /* Getters and setters */
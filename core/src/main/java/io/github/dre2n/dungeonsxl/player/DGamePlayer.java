@@ -19,7 +19,6 @@ package io.github.dre2n.dungeonsxl.player;
 import io.github.dre2n.commons.util.NumberUtil;
 import io.github.dre2n.commons.util.messageutil.MessageUtil;
 import io.github.dre2n.commons.util.playerutil.PlayerUtil;
-import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.config.DMessages;
 import io.github.dre2n.dungeonsxl.config.DungeonConfig;
 import io.github.dre2n.dungeonsxl.event.dgroup.DGroupFinishDungeonEvent;
@@ -28,8 +27,10 @@ import io.github.dre2n.dungeonsxl.event.dplayer.DPlayerFinishEvent;
 import io.github.dre2n.dungeonsxl.event.dplayer.DPlayerKickEvent;
 import io.github.dre2n.dungeonsxl.event.dplayer.DPlayerUpdateEvent;
 import io.github.dre2n.dungeonsxl.event.requirement.RequirementCheckEvent;
+import io.github.dre2n.dungeonsxl.game.FinishedDungeonsRule;
 import io.github.dre2n.dungeonsxl.game.Game;
 import io.github.dre2n.dungeonsxl.game.GameRules;
+import io.github.dre2n.dungeonsxl.game.GameState;
 import io.github.dre2n.dungeonsxl.game.GameType;
 import io.github.dre2n.dungeonsxl.game.GameTypeDefault;
 import io.github.dre2n.dungeonsxl.mob.DMob;
@@ -39,10 +40,9 @@ import io.github.dre2n.dungeonsxl.task.CreateDInstancePlayerTask;
 import io.github.dre2n.dungeonsxl.trigger.DistanceTrigger;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
 import io.github.dre2n.dungeonsxl.world.DResourceWorld;
-import java.io.File;
+import io.github.dre2n.dungeonsxl.world.InstanceFuture;
 import java.util.ArrayList;
 import java.util.List;
-import org.bukkit.ChatColor;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -125,7 +125,7 @@ public class DGamePlayer extends DInstancePlayer {
      * if the player will be ready from the beginning
      */
     public static void create(Player player, DGameWorld gameWorld, boolean ready) {
-        new CreateDInstancePlayerTask(player, gameWorld, ready).runTaskTimer(plugin, 0L, 5L);
+        new CreateDInstancePlayerTask(player, gameWorld, ready).start();
     }
 
     /* Getters and setters */
@@ -177,6 +177,11 @@ public class DGamePlayer extends DInstancePlayer {
      */
     public void setReady(boolean ready) {
         this.ready = ready;
+
+        Game game = Game.getByPlayer(getPlayer());
+        if (game != null) {
+            game.setReady(getPlayer(), ready);
+        }
     }
 
     /**
@@ -501,54 +506,14 @@ public class DGamePlayer extends DInstancePlayer {
             }
         }
 
-        if (rules.getFinished() != null && rules.getFinishedAll() != null) {
-            if (!rules.getFinished().isEmpty()) {
-
-                long bestTime = 0;
-                int numOfNeeded = 0;
-                boolean doneTheOne = false;
-
-                if (rules.getFinished().size() == rules.getFinishedAll().size()) {
-                    doneTheOne = true;
-                }
-
-                for (String played : rules.getFinished()) {
-                    for (String dungeonName : DungeonsXL.MAPS.list()) {
-                        if (new File(DungeonsXL.MAPS, dungeonName).isDirectory()) {
-                            if (played.equalsIgnoreCase(dungeonName) || played.equalsIgnoreCase("any")) {
-
-                                Long time = getData().getTimeLastPlayed(dungeonName);
-                                if (time != -1) {
-                                    if (rules.getFinishedAll().contains(played)) {
-                                        numOfNeeded++;
-                                    } else {
-                                        doneTheOne = true;
-                                    }
-                                    if (bestTime < time) {
-                                        bestTime = time;
-                                    }
-                                }
-                                break;
-
-                            }
-                        }
-                    }
-                }
-
-                if (bestTime == 0) {
-                    return false;
-
-                } else if (rules.getTimeLastPlayed() != 0) {
-                    if (System.currentTimeMillis() - bestTime > rules.getTimeLastPlayed() * (long) 3600000) {
-                        return false;
-                    }
-                }
-
-                if (numOfNeeded < rules.getFinishedAll().size() || !doneTheOne) {
-                    return false;
-                }
+        FinishedDungeonsRule finishedRule = rules.getFinishedRule();
+        if (finishedRule == null) {
+            rules.compile(plugin.getDWorlds());
+            finishedRule = rules.getFinishedRule();
+        }
 
-            }
+        if (!finishedRule.check(getData(), rules.getTimeLastPlayed())) {
+            return false;
         }
 
         return true;
@@ -599,6 +564,7 @@ public class DGamePlayer extends DInstancePlayer {
         }
 
         ready = true;
+        game.setReady(getPlayer(), true);
 
         for (DGroup gameGroup : game.getDGroups()) {
             if (!gameGroup.isPlaying()) {
@@ -675,6 +641,10 @@ public class DGamePlayer extends DInstancePlayer {
 
         for (Player player : dGroup.getPlayers()) {
             DGamePlayer dPlayer = getByPlayer(player);
+            // The group may have finished and left while an earlier member finished
+            if (dPlayer == null) {
+                continue;
+            }
 
             if (invalid) {
                 dPlayer.finish(false);
@@ -705,26 +675,40 @@ public class DGamePlayer extends DInstancePlayer {
             return;
         }
          */
-        Game game = dGroup.getGameWorld().getGame();
+        final Game game = dGroup.getGameWorld().getGame();
+        final DGameWorld previousFloor = dGroup.getGameWorld();
 
         dGroup.removeUnplayedFloor(dGroup.getGameWorld().getResource(), false);
         dGroup.setMapName(newFloor.getName());
 
-        DGameWorld gameWorld = null;
-        if (newFloor != null) {
-            gameWorld = newFloor.instantiateAsGameWorld();
+        InstanceFuture<DGameWorld> future = newFloor.instantiateAsGameWorldAsync();
+        if (future == null) {
+            plugin.debug.end("DGamePlayer#finishFloor", true);
+            return;
         }
-        dGroup.setGameWorld(gameWorld);
+        dGroup.setGameWorld(future.getInstance());
 
-        for (Player player : dGroup.getPlayers()) {
-            DGamePlayer dPlayer = getByPlayer(player);
-            dPlayer.setWorld(gameWorld.getWorld());
-            dPlayer.setCheckpoint(dGroup.getGameWorld().getStartLocation(dGroup));
-            if (dPlayer.getWolf() != null) {
-                dPlayer.getWolf().teleport(dPlayer.getCheckpoint());
+        final DGroup group = dGroup;
+        future.thenRun(new InstanceFuture.Callback<DGameWorld>() {
+            @Override
+            public void call(DGameWorld gameWorld) {
+                for (Player player : group.getPlayers()) {
+                    DGamePlayer dPlayer = getByPlayer(player);
+                    if (dPlayer == null) {
+                        continue;
+                    }
+                    dPlayer.setWorld(gameWorld.getWorld());
+                    dPlayer.setCheckpoint(gameWorld.getStartLocation(group));
+                    if (dPlayer.getWolf() != null) {
+                        dPlayer.getWolf().teleport(dPlayer.getCheckpoint());
+                    }
+                }
+                group.startGame(game);
+
+                // The players have left the previous floor, so it is unloaded once it is empty
+                previousFloor.scheduleUnload();
             }
-        }
-        dGroup.startGame(game);
+        });
         plugin.debug.end("DGamePlayer#finishFloor", true);
     }
 
@@ -793,12 +777,18 @@ public class DGamePlayer extends DInstancePlayer {
             return;
         }
 
-        Game.getByDGroup(dGroup).resetWaveKills();
+        Game game = Game.getByDGroup(dGroup);
+        game.setState(GameState.FINISHING);
+        game.resetWaveKills();
 
         DGroupRewardEvent dGroupRewardEvent = new DGroupRewardEvent(dGroup);
         plugin.getServer().getPluginManager().callEvent(dGroupRewardEvent);
         for (Player player : dGroup.getPlayers()) {
             DGamePlayer dPlayer = getByPlayer(player);
+            // Leaving makes the remaining members finish the floor, so they may have left already
+            if (dPlayer == null) {
+                continue;
+            }
             dPlayer.leave(false);
 
             if (!dGroupRewardEvent.isCancelled()) {
@@ -813,14 +803,7 @@ public class DGamePlayer extends DInstancePlayer {
     public void sendMessage(String message) {
         DGameWorld gameWorld = DGameWorld.getByWorld(getWorld());
         gameWorld.sendMessage(message);
-
-        for (DGlobalPlayer player : plugin.getDPlayers().getDGlobalPlayers()) {
-            if (player.isInChatSpyMode()) {
-                if (!gameWorld.getWorld().getPlayers().contains(player.getPlayer())) {
-                    MessageUtil.sendMessage(player.getPlayer(), ChatColor.GREEN + "[Chatspy] " + ChatColor.WHITE + message);
-                }
-            }
-        }
+        plugin.getDPlayers().getChat().sendToSpies(getWorld(), message);
     }
 
     @Override
@@ -112,6 +112,7 @@ public class DGlobalPlayer {
      */
     public void setInChatSpyMode(boolean chatSpyMode) {
         this.chatSpyMode = chatSpyMode;
+        plugin.getDPlayers().getChat().update();
     }
 
     /**
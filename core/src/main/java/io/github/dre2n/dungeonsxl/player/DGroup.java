@@ -27,12 +27,12 @@ import io.github.dre2n.dungeonsxl.event.requirement.RequirementDemandEvent;
 import io.github.dre2n.dungeonsxl.event.reward.RewardAdditionEvent;
 import io.github.dre2n.dungeonsxl.game.Game;
 import io.github.dre2n.dungeonsxl.game.GameRules;
+import io.github.dre2n.dungeonsxl.game.GameState;
 import io.github.dre2n.dungeonsxl.game.GameType;
 import io.github.dre2n.dungeonsxl.game.GameTypeDefault;
 import io.github.dre2n.dungeonsxl.global.GroupSign;
 import io.github.dre2n.dungeonsxl.requirement.Requirement;
 import io.github.dre2n.dungeonsxl.reward.Reward;
-import io.github.dre2n.dungeonsxl.task.TimeIsRunningTask;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
 import io.github.dre2n.dungeonsxl.world.DResourceWorld;
 import java.util.ArrayList;
@@ -42,7 +42,6 @@ import java.util.List;
 import java.util.UUID;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 /**
  * @author Frank Baumann, Daniel Saukel
@@ -64,7 +63,6 @@ public class DGroup {
     private boolean playing;
     private int floorCount;
     private List<Reward> rewards = new ArrayList<>();
-    private BukkitTask timeIsRunningTask;
     private DResourceWorld nextFloor;
 
     public DGroup(Player player) {
@@ -516,21 +514,6 @@ public class DGroup {
         rewards.remove(reward);
     }
 
-    /**
-     * @return the "Time is Running" task of the game
-     */
-    public BukkitTask getTimeIsRunningTask() {
-        return timeIsRunningTask;
-    }
-
-    /**
-     * @param task
-     * the task to set
-     */
-    public void setTimeIsRunningTask(BukkitTask task) {
-        this.timeIsRunningTask = task;
-    }
-
     /**
      * @return whether there are players in the group
      */
@@ -573,9 +556,7 @@ public class DGroup {
             game.removeDGroup(this);
         }
 
-        if (timeIsRunningTask != null) {
-            timeIsRunningTask.cancel();
-        }
+        plugin.getTimeIsRunningTask().stop(this);
 
         GroupSign.updatePerGroup(this);
     }
@@ -592,22 +573,16 @@ public class DGroup {
                 continue;
             }
 
-            boolean ready = true;
             for (Player player : dGroup.getPlayers()) {
-                DGamePlayer dPlayer = DGamePlayer.getByPlayer(player);
-                if (dPlayer == null) {
-                    dPlayer = new DGamePlayer(player, gameWorld);
-                }
-
-                if (!dPlayer.isReady()) {
-                    ready = false;
+                if (DGamePlayer.getByPlayer(player) == null) {
+                    new DGamePlayer(player, gameWorld);
                 }
             }
+        }
 
-            if (!ready) {
-                plugin.debug.end("DGroup#startGame", true);
-                return;
-            }
+        if (!game.isReady()) {
+            plugin.debug.end("DGroup#startGame", true);
+            return;
         }
 
         DGroupStartFloorEvent event = new DGroupStartFloorEvent(this, gameWorld);
@@ -618,6 +593,7 @@ public class DGroup {
             return;
         }
 
+        game.setState(GameState.RUNNING);
         playing = true;
 
         if (gameWorld != null) {
@@ -662,13 +638,13 @@ public class DGroup {
             if (gameType == GameTypeDefault.DEFAULT) {
                 player.setGameMode(rules.getGameMode());
                 if (rules.isTimeIsRunning()) {
-                    timeIsRunningTask = new TimeIsRunningTask(this, rules.getTimeToFinish()).runTaskTimer(plugin, 20, 20);
+                    plugin.getTimeIsRunningTask().start(this, rules.getTimeToFinish());
                 }
 
             } else {
                 player.setGameMode(gameType.getGameMode());
                 if (gameType.getShowTime()) {
-                    timeIsRunningTask = new TimeIsRunningTask(this, rules.getTimeToFinish()).runTaskTimer(plugin, 20, 20);
+                    plugin.getTimeIsRunningTask().start(this, rules.getTimeToFinish());
                 }
             }
 
@@ -18,6 +18,7 @@ package io.github.dre2n.dungeonsxl.player;
 
 import io.github.dre2n.commons.compatibility.CompatibilityHandler;
 import io.github.dre2n.commons.compatibility.Version;
+import io.github.dre2n.dungeonsxl.world.DInstanceWorld;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.potion.PotionEffect;
@@ -76,6 +77,7 @@ public abstract class DInstancePlayer extends DGlobalPlayer {
      */
     public void setWorld(World instance) {
         world = instance;
+        plugin.getDPlayers().getChat().update();
     }
 
     /**
@@ -91,6 +93,7 @@ public abstract class DInstancePlayer extends DGlobalPlayer {
      */
     public void setInDungeonChat(boolean inDungeonChat) {
         this.inDungeonChat = inDungeonChat;
+        plugin.getDPlayers().getChat().update();
     }
 
     // Players in dungeons never get announcer messages
@@ -126,6 +129,12 @@ public abstract class DInstancePlayer extends DGlobalPlayer {
         } else {
             plugin.getDPlayers().removePlayer(this);
         }
+
+        // Empty instances are reclaimed as soon as the player has left
+        DInstanceWorld instance = plugin.getDWorlds().getInstanceByName(getWorld().getName());
+        if (instance != null) {
+            instance.scheduleUnload();
+        }
     }
 
     /* Abstracts */
@@ -16,12 +16,19 @@
  */
 package io.github.dre2n.dungeonsxl.player;
 
-import io.github.dre2n.commons.util.EnumUtil;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.bukkit.permissions.Permission;
 import org.bukkit.permissions.PermissionDefault;
 import static org.bukkit.permissions.PermissionDefault.*;
@@ -58,6 +65,10 @@ public enum DPermissions {
     MESSAGE("msg", OP),
     PLAY("play", OP),
     PORTAL("portal", OP),
+    /**
+     * Moves the groups of the player up in the instance queue.
+     */
+    QUEUE_PRIORITY("queuepriority", OP),
     RELOAD("reload", OP),
     SAVE("save", OP),
     STATUS("status", OP),
@@ -88,10 +99,36 @@ public enum DPermissions {
     FULL_PLAYER("fullplayer", OP, HALF_PLAYER, GROUP);
 
     public static final String PREFIX = "dxl.";
+    /**
+     * The time in milliseconds after which the cached permissions of a player are resolved again,
+     * as permission plugins do not announce when they recalculate the permissions of a player.
+     * Only denials are taken from the cache for nodes that are not granted to everyone by default, so that revoking
+     * such a node takes effect immediately. The cache is also resolved again when the OP status of the player changes.
+     */
+    public static final long CACHE_DURATION = 30000L;
+
+    private static final Map<String, DPermissions> BY_NAME = new HashMap<>();
+    private static final Map<String, DPermissions> BY_NODE = new HashMap<>();
+    private static final Map<UUID, CachedPermissions> CACHE = new ConcurrentHashMap<>();
+
+    static {
+        for (DPermissions permission : values()) {
+            BY_NAME.put(permission.name(), permission);
+            BY_NODE.put(permission.node, permission);
+            BY_NODE.put(permission.getNode(), permission);
+        }
+
+        for (DPermissions permission : values()) {
+            Set<DPermissions> parents = EnumSet.noneOf(DPermissions.class);
+            collectParents(permission, parents);
+            permission.parents = parents.toArray(new DPermissions[parents.size()]);
+        }
+    }
 
     private String node;
     private PermissionDefault isDefault;
     private List<DPermissions> children = new ArrayList<>();
+    private DPermissions[] parents;
 
     DPermissions(String node, PermissionDefault isDefault) {
         this.node = node;
@@ -131,6 +168,22 @@ public enum DPermissions {
         return children;
     }
 
+    /**
+     * @return the permissions that grant this permission, including the parents of the parents
+     */
+    public DPermissions[] getParents() {
+        return parents.clone();
+    }
+
+    /* Statics */
+    private static void collectParents(DPermissions permission, Set<DPermissions> parents) {
+        for (DPermissions parent : values()) {
+            if (parent.children.contains(permission) && parents.add(parent)) {
+                collectParents(parent, parents);
+            }
+        }
+    }
+
     /**
      * @param node
      * the node String, with or without "dxl."
@@ -138,13 +191,7 @@ public enum DPermissions {
      * the DPermissions value
      */
     public static DPermissions getByNode(String node) {
-        for (DPermissions permission : values()) {
-            if (permission.getNode().equals(node) || permission.node.equals(node)) {
-                return permission;
-            }
-        }
-
-        return null;
+        return BY_NODE.get(node);
     }
 
     /**
@@ -153,17 +200,23 @@ public enum DPermissions {
      * @return if the player has the permission
      */
     public static boolean hasPermission(CommandSender sender, DPermissions permission) {
-        if (sender.hasPermission(permission.getNode())) {
-            return true;
+        if (!(sender instanceof Player)) {
+            return resolve(sender, permission);
         }
 
-        for (DPermissions parent : DPermissions.values()) {
-            if (parent.getChildren().contains(permission) && sender.hasPermission(parent.getNode())) {
-                return true;
-            }
+        UUID uuid = ((Player) sender).getUniqueId();
+        CachedPermissions cached = CACHE.get(uuid);
+        if (cached == null || cached.op != sender.isOp() || System.currentTimeMillis() - cached.time > CACHE_DURATION) {
+            cached = new CachedPermissions(sender);
+            CACHE.put(uuid, cached);
         }
 
-        return false;
+        if (!cached.granted.get(permission.ordinal())) {
+            return false;
+        }
+
+        // Admin nodes are verified, as a revoked permission must not stay in effect until the cache expires
+        return permission.isDefault == TRUE || resolve(sender, permission);
     }
 
     /**
@@ -172,24 +225,24 @@ public enum DPermissions {
      * @return if the player has the permission
      */
     public static boolean hasPermission(CommandSender sender, String permission) {
-        if (sender.hasPermission(permission)) {
-            return true;
+        DPermissions dPermission = BY_NAME.get(permission);
+        if (dPermission == null) {
+            dPermission = BY_NODE.get(permission);
         }
-
-        DPermissions dPermission = null;
-        if (EnumUtil.isValidEnum(DPermissions.class, permission)) {
-            dPermission = DPermissions.valueOf(permission);
-
-        } else if (DPermissions.getByNode(permission) != null) {
-            dPermission = DPermissions.getByNode(permission);
+        if (dPermission == null) {
+            return sender.hasPermission(permission);
         }
 
-        if (dPermission == null) {
-            return false;
+        return hasPermission(sender, dPermission);
+    }
+
+    private static boolean resolve(CommandSender sender, DPermissions permission) {
+        if (sender.hasPermission(permission.getNode())) {
+            return true;
         }
 
-        for (DPermissions parent : DPermissions.values()) {
-            if (parent.getChildren().contains(dPermission) && sender.hasPermission(parent.getNode())) {
+        for (DPermissions parent : permission.parents) {
+            if (sender.hasPermission(parent.getNode())) {
                 return true;
             }
         }
@@ -197,13 +250,67 @@ public enum DPermissions {
         return false;
     }
 
+    /**
+     * Removes the cached permissions of the player, e.g. after they have been changed.
+     *
+     * @param player
+     * the player
+     */
+    public static void invalidate(Player player) {
+        CACHE.remove(player.getUniqueId());
+    }
+
+    /**
+     * Removes the cached permissions of all players.
+     */
+    public static void invalidateAll() {
+        CACHE.clear();
+    }
+
     /**
      * Registers the permissions.
      */
     public static void register() {
+        invalidateAll();
         for (DPermissions permission : values()) {
             Bukkit.getPluginManager().addPermission(new Permission(permission.getNode(), permission.isDefault()));
         }
     }
 
+    /**
+     * The permissions of a player, resolved at once.
+     */
+    private static final class CachedPermissions {
+
+        private BitSet granted = new BitSet(values().length);
+        private long time = System.currentTimeMillis();
+        private boolean op;
+
+        private CachedPermissions(CommandSender sender) {
+            op = sender.isOp();
+
+            BitSet direct = new BitSet(values().length);
+            for (DPermissions permission : values()) {
+                if (sender.hasPermission(permission.getNode())) {
+                    direct.set(permission.ordinal());
+                }
+            }
+
+            for (DPermissions permission : values()) {
+                if (direct.get(permission.ordinal())) {
+                    granted.set(permission.ordinal());
+                    continue;
+                }
+
+                for (DPermissions parent : permission.parents) {
+                    if (direct.get(parent.ordinal())) {
+                        granted.set(permission.ordinal());
+                        break;
+                    }
+                }
+            }
+        }
+
+    }
+
 }
@@ -29,6 +29,7 @@ public class DPlayers {
 
     private CopyOnWriteArrayList<DGlobalPlayer> dGlobalPlayers = new CopyOnWriteArrayList<>();
     private CopyOnWriteArrayList<DSavePlayer> dSavePlayers = new CopyOnWriteArrayList<>();
+    private DChat chat = new DChat();
 
     /**
      * @return the DGlobalPlayer which represents the player
@@ -43,6 +44,13 @@ public class DPlayers {
         return null;
     }
 
+    /**
+     * @return the dungeon chat
+     */
+    public DChat getChat() {
+        return chat;
+    }
+
     /**
      * @return the dGlobalPlayers
      */
@@ -101,6 +109,7 @@ public class DPlayers {
         }
 
         dGlobalPlayers.add(player);
+        chat.update();
     }
 
     /**
@@ -109,6 +118,7 @@ public class DPlayers {
      */
     public void removePlayer(DGlobalPlayer player) {
         dGlobalPlayers.remove(player);
+        chat.update();
     }
 
     /**
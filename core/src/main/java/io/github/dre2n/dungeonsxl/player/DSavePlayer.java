@@ -22,7 +22,6 @@ import io.github.dre2n.commons.util.EnumUtil;
 import io.github.dre2n.commons.util.playerutil.PlayerUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -349,16 +348,12 @@ public class DSavePlayer {
             configFile.set(savePlayer.name + ".oldPotionEffects", savePlayer.oldPotionEffects);
         }
 
-        try {
-            configFile.save(new File(plugin.getDataFolder(), "savePlayers.yml"));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        plugin.getIOExecutor().write(new File(plugin.getDataFolder(), "savePlayers.yml"), configFile.saveToString());
     }
 
     @Deprecated
     public static void load() {
-        FileConfiguration configFile = YamlConfiguration.loadConfiguration(new File(plugin.getDataFolder(), "savePlayers.yml"));
+        FileConfiguration configFile = plugin.getIOExecutor().loadConfiguration(new File(plugin.getDataFolder(), "savePlayers.yml"));
 
         for (String name : configFile.getKeys(false)) {
             // Load uuid
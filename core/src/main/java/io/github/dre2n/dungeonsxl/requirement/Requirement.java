@@ -19,8 +19,7 @@ package io.github.dre2n.dungeonsxl.requirement;
 import io.github.dre2n.commons.util.messageutil.MessageUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.event.requirement.RequirementRegistrationEvent;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
@@ -35,10 +34,12 @@ public abstract class Requirement {
         Requirement requirement = null;
 
         try {
-            Constructor<? extends Requirement> constructor = type.getHandler().getConstructor();
-            requirement = constructor.newInstance();
+            // The types are not loaded yet while the main config is loaded for the first time
+            RequirementTypes types = DungeonsXL.getInstance().getRequirementTypes();
+            MethodHandle handler = types != null ? types.getHandler(type) : RequirementTypes.createHandler(type);
+            requirement = (Requirement) handler.invoke();
 
-        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException exception) {
+        } catch (Throwable exception) {
             MessageUtil.log("An error occurred while accessing the handler class of the requirement " + type.getIdentifier() + ": " + exception.getClass().getSimpleName());
             if (!(type instanceof RequirementTypeDefault)) {
                 MessageUtil.log("Please note that this requirement is an unsupported feature added by an addon!");
@@ -16,9 +16,14 @@
  */
 package io.github.dre2n.dungeonsxl.requirement;
 
+import io.github.dre2n.commons.util.messageutil.MessageUtil;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Daniel Saukel
@@ -26,9 +31,13 @@ import java.util.List;
 public class RequirementTypes {
 
     private List<RequirementType> types = new ArrayList<>();
+    private Map<String, RequirementType> byIdentifier = new HashMap<>();
+    private Map<RequirementType, MethodHandle> handlers = new HashMap<>();
 
     public RequirementTypes() {
-        types.addAll(Arrays.asList(RequirementTypeDefault.values()));
+        for (RequirementType type : RequirementTypeDefault.values()) {
+            addRequirement(type);
+        }
     }
 
     /**
@@ -36,13 +45,37 @@ public class RequirementTypes {
      * the requirement type which has the identifier
      */
     public RequirementType getByIdentifier(String identifier) {
-        for (RequirementType type : types) {
-            if (type.getIdentifier().equals(identifier)) {
-                return type;
-            }
+        return byIdentifier.get(identifier);
+    }
+
+    /**
+     * @param type
+     * the requirement type
+     * @return
+     * a handle of the no-args constructor of the handler class, resolved once per type
+     * @throws ReflectiveOperationException
+     * if the handler class does not provide a public no-args constructor
+     */
+    public MethodHandle getHandler(RequirementType type) throws ReflectiveOperationException {
+        MethodHandle handler = handlers.get(type);
+        if (handler == null) {
+            handler = createHandler(type);
+            handlers.put(type, handler);
         }
 
-        return null;
+        return handler;
+    }
+
+    /**
+     * @param type
+     * the requirement type
+     * @return
+     * a new handle of the no-args constructor of the handler class
+     * @throws ReflectiveOperationException
+     * if the handler class does not provide a public no-args constructor
+     */
+    public static MethodHandle createHandler(RequirementType type) throws ReflectiveOperationException {
+        return MethodHandles.publicLookup().findConstructor(type.getHandler(), MethodType.methodType(void.class));
     }
 
     /**
@@ -59,6 +92,15 @@ public class RequirementTypes {
      */
     public void addRequirement(RequirementType type) {
         types.add(type);
+        if (!byIdentifier.containsKey(type.getIdentifier())) {
+            byIdentifier.put(type.getIdentifier(), type);
+        }
+
+        try {
+            getHandler(type);
+        } catch (ReflectiveOperationException exception) {
+            MessageUtil.log("An error occurred while accessing the handler class of the requirement " + type.getIdentifier() + ": " + exception.getClass().getSimpleName());
+        }
     }
 
     /**
@@ -67,6 +109,14 @@ public class RequirementTypes {
      */
     public void removeRequirement(RequirementType type) {
         types.remove(type);
+        handlers.remove(type);
+
+        byIdentifier.clear();
+        for (RequirementType remaining : types) {
+            if (!byIdentifier.containsKey(remaining.getIdentifier())) {
+                byIdentifier.put(remaining.getIdentifier(), remaining);
+            }
+        }
     }
 
 }
@@ -18,6 +18,8 @@ package io.github.dre2n.dungeonsxl.reward;
 
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.config.DMessages;
+import java.util.ArrayList;
+import java.util.List;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
@@ -35,17 +37,14 @@ public class DLootInventory {
     private Inventory inventory;
     private InventoryView inventoryView;
     private Player player;
+    private List<ItemStack> leftovers = new ArrayList<>();
 
     public DLootInventory(Player player, ItemStack[] itemStacks) {
-        plugin.getDLootInventories().add(this);
+        plugin.getDLootInventoryMap().put(player.getUniqueId(), this);
 
-        inventory = Bukkit.createInventory(player, 54, ChatColor.translateAlternateColorCodes('&', plugin.getMessageConfig().getMessage(DMessages.PLAYER_TREASURES)));
-        for (ItemStack itemStack : itemStacks) {
-            if (itemStack != null) {
-                inventory.addItem(itemStack);
-            }
-        }
         this.player = player;
+        inventory = createInventory();
+        addItems(itemStacks);
     }
 
     /* Getters and setters */
@@ -111,19 +110,80 @@ public class DLootInventory {
         this.time = time;
     }
 
+    /**
+     * @return the items that did not fit into the inventory and are shown in the next one
+     */
+    public List<ItemStack> getLeftovers() {
+        return leftovers;
+    }
+
+    /* Actions */
+    /**
+     * @param itemStacks
+     * the items to add to the inventory; the items that do not fit are kept as leftovers
+     */
+    public void addItems(ItemStack[] itemStacks) {
+        for (ItemStack itemStack : itemStacks) {
+            if (itemStack != null) {
+                leftovers.addAll(inventory.addItem(itemStack).values());
+            }
+        }
+    }
+
+    /**
+     * Replaces the inventory with a new one that contains the leftovers.
+     *
+     * @return
+     * false if there are no leftovers
+     */
+    public boolean next() {
+        if (leftovers.isEmpty()) {
+            return false;
+        }
+
+        ItemStack[] itemStacks = leftovers.toArray(new ItemStack[leftovers.size()]);
+        leftovers.clear();
+        inventory = createInventory();
+        inventoryView = null;
+        addItems(itemStacks);
+        return true;
+    }
+
+    /**
+     * Removes the inventory from the pending loot inventories
+     */
+    public void remove() {
+        plugin.getDLootInventoryMap().remove(player.getUniqueId());
+    }
+
+    private Inventory createInventory() {
+        return Bukkit.createInventory(player, 54, ChatColor.translateAlternateColorCodes('&', plugin.getMessageConfig().getMessage(DMessages.PLAYER_TREASURES)));
+    }
+
     /* Statics */
     /**
      * @param player
      * the player whose DLootIntentory will be returned
      */
     public static DLootInventory getByPlayer(Player player) {
-        for (DLootInventory inventory : plugin.getDLootInventories()) {
-            if (inventory.player == player) {
-                return inventory;
-            }
-        }
+        return plugin.getDLootInventoryMap().get(player.getUniqueId());
+    }
 
-        return null;
+    /**
+     * Adds the items to the pending loot inventory of the player or creates a new one if the player has none
+     *
+     * @param player
+     * the player who receives the items
+     * @param itemStacks
+     * the items to add
+     */
+    public static void give(Player player, ItemStack[] itemStacks) {
+        DLootInventory inventory = getByPlayer(player);
+        if (inventory != null) {
+            inventory.addItems(itemStacks);
+        } else {
+            new DLootInventory(player, itemStacks);
+        }
     }
 
 }
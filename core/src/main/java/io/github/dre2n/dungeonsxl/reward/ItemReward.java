@@ -71,7 +71,7 @@ public class ItemReward extends Reward {
     /* Actions */
     @Override
     public void giveTo(Player player) {
-        new DLootInventory(player, getItems());
+        DLootInventory.give(player, getItems());
     }
 
 }
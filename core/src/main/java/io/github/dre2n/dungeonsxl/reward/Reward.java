@@ -19,8 +19,7 @@ package io.github.dre2n.dungeonsxl.reward;
 import io.github.dre2n.commons.util.messageutil.MessageUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.event.reward.RewardRegistrationEvent;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
@@ -35,10 +34,12 @@ public abstract class Reward {
         Reward reward = null;
 
         try {
-            Constructor<? extends Reward> constructor = type.getHandler().getConstructor();
-            reward = constructor.newInstance();
+            // The types are not loaded yet while the main config is loaded for the first time
+            RewardTypes types = DungeonsXL.getInstance().getRewardTypes();
+            MethodHandle handler = types != null ? types.getHandler(type) : RewardTypes.createHandler(type);
+            reward = (Reward) handler.invoke();
 
-        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException exception) {
+        } catch (Throwable exception) {
             MessageUtil.log("An error occurred while accessing the handler class of the reward " + type.getIdentifier() + ": " + exception.getClass().getSimpleName());
             if (!(type instanceof RewardTypeDefault)) {
                 MessageUtil.log("Please note that this reward is an unsupported feature added by an addon!");
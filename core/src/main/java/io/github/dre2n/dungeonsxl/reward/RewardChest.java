@@ -30,6 +30,7 @@ import org.bukkit.block.Block;
 import org.bukkit.block.Chest;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
 
 /**
  * @author Frank Baumann, Daniel Saukel
@@ -45,6 +46,7 @@ public class RewardChest {
     private double moneyReward;
     private int levelReward;
     private ItemStack[] itemReward;
+    private String itemRewardMessage;
 
     public RewardChest(Block chest, DGameWorld gameWorld, double moneyReward, int levelReward, ItemStack[] itemReward) {
         if (!(chest.getState() instanceof Chest)) {
@@ -194,60 +196,77 @@ public class RewardChest {
             dGroup.addReward(reward);
         }
 
+        // Build the messages once for the whole group
+        String itemMessage = itemReward != null ? DMessages.PLAYER_LOOT_ADDED.getMessage(getItemRewardMessage()) : null;
+        String moneyMessage = moneyReward != 0 && plugin.getEconomyProvider() != null ? DMessages.PLAYER_LOOT_ADDED.getMessage(plugin.getEconomyProvider().format(moneyReward)) : null;
+        String levelMessage = levelReward != 0 ? DMessages.PLAYER_LOOT_ADDED.getMessage(levelReward + " levels") : null;
+
         for (Player player : dGroup.getPlayers()) {
             DGamePlayer dPlayer = DGamePlayer.getByPlayer(player);
             if (dPlayer == null) {
                 continue;
             }
 
-            if (itemReward != null) {
-                String msg = "";
-                for (ItemStack itemStack : itemReward) {
+            if (itemMessage != null) {
+                MessageUtil.sendMessage(player, itemMessage);
+            }
 
-                    if (itemStack == null) {
-                        continue;
-                    }
+            if (moneyMessage != null) {
+                MessageUtil.sendMessage(player, moneyMessage);
+            }
 
-                    String name = null;
+            if (levelMessage != null) {
+                MessageUtil.sendMessage(player, levelMessage);
+            }
+        }
+    }
 
-                    if (itemStack.hasItemMeta()) {
-                        if (itemStack.getItemMeta().hasDisplayName()) {
-                            name = itemStack.getItemMeta().getDisplayName();
-                        }
-                    }
+    /**
+     * @return the amounts and names of the reward items, resolved once per chest
+     */
+    private String getItemRewardMessage() {
+        if (itemRewardMessage != null) {
+            return itemRewardMessage;
+        }
 
-                    if (name == null) {
-                        if (Bukkit.getPluginManager().getPlugin("Vault") != null) {
-                            ItemInfo itemInfo = Items.itemByStack(itemStack);
-                            if (itemInfo != null) {
-                                name = itemInfo.getName();
-                            } else {
-                                name = itemStack.getType().name();
-                            }
-
-                        } else {
-                            name = itemStack.getType().toString();
-                        }
-                    }
+        boolean vault = Bukkit.getPluginManager().getPlugin("Vault") != null;
+        StringBuilder msg = new StringBuilder();
+        for (ItemStack itemStack : itemReward) {
+            if (itemStack == null) {
+                continue;
+            }
 
-                    msg += ChatColor.RED + " " + itemStack.getAmount() + " " + name + ChatColor.GOLD + ",";
-                }
+            String name = null;
 
-                if (msg.length() >= 1) {
-                    msg = msg.substring(0, msg.length() - 1);
+            if (itemStack.hasItemMeta()) {
+                ItemMeta meta = itemStack.getItemMeta();
+                if (meta.hasDisplayName()) {
+                    name = meta.getDisplayName();
                 }
-
-                MessageUtil.sendMessage(player, DMessages.PLAYER_LOOT_ADDED.getMessage(msg));
             }
 
-            if (moneyReward != 0 && plugin.getEconomyProvider() != null) {
-                MessageUtil.sendMessage(player, DMessages.PLAYER_LOOT_ADDED.getMessage(plugin.getEconomyProvider().format(moneyReward)));
+            if (name == null) {
+                if (vault) {
+                    ItemInfo itemInfo = Items.itemByStack(itemStack);
+                    if (itemInfo != null) {
+                        name = itemInfo.getName();
+                    } else {
+                        name = itemStack.getType().name();
+                    }
+
+                } else {
+                    name = itemStack.getType().toString();
+                }
             }
 
-            if (levelReward != 0) {
-                MessageUtil.sendMessage(player, DMessages.PLAYER_LOOT_ADDED.getMessage(levelReward + " levels"));
+            if (msg.length() != 0) {
+                msg.append(',');
             }
+            msg.append(ChatColor.RED).append(' ').append(itemStack.getAmount()).append(' ').append(name).append(ChatColor.GOLD);
         }
+
+        itemRewardMessage = msg.toString();
+        return itemRewardMessage;
     }
 
 }
@@ -16,9 +16,14 @@
  */
 package io.github.dre2n.dungeonsxl.reward;
 
+import io.github.dre2n.commons.util.messageutil.MessageUtil;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Daniel Saukel
@@ -26,22 +31,50 @@ import java.util.List;
 public class RewardTypes {
 
     private List<RewardType> types = new ArrayList<>();
+    private Map<String, RewardType> byIdentifier = new HashMap<>();
+    private Map<RewardType, MethodHandle> handlers = new HashMap<>();
 
     public RewardTypes() {
-        types.addAll(Arrays.asList(RewardTypeDefault.values()));
+        for (RewardType type : RewardTypeDefault.values()) {
+            addReward(type);
+        }
     }
 
     /**
      * @return the reward type which has the identifier
      */
     public RewardType getByIdentifier(String identifier) {
-        for (RewardType type : types) {
-            if (type.getIdentifier().equals(identifier)) {
-                return type;
-            }
+        return byIdentifier.get(identifier);
+    }
+
+    /**
+     * @param type
+     * the reward type
+     * @return
+     * a handle of the no-args constructor of the handler class, resolved once per type
+     * @throws ReflectiveOperationException
+     * if the handler class does not provide a public no-args constructor
+     */
+    public MethodHandle getHandler(RewardType type) throws ReflectiveOperationException {
+        MethodHandle handler = handlers.get(type);
+        if (handler == null) {
+            handler = createHandler(type);
+            handlers.put(type, handler);
         }
 
-        return null;
+        return handler;
+    }
+
+    /**
+     * @param type
+     * the reward type
+     * @return
+     * a new handle of the no-args constructor of the handler class
+     * @throws ReflectiveOperationException
+     * if the handler class does not provide a public no-args constructor
+     */
+    public static MethodHandle createHandler(RewardType type) throws ReflectiveOperationException {
+        return MethodHandles.publicLookup().findConstructor(type.getHandler(), MethodType.methodType(void.class));
     }
 
     /**
@@ -57,6 +90,15 @@ public class RewardTypes {
      */
     public void addReward(RewardType type) {
         types.add(type);
+        if (!byIdentifier.containsKey(type.getIdentifier())) {
+            byIdentifier.put(type.getIdentifier(), type);
+        }
+
+        try {
+            getHandler(type);
+        } catch (ReflectiveOperationException exception) {
+            MessageUtil.log("An error occurred while accessing the handler class of the reward " + type.getIdentifier() + ": " + exception.getClass().getSimpleName());
+        }
     }
 
     /**
@@ -65,6 +107,14 @@ public class RewardTypes {
      */
     public void removeReward(RewardType type) {
         types.remove(type);
+        handlers.remove(type);
+
+        byIdentifier.clear();
+        for (RewardType remaining : types) {
+            if (!byIdentifier.containsKey(remaining.getIdentifier())) {
+                byIdentifier.put(remaining.getIdentifier(), remaining);
+            }
+        }
     }
 
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.sign;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
+
+/**
+ * Stands in for a sign that has been removed from the game template of a map.
+ * The lines are kept in memory and all other calls are delegated to the state of the block at the position of the sign.
+ *
+ * @author Daniel Saukel
+ */
+public class BakedSign implements InvocationHandler {
+
+    private Block block;
+    private String[] lines;
+    private BlockState state;
+
+    private BakedSign(Block block, String[] lines) {
+        this.block = block;
+        this.lines = lines;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "getLines":
+                return lines;
+            case "getLine":
+                return lines[(Integer) args[0]];
+            case "setLine":
+                lines[(Integer) args[0]] = (String) args[1];
+                return null;
+            case "update":
+                // There is no sign block to update
+                return true;
+            case "getBlock":
+                return block;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return getClass().getSimpleName() + "{block=" + block + "; lines=" + Arrays.toString(lines) + "}";
+        }
+
+        if (state == null) {
+            state = block.getState();
+        }
+
+        try {
+            return method.invoke(state, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /* Statics */
+    /**
+     * @param block
+     * the block at the position of the removed sign
+     * @param lines
+     * the lines of the removed sign
+     * @return a Sign that represents the removed sign
+     */
+    public static Sign create(Block block, String[] lines) {
+        return (Sign) Proxy.newProxyInstance(Sign.class.getClassLoader(), new Class<?>[]{Sign.class}, new BakedSign(block, lines));
+    }
+
+}
@@ -177,7 +177,7 @@ public class ChestSign extends DSign {
             ItemStack[] itemReward = chestContent;
             if (lootTable != null) {
                 List<ItemStack> list = new LinkedList<>(Arrays.asList(chestContent));
-                list.addAll(lootTable.generateLootList());
+                list.addAll(lootTable.generateLootList(getGameWorld().getRandom()));
                 itemReward = list.toArray(new ItemStack[list.size()]);
             }
 
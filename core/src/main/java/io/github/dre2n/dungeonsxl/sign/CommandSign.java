@@ -69,12 +69,15 @@ public class CommandSign extends DSign {
 
     @Override
     public void onInit() {
-        String[] attributes = lines[2].split(",");
+        // The arguments are parsed only once per map
+        SignBlueprint blueprint = getBlueprint();
+        String[] attributes = blueprint.getArguments(2);
 
         command = lines[1];
         delay = NumberUtil.parseInt(attributes[0]);
         executor = attributes[1];
 
+        // Resolved per instance, as the commands are replaced when CommandsXL is reloaded
         cCommand = CommandsXL.getPlugin().getCCommands().getCCommand(command);
 
         if (!getTriggers().isEmpty()) {
@@ -23,8 +23,6 @@ import io.github.dre2n.dungeonsxl.event.dsign.DSignRegistrationEvent;
 import io.github.dre2n.dungeonsxl.game.Game;
 import io.github.dre2n.dungeonsxl.trigger.Trigger;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.HashSet;
 import java.util.Set;
 import org.bukkit.ChatColor;
@@ -46,6 +44,7 @@ public abstract class DSign {
     private Sign sign;
     protected String[] lines;
     private DGameWorld gameWorld;
+    private SignBlueprint blueprint;
 
     // List of Triggers
     private Set<Trigger> triggers = new HashSet<>();
@@ -60,21 +59,8 @@ public abstract class DSign {
             return;
         }
 
-        String line3 = lines[3].replaceAll("\\s", "");
-        String[] triggerTypes = line3.split(",");
-
-        for (String triggerString : triggerTypes) {
-            if (triggerString.isEmpty()) {
-                continue;
-            }
-
-            String type = triggerString.substring(0, 1);
-            String value = null;
-            if (triggerString.length() > 1) {
-                value = triggerString.substring(1);
-            }
-
-            Trigger trigger = Trigger.getOrCreate(type, value, this);
+        for (String[] triggerString : SignBlueprint.parseTriggers(lines[3])) {
+            Trigger trigger = Trigger.getOrCreate(triggerString[0], triggerString[1], this);
             if (trigger != null) {
                 trigger.addListener(this);
                 addTrigger(trigger);
@@ -113,6 +99,16 @@ public abstract class DSign {
         this.lines = lines;
     }
 
+    /**
+     * @return the blueprint that is shared by the signs at the same position in all instances of the map
+     */
+    public SignBlueprint getBlueprint() {
+        if (blueprint == null) {
+            blueprint = new SignBlueprint(sign.getX(), sign.getY(), sign.getZ(), lines, getType());
+        }
+        return blueprint;
+    }
+
     /**
      * @return the gameWorld
      */
@@ -213,18 +209,30 @@ public abstract class DSign {
     }
 
     public static DSign create(Sign sign, String[] lines, DGameWorld gameWorld) {
-        DSign dSign = null;
+        return create(sign, lines, plugin.getDSigns().getByHeader(lines[0]), null, gameWorld);
+    }
 
-        for (DSignType type : plugin.getDSigns().getDSigns()) {
-            if (!lines[0].equalsIgnoreCase("[" + type.getName() + "]")) {
-                continue;
-            }
+    /**
+     * @param sign
+     * the sign in the game world
+     * @param blueprint
+     * the blueprint compiled from the sign at the same position in the resource
+     * @param gameWorld
+     * the game world
+     * @return the DSign
+     */
+    public static DSign create(Sign sign, SignBlueprint blueprint, DGameWorld gameWorld) {
+        return create(sign, blueprint.getLines(), blueprint.getType(), blueprint, gameWorld);
+    }
 
+    private static DSign create(Sign sign, String[] lines, DSignType type, SignBlueprint blueprint, DGameWorld gameWorld) {
+        DSign dSign = null;
+
+        if (type != null) {
             try {
-                Constructor<? extends DSign> constructor = type.getHandler().getConstructor(Sign.class, String[].class, DGameWorld.class);
-                dSign = constructor.newInstance(sign, lines, gameWorld);
+                dSign = (DSign) plugin.getDSigns().getHandler(type).invoke(sign, lines, gameWorld);
 
-            } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException exception) {
+            } catch (Throwable exception) {
                 MessageUtil.log("An error occurred while accessing the handler class of the sign " + type.getName() + ": " + exception.getClass().getSimpleName());
                 if (!(type instanceof DSignTypeDefault)) {
                     MessageUtil.log("Please note that this sign is an unsupported feature added by an addon!");
@@ -245,6 +253,8 @@ public abstract class DSign {
             return dSign;
         }
 
+        dSign.blueprint = blueprint;
+
         if (dSign.getType().isOnDungeonInit()) {
             dSign.onInit();
         }
@@ -16,19 +16,39 @@
  */
 package io.github.dre2n.dungeonsxl.sign;
 
+import io.github.dre2n.commons.util.messageutil.MessageUtil;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.bukkit.block.Sign;
 
 /**
  * @author Daniel Saukel
  */
 public class DSignTypes {
 
+    /**
+     * The maximum amount of unknown headers that are remembered before the negative cache is reset
+     */
+    public static final int MAX_UNKNOWN = 256;
+
     private List<DSignType> types = new ArrayList<>();
+    private Map<String, DSignType> byHeader = new HashMap<>();
+    private Set<String> unknown = new HashSet<>();
+    private Map<DSignType, MethodHandle> handlers = new HashMap<>();
 
     public DSignTypes() {
-        types.addAll(Arrays.asList(DSignTypeDefault.values()));
+        for (DSignType type : DSignTypeDefault.values()) {
+            addDSign(type);
+        }
     }
 
     /**
@@ -38,12 +58,68 @@ public class DSignTypes {
         return types;
     }
 
+    /**
+     * @param header
+     * the first line of a sign, e.g. "[Mob]"
+     * @return the DSign type that uses the header or null if there is none
+     */
+    public DSignType getByHeader(String header) {
+        String key = header.toLowerCase(Locale.ENGLISH);
+        DSignType type = byHeader.get(key);
+        if (type != null || unknown.contains(key)) {
+            return type;
+        }
+
+        // Types that have been added to the list directly
+        for (DSignType listed : types) {
+            if (header.equalsIgnoreCase("[" + listed.getName() + "]")) {
+                byHeader.put(key, listed);
+                type = listed;
+            }
+        }
+
+        if (type == null) {
+            if (unknown.size() >= MAX_UNKNOWN) {
+                unknown.clear();
+            }
+            unknown.add(key);
+        }
+
+        return type;
+    }
+
+    /**
+     * @param type
+     * the DSign type
+     * @return
+     * a handle of the constructor of the handler class, resolved once per type
+     * @throws ReflectiveOperationException
+     * if the handler class does not provide a public (Sign, String[], DGameWorld) constructor
+     */
+    public MethodHandle getHandler(DSignType type) throws ReflectiveOperationException {
+        MethodHandle handler = handlers.get(type);
+        if (handler == null) {
+            handler = MethodHandles.publicLookup().findConstructor(type.getHandler(), MethodType.methodType(void.class, Sign.class, String[].class, DGameWorld.class));
+            handlers.put(type, handler);
+        }
+
+        return handler;
+    }
+
     /**
      * @param type
      * the type to add
      */
     public void addDSign(DSignType type) {
         types.add(type);
+        unknown.clear();
+        byHeader.put("[" + type.getName().toLowerCase(Locale.ENGLISH) + "]", type);
+
+        try {
+            getHandler(type);
+        } catch (ReflectiveOperationException exception) {
+            MessageUtil.log("An error occurred while accessing the handler class of the sign " + type.getName() + ": " + exception.getClass().getSimpleName());
+        }
     }
 
     /**
@@ -52,6 +128,13 @@ public class DSignTypes {
      */
     public void removeDSign(DSignType type) {
         types.remove(type);
+        handlers.remove(type);
+
+        byHeader.clear();
+        unknown.clear();
+        for (DSignType remaining : types) {
+            byHeader.put("[" + remaining.getName().toLowerCase(Locale.ENGLISH) + "]", remaining);
+        }
     }
 
 }
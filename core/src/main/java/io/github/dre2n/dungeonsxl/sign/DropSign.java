@@ -64,12 +64,17 @@ public class DropSign extends DSign {
 
     @Override
     public void onInit() {
-        UniversalItem item = CaliburnAPI.getInstance().getItems().getById(lines[1]);
-
-        String[] attributes = lines[2].split(",");
-        if (attributes.length >= 1) {
-            this.item = item.toItemStack(NumberUtil.parseInt(attributes[0], 1));
+        // The item is resolved only once per map
+        SignBlueprint blueprint = getBlueprint();
+        String[] attributes = blueprint.getArguments(2);
+        ItemStack item = (ItemStack) blueprint.getValue("item");
+        if (item == null) {
+            UniversalItem universalItem = CaliburnAPI.getInstance().getItems().getById(lines[1]);
+            item = universalItem.toItemStack(NumberUtil.parseInt(attributes[0], 1));
+            blueprint.setValue("item", item);
         }
+
+        this.item = item.clone();
         if (attributes.length == 2) {
             interval = NumberUtil.parseDouble(attributes[1]);
         }
@@ -25,6 +25,9 @@ import io.github.dre2n.commons.compatibility.Version;
 import io.github.dre2n.commons.util.EnumUtil;
 import io.github.dre2n.commons.util.NumberUtil;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -53,12 +56,33 @@ public class HologramSign extends DSign {
     public void onInit() {
         getSign().getBlock().setType(Material.AIR);
 
-        String[] holoLines = lines[1].split("/");
         Location location = getSign().getLocation();
         location = location.add(0.5, NumberUtil.parseDouble(lines[2]), 0.5);
 
         hologram = HologramsAPI.createHologram(plugin, location);
-        for (String line : holoLines) {
+        for (Object line : getHologramLines()) {
+            if (line instanceof ItemStack) {
+                hologram.appendItemLine((ItemStack) line);
+            } else {
+                hologram.appendTextLine((String) line);
+            }
+        }
+    }
+
+    /**
+     * The lines are resolved only once per map.
+     *
+     * @return the items and the colored text lines of the hologram
+     */
+    private List<Object> getHologramLines() {
+        SignBlueprint blueprint = getBlueprint();
+        List<Object> hologramLines = (List<Object>) blueprint.getValue("lines");
+        if (hologramLines != null) {
+            return hologramLines;
+        }
+
+        hologramLines = new ArrayList<>();
+        for (String line : lines[1].split("/")) {
             if (line.startsWith("Item:")) {
                 String id = line.replace("Item:", "");
                 ItemStack item = null;
@@ -79,12 +103,16 @@ public class HologramSign extends DSign {
                     }
                 }
 
-                hologram.appendItemLine(item);
+                hologramLines.add(item);
 
             } else {
-                hologram.appendTextLine(ChatColor.translateAlternateColorCodes('&', line));
+                hologramLines.add(ChatColor.translateAlternateColorCodes('&', line));
             }
         }
+
+        hologramLines = Collections.unmodifiableList(hologramLines);
+        blueprint.setValue("lines", hologramLines);
+        return hologramLines;
     }
 
     @Override
@@ -21,10 +21,8 @@ import io.github.dre2n.dungeonsxl.task.SignUpdateTask;
 import io.github.dre2n.dungeonsxl.trigger.InteractTrigger;
 import io.github.dre2n.dungeonsxl.world.DEditWorld;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
-import java.util.HashSet;
 import java.util.Set;
 import org.bukkit.ChatColor;
-import org.bukkit.block.Block;
 import org.bukkit.block.Sign;
 import org.bukkit.entity.Player;
 
@@ -41,23 +39,7 @@ public class InteractSign extends DSign {
 
     @Override
     public boolean check() {
-        Set<Integer> used = new HashSet<>();
-        for (Block block : DEditWorld.getByWorld(getSign().getLocation().getWorld()).getSigns()) {
-            if (block == null) {
-                continue;
-            }
-
-            if (!block.getChunk().isLoaded()) {
-                block.getChunk().load();
-            }
-
-            if (block.getState() instanceof Sign) {
-                Sign rsign = (Sign) block.getState();
-                if (rsign.getLine(0).equalsIgnoreCase("[" + type.getName() + "]")) {
-                    used.add(NumberUtil.parseInt(rsign.getLine(1)));
-                }
-            }
-        }
+        Set<Integer> used = DEditWorld.getByWorld(getSign().getLocation().getWorld()).getUsedIds(type.getName());
 
         int id = 1;
         if (getSign().getLine(1).isEmpty()) {
@@ -39,7 +39,7 @@ public class PlaceSign extends DSign {
 
     @Override
     public void onInit() {
-        getGameWorld().getPlaceableBlocks().add(new GamePlaceableBlock(getSign().getBlock(), lines[1], lines[2]));
+        getGameWorld().addPlaceableBlock(new GamePlaceableBlock(getSign().getBlock(), lines[1], lines[2]));
         getSign().getBlock().setType(Material.AIR);
     }
 
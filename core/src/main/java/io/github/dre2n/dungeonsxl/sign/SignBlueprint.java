@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.sign;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The parsed content of a dungeon sign of a map.
+ * Blueprints are compiled once per map and shared by all game instances of the map, so they must not be modified by a single instance.
+ *
+ * @author Daniel Saukel
+ */
+public class SignBlueprint {
+
+    /**
+     * The maximum amount of parsed trigger lines that are kept; the least recently used one is dropped first.
+     */
+    public static final int MAX_TRIGGER_LINES = 256;
+
+    private static final String[][] NO_TRIGGERS = new String[0][];
+    private static final Map<String, String[][]> TRIGGER_LINES = Collections.synchronizedMap(new LinkedHashMap<String, String[][]>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String[][]> eldest) {
+            return size() > MAX_TRIGGER_LINES;
+        }
+    });
+
+    private int x;
+    private int y;
+    private int z;
+    private String[] lines;
+    private DSignType type;
+    private String[][] triggers;
+    private boolean baked;
+    private Map<Integer, String[]> arguments = new HashMap<>();
+    private Map<String, Object> values = new HashMap<>();
+
+    public SignBlueprint(int x, int y, int z, String[] lines, DSignType type) {
+        this(x, y, z, lines, type, false);
+    }
+
+    /**
+     * @param baked
+     * if the sign has been removed from the game template of the map
+     */
+    public SignBlueprint(int x, int y, int z, String[] lines, DSignType type, boolean baked) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.lines = lines.clone();
+        this.type = type;
+        this.baked = baked;
+        triggers = parseTriggers(lines[3]);
+    }
+
+    /* Getters and setters */
+    /**
+     * @return the x coordinate of the sign
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @return the y coordinate of the sign
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @return the z coordinate of the sign
+     */
+    public int getZ() {
+        return z;
+    }
+
+    /**
+     * @return a copy of the sign lines
+     */
+    public String[] getLines() {
+        return lines.clone();
+    }
+
+    /**
+     * @return the sign type
+     */
+    public DSignType getType() {
+        return type;
+    }
+
+    /**
+     * @return the trigger identifiers and values of the fourth line
+     */
+    public String[][] getTriggers() {
+        return triggers;
+    }
+
+    /**
+     * @return if the sign has been removed from the game template of the map
+     */
+    public boolean isBaked() {
+        return baked;
+    }
+
+    /**
+     * @param line
+     * the index of the line
+     * @return the comma separated arguments of the line; must not be modified
+     */
+    public String[] getArguments(int line) {
+        String[] parsed = arguments.get(line);
+        if (parsed == null) {
+            parsed = lines[line].split(",");
+            arguments.put(line, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * @param key
+     * the key of the value
+     * @return a value the sign type has resolved from the lines, e.g. an item; must not be modified
+     */
+    public Object getValue(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * @param key
+     * the key of the value
+     * @param value
+     * a value the sign type has resolved from the lines to reuse in other instances
+     */
+    public void setValue(String key, Object value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{x=" + x + "; y=" + y + "; z=" + z + "; lines=" + Arrays.toString(lines) + "}";
+    }
+
+    /* Statics */
+    /**
+     * @param line
+     * the trigger line of a sign, e.g. "D5,R"
+     * @return pairs of the trigger identifier and the value or null if the trigger has no value
+     */
+    public static String[][] parseTriggers(String line) {
+        String[][] triggers = TRIGGER_LINES.get(line);
+        if (triggers != null) {
+            return triggers;
+        }
+
+        String[] triggerStrings = line.replaceAll("\\s", "").split(",");
+        int count = 0;
+        for (String triggerString : triggerStrings) {
+            if (!triggerString.isEmpty()) {
+                count++;
+            }
+        }
+
+        triggers = count == 0 ? NO_TRIGGERS : new String[count][];
+        int i = 0;
+        for (String triggerString : triggerStrings) {
+            if (triggerString.isEmpty()) {
+                continue;
+            }
+
+            String value = triggerString.length() > 1 ? triggerString.substring(1) : null;
+            triggers[i++] = new String[]{triggerString.substring(0, 1), value};
+        }
+
+        TRIGGER_LINES.put(line, triggers);
+        return triggers;
+    }
+
+}
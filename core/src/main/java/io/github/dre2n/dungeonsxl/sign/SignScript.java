@@ -18,11 +18,11 @@ package io.github.dre2n.dungeonsxl.sign;
 
 import io.github.dre2n.commons.util.NumberUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.util.StartupLoader;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 
 /**
  * @author Daniel Saukel
@@ -40,7 +40,7 @@ public class SignScript {
      * the script file
      */
     public SignScript(File file) {
-        this(file.getName().substring(0, file.getName().length() - 4), YamlConfiguration.loadConfiguration(file));
+        this(file.getName().substring(0, file.getName().length() - 4), StartupLoader.loadConfiguration(file));
     }
 
     /**
@@ -22,7 +22,11 @@ import io.github.dre2n.dungeonsxl.game.Game;
 import io.github.dre2n.dungeonsxl.player.DGamePlayer;
 import io.github.dre2n.dungeonsxl.player.DGroup;
 import io.github.dre2n.dungeonsxl.util.ProgressBar;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import io.github.dre2n.dungeonsxl.world.InstanceRequest;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 
@@ -64,31 +68,49 @@ public class AnnouncerStartGameTask extends BukkitRunnable {
             return;
         }
 
-        Game game = null;
-
+        final List<DGroup> dGroups = new ArrayList<>();
         for (DGroup dGroup : announcer.getDGroups()) {
-            if (dGroup == null) {
-                continue;
+            if (dGroup != null) {
+                dGroups.add(dGroup);
             }
-
-            if (game == null) {
-                game = new Game(dGroup, announcer.getMapName());
-            } else {
-                game.getDGroups().add(dGroup);
-            }
-
-            dGroup.setDungeon(announcer.getDungeonName() == null ? announcer.getMapName() : announcer.getDungeonName());
-            dGroup.setGameWorld(game.getWorld());
         }
 
-        if (game == null) {
+        if (dGroups.isEmpty()) {
             cancel();
             return;
         }
 
-        for (Player player : game.getPlayers()) {
-            DGamePlayer.create(player, game.getWorld());
-        }
+        DungeonsXL.getInstance().getInstanceQueue().add(new InstanceRequest(dGroups) {
+            @Override
+            public DGameWorld admit() {
+                Game game = null;
+
+                for (DGroup dGroup : dGroups) {
+                    if (!DungeonsXL.getInstance().getDGroups().contains(dGroup)) {
+                        continue;
+                    }
+
+                    if (game == null) {
+                        game = new Game(dGroup, announcer.getMapName());
+                    } else {
+                        game.getDGroups().add(dGroup);
+                    }
+
+                    dGroup.setDungeon(announcer.getDungeonName() == null ? announcer.getMapName() : announcer.getDungeonName());
+                    dGroup.setGameWorld(game.getWorld());
+                }
+
+                if (game == null) {
+                    return null;
+                }
+
+                for (Player player : game.getPlayers()) {
+                    DGamePlayer.create(player, game.getWorld());
+                }
+
+                return game.getWorld();
+            }
+        });
 
         announcer.endStartTask();
     }
@@ -17,6 +17,7 @@
 package io.github.dre2n.dungeonsxl.task;
 
 import io.github.dre2n.commons.util.messageutil.MessageUtil;
+import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.player.DEditPlayer;
 import io.github.dre2n.dungeonsxl.player.DGamePlayer;
 import io.github.dre2n.dungeonsxl.world.DEditWorld;
@@ -29,6 +30,8 @@ import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 
 /**
+ * Creates the instance player as soon as the instance has finished loading and shows a loading bar until then.
+ *
  * @author Daniel Saukel
  */
 public class CreateDInstancePlayerTask extends BukkitRunnable {
@@ -52,25 +55,48 @@ public class CreateDInstancePlayerTask extends BukkitRunnable {
         this.ready = ready;
     }
 
-    @Override
-    public void run() {
-        Player player = Bukkit.getPlayer(this.player);
-        if (player == null || !player.isOnline()) {
-            cancel();
+    /* Actions */
+    /**
+     * Creates the player immediately if the instance is loaded; otherwise, animates the loading bar until the instance calls back.
+     */
+    public void start() {
+        if (instance.isLoaded()) {
+            create();
             return;
         }
 
-        if (instance.exists()) {
-            if (instance instanceof DGameWorld) {
-                DGamePlayer gamePlayer = new DGamePlayer(player, (DGameWorld) instance);
-                if (ready) {
-                    gamePlayer.ready();
-                }
+        runTaskTimer(DungeonsXL.getInstance(), 0L, 5L);
+        instance.whenLoaded(new Runnable() {
+            @Override
+            public void run() {
+                cancel();
+                create();
+            }
+        });
+    }
 
-            } else if (instance instanceof DEditWorld) {
-                new DEditPlayer(player, (DEditWorld) instance);
+    private void create() {
+        Player player = Bukkit.getPlayer(this.player);
+        if (player == null || !player.isOnline() || !instance.exists()) {
+            return;
+        }
+
+        if (instance instanceof DGameWorld) {
+            DGamePlayer gamePlayer = new DGamePlayer(player, (DGameWorld) instance);
+            if (ready) {
+                gamePlayer.ready();
             }
 
+        } else if (instance instanceof DEditWorld) {
+            new DEditPlayer(player, (DEditWorld) instance);
+        }
+    }
+
+    @Override
+    public void run() {
+        Player player = Bukkit.getPlayer(this.player);
+        // The instance is forgotten if it could not be loaded
+        if (player == null || !player.isOnline() || !DungeonsXL.getInstance().getDWorlds().getInstances().contains(instance)) {
             cancel();
             return;
         }
@@ -17,6 +17,7 @@
 package io.github.dre2n.dungeonsxl.task;
 
 import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
 import org.bukkit.Location;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -39,6 +40,11 @@ public class DropItemTask extends BukkitRunnable {
     @Override
     public void run() {
         try {
+            DGameWorld gameWorld = DGameWorld.getByWorld(location.getWorld());
+            if (gameWorld != null && !gameWorld.getBudget().canDropItem()) {
+                return;
+            }
+
             location.getWorld().dropItem(location, item);
         } catch (NullPointerException exception) {
             cancel();
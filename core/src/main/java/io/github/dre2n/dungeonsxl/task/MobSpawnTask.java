@@ -49,6 +49,12 @@ public class MobSpawnTask extends BukkitRunnable {
             DGameWorld gameWorld = DGameWorld.getByWorld(world);
 
             if (gameWorld != null) {
+                // Pause the spawner while the instance is over budget
+                if (!gameWorld.getBudget().canSpawnMob()) {
+                    return;
+                }
+
+                long start = System.nanoTime();
                 Location spawnLoc = sign.getSign().getLocation().add(0.5, 0, 0.5);
 
                 // Check normal mobs
@@ -89,6 +95,7 @@ public class MobSpawnTask extends BukkitRunnable {
                 }
 
                 sign.setInterval(sign.getMaxInterval());
+                gameWorld.getBudget().addTaskTime(System.nanoTime() - start);
 
             } else {
                 sign.killTask();
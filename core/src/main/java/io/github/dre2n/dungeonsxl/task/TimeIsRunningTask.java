@@ -24,64 +24,117 @@ import io.github.dre2n.dungeonsxl.event.dplayer.DPlayerKickEvent;
 import io.github.dre2n.dungeonsxl.game.Game;
 import io.github.dre2n.dungeonsxl.player.DGamePlayer;
 import io.github.dre2n.dungeonsxl.player.DGroup;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 
 /**
+ * Counts down the time limits of all groups. One instance of this task is shared by all games.
+ *
  * @author Daniel Saukel
  */
 public class TimeIsRunningTask extends BukkitRunnable {
 
     MessageConfig messageConfig = DungeonsXL.getInstance().getMessageConfig();
 
-    private DGroup dGroup;
-    private int time;
-    private int timeLeft;
+    private Map<DGroup, int[]> timers = new LinkedHashMap<>();
+
+    /* Getters and setters */
+    /**
+     * @param dGroup
+     * the group to check
+     * @return
+     * if the time of the group is running
+     */
+    public boolean isRunning(DGroup dGroup) {
+        return timers.containsKey(dGroup);
+    }
 
-    public TimeIsRunningTask(DGroup dGroup, int time) {
-        this.dGroup = dGroup;
-        this.time = time;
-        this.timeLeft = time;
+    /**
+     * @param dGroup
+     * the group to check
+     * @return
+     * the seconds the group has left or -1 if its time is not running
+     */
+    public int getTimeLeft(DGroup dGroup) {
+        int[] timer = timers.get(dGroup);
+        return timer != null ? timer[1] : -1;
     }
 
-    @Override
-    public void run() {
-        timeLeft--;
+    /* Actions */
+    /**
+     * Starts the countdown of a group. Does nothing if its time is already running.
+     *
+     * @param dGroup
+     * the group
+     * @param time
+     * the time limit in seconds
+     */
+    public void start(DGroup dGroup, int time) {
+        if (!timers.containsKey(dGroup)) {
+            timers.put(dGroup, new int[]{time, time});
+        }
+    }
 
-        String color = ChatColor.GREEN.toString();
+    /**
+     * @param dGroup
+     * the group whose countdown shall be stopped
+     */
+    public void stop(DGroup dGroup) {
+        timers.remove(dGroup);
+    }
 
-        try {
-            color = (double) timeLeft / (double) time > 0.25 ? ChatColor.GREEN.toString() : ChatColor.DARK_RED.toString();
+    @Override
+    public void run() {
+        // Kicking a group may stop the countdowns of other groups, so a copy is iterated
+        for (Entry<DGroup, int[]> entry : new ArrayList<>(timers.entrySet())) {
+            DGroup dGroup = entry.getKey();
+            int[] timer = entry.getValue();
+            if (timers.get(dGroup) != timer) {
+                continue;
+            }
 
-        } catch (ArithmeticException exception) {
-            color = ChatColor.DARK_RED.toString();
+            int time = timer[0];
+            int timeLeft = --timer[1];
 
-        } finally {
+            String color = time > 0 && (double) timeLeft / (double) time > 0.25 ? ChatColor.GREEN.toString() : ChatColor.DARK_RED.toString();
             for (Player player : dGroup.getPlayers()) {
                 MessageUtil.sendActionBarMessage(player, DMessages.PLAYER_TIME_LEFT.getMessage(color, String.valueOf(timeLeft)));
+            }
 
-                DGamePlayer dPlayer = DGamePlayer.getByPlayer(player);
-                if (timeLeft > 0) {
-                    continue;
-                }
+            if (timeLeft > 0) {
+                continue;
+            }
+
+            timers.remove(dGroup);
+            kick(dGroup);
+        }
+    }
 
-                DPlayerKickEvent dPlayerKickEvent = new DPlayerKickEvent(dPlayer, DPlayerKickEvent.Cause.TIME_EXPIRED);
-                Bukkit.getServer().getPluginManager().callEvent(dPlayerKickEvent);
+    private void kick(DGroup dGroup) {
+        Game game = Game.getByDGroup(dGroup);
+        for (Player player : new ArrayList<>(dGroup.getPlayers())) {
+            DGamePlayer dPlayer = DGamePlayer.getByPlayer(player);
+            if (dPlayer == null) {
+                continue;
+            }
 
-                if (!dPlayerKickEvent.isCancelled()) {
-                    MessageUtil.broadcastMessage(DMessages.PLAYER_TIME_KICK.getMessage(player.getName()));
-                    dPlayer.leave();
-                    if (Game.getByDGroup(dGroup).getRules().getKeepInventoryOnEscape()) {
-                        dPlayer.applyRespawnInventory();
-                    }
-                }
+            DPlayerKickEvent dPlayerKickEvent = new DPlayerKickEvent(dPlayer, DPlayerKickEvent.Cause.TIME_EXPIRED);
+            Bukkit.getServer().getPluginManager().callEvent(dPlayerKickEvent);
 
-                cancel();
+            if (!dPlayerKickEvent.isCancelled()) {
+                MessageUtil.broadcastMessage(DMessages.PLAYER_TIME_KICK.getMessage(player.getName()));
+                dPlayer.leave();
+                if (game != null && game.getRules().getKeepInventoryOnEscape()) {
+                    dPlayer.applyRespawnInventory();
+                }
             }
         }
-
     }
 
 }
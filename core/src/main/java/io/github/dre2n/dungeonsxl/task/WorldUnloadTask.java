@@ -20,33 +20,63 @@ import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.player.DGamePlayer;
 import io.github.dre2n.dungeonsxl.world.DEditWorld;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import io.github.dre2n.dungeonsxl.world.DInstanceWorld;
+import java.util.ArrayList;
 import org.bukkit.scheduler.BukkitRunnable;
 
 /**
+ * Unloads instances that nobody is left in.
+ * A task for a single instance is scheduled whenever a player leaves it, when it has finished loading and when a group has moved
+ * on to the next floor. The task without an instance runs periodically as a fallback and sweeps all loaded instances, so that
+ * instances that players left in any other way are reclaimed, too.
+ *
  * @author Frank Baumann, Daniel Saukel
  */
 public class WorldUnloadTask extends BukkitRunnable {
 
     DungeonsXL plugin = DungeonsXL.getInstance();
 
+    private DInstanceWorld instance;
+
+    public WorldUnloadTask() {
+    }
+
+    public WorldUnloadTask(DInstanceWorld instance) {
+        this.instance = instance;
+    }
+
     @Override
     public void run() {
-        for (DGameWorld gameWorld : plugin.getDWorlds().getGameWorlds()) {
-            if (gameWorld.exists()) {
-                if (gameWorld.getWorld().getPlayers().isEmpty()) {
-                    if (DGamePlayer.getByWorld(gameWorld.getWorld()).isEmpty()) {
-                        gameWorld.delete();
-                    }
-                }
+        if (instance != null) {
+            instance.setUnloadScheduled(false);
+            unloadIfEmpty(instance);
+            return;
+        }
+
+        for (DInstanceWorld instanceWorld : new ArrayList<>(plugin.getDWorlds().getInstances())) {
+            // Instances that are still loading have not received their players yet
+            if (instanceWorld.isLoaded()) {
+                unloadIfEmpty(instanceWorld);
             }
         }
+    }
+
+    private void unloadIfEmpty(DInstanceWorld instance) {
+        if (!instance.exists() || !plugin.getDWorlds().getInstances().contains(instance)) {
+            return;
+        }
 
-        for (DEditWorld editWorld : plugin.getDWorlds().getEditWorlds()) {
-            if (editWorld.exists()) {
-                if (editWorld.getWorld().getPlayers().isEmpty()) {
-                    editWorld.delete(true);
-                }
+        if (!instance.getWorld().getPlayers().isEmpty()) {
+            return;
+        }
+
+        if (instance instanceof DGameWorld) {
+            if (DGamePlayer.getByWorld(instance.getWorld()).isEmpty()) {
+                instance.delete();
             }
+
+        } else if (instance instanceof DEditWorld) {
+            ((DEditWorld) instance).delete(true);
         }
     }
 
@@ -22,8 +22,6 @@ import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.event.trigger.TriggerRegistrationEvent;
 import io.github.dre2n.dungeonsxl.sign.DSign;
 import io.github.dre2n.dungeonsxl.world.DGameWorld;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Set;
 import org.bukkit.entity.Player;
@@ -189,12 +187,10 @@ public abstract class Trigger {
 
         } else if (type != null) {
 
-            Method method;
             try {
-                method = type.getHandler().getDeclaredMethod("getOrCreate", String.class, DGameWorld.class);
-                trigger = (Trigger) method.invoke(value, dSign.getGameWorld());
+                trigger = (Trigger) plugin.getTriggers().getHandler(type).invoke(value, dSign.getGameWorld());
 
-            } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException exception) {
+            } catch (Throwable exception) {
                 MessageUtil.log("An error occurred while accessing the handler class of the sign " + type.getIdentifier() + ": " + exception.getClass().getSimpleName());
                 if (!(type instanceof TriggerTypeDefault)) {
                     MessageUtil.log("Please note that this trigger is an unsupported feature added by an addon!");
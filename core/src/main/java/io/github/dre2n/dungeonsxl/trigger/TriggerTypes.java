@@ -16,34 +16,88 @@
  */
 package io.github.dre2n.dungeonsxl.trigger;
 
+import io.github.dre2n.commons.util.messageutil.MessageUtil;
+import io.github.dre2n.dungeonsxl.world.DGameWorld;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Daniel Saukel
  */
 public class TriggerTypes {
 
+    /**
+     * The maximum amount of unknown identifiers that are remembered before the negative cache is reset
+     */
+    public static final int MAX_UNKNOWN = 256;
+
     private List<TriggerType> types = new ArrayList<>();
+    private Map<String, TriggerType> byIdentifier = new HashMap<>();
+    private Set<String> unknown = new HashSet<>();
+    private Map<TriggerType, MethodHandle> handlers = new HashMap<>();
 
     public TriggerTypes() {
-        types.addAll(Arrays.asList(TriggerTypeDefault.values()));
+        for (TriggerType type : TriggerTypeDefault.values()) {
+            addTrigger(type);
+        }
     }
 
     /**
      * @return the trigger which has the identifier
      */
     public TriggerType getByIdentifier(String identifier) {
-        for (TriggerType type : types) {
-            if (type.getIdentifier().equalsIgnoreCase(identifier)) {
-                return type;
+        if (identifier == null) {
+            return null;
+        }
+
+        String key = identifier.toUpperCase(Locale.ENGLISH);
+        TriggerType type = byIdentifier.get(key);
+        if (type != null || unknown.contains(key)) {
+            return type;
+        }
+
+        // Types that have been added to the list directly
+        for (TriggerType listed : types) {
+            if (listed.getIdentifier().equalsIgnoreCase(identifier)) {
+                byIdentifier.put(key, listed);
+                return listed;
             }
         }
 
+        if (unknown.size() >= MAX_UNKNOWN) {
+            unknown.clear();
+        }
+        unknown.add(key);
         return null;
     }
 
+    /**
+     * Custom trigger types are created with the static method getOrCreate(String, DGameWorld) of their handler class.
+     *
+     * @param type
+     * the trigger type
+     * @return
+     * a handle of the getOrCreate method of the handler class, resolved once per type
+     * @throws ReflectiveOperationException
+     * if the handler class does not provide the method
+     */
+    public MethodHandle getHandler(TriggerType type) throws ReflectiveOperationException {
+        MethodHandle handler = handlers.get(type);
+        if (handler == null) {
+            handler = MethodHandles.publicLookup().unreflect(type.getHandler().getDeclaredMethod("getOrCreate", String.class, DGameWorld.class));
+            handlers.put(type, handler);
+        }
+
+        return handler;
+    }
+
     /**
      * @return the trigger types
      */
@@ -57,6 +111,21 @@ public class TriggerTypes {
      */
     public void addTrigger(TriggerType type) {
         types.add(type);
+        unknown.clear();
+        String key = type.getIdentifier().toUpperCase(Locale.ENGLISH);
+        if (!byIdentifier.containsKey(key)) {
+            byIdentifier.put(key, type);
+        }
+
+        if (type instanceof TriggerTypeDefault) {
+            return;
+        }
+
+        try {
+            getHandler(type);
+        } catch (ReflectiveOperationException exception) {
+            MessageUtil.log("An error occurred while accessing the handler class of the trigger " + type.getIdentifier() + ": " + exception.getClass().getSimpleName());
+        }
     }
 
     /**
@@ -65,6 +134,16 @@ public class TriggerTypes {
      */
     public void removeTrigger(TriggerType type) {
         types.remove(type);
+        handlers.remove(type);
+
+        byIdentifier.clear();
+        unknown.clear();
+        for (TriggerType remaining : types) {
+            String key = remaining.getIdentifier().toUpperCase(Locale.ENGLISH);
+            if (!byIdentifier.containsKey(key)) {
+                byIdentifier.put(key, remaining);
+            }
+        }
     }
 
 }
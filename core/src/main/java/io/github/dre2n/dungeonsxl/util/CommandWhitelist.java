@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A list of commands that players may use, compiled so that a command can be checked against the raw message without
+ * allocating. Labels are bucketed by their length and compared case-insensitively with region matching.
+ *
+ * @author Daniel Saukel
+ */
+public class CommandWhitelist {
+
+    public static final String[] DEFAULT_COMMANDS = {"dungeonsxl", "dungeon", "dxl"};
+
+    private List<List<Label>> labelsByLength = new ArrayList<>();
+
+    /**
+     * @param whitelist
+     * the whitelisted commands without a slash; may contain arguments
+     */
+    public CommandWhitelist(Collection<String> whitelist) {
+        for (String command : DEFAULT_COMMANDS) {
+            add(command);
+        }
+
+        for (String command : whitelist) {
+            add(command);
+        }
+    }
+
+    private void add(String command) {
+        command = command.toLowerCase();
+
+        int space = command.indexOf(' ');
+        String name = space == -1 ? command : command.substring(0, space);
+        Label label = getLabel(name);
+        if (space == -1) {
+            label.any = true;
+        } else {
+            label.commands.add(command);
+        }
+    }
+
+    private Label getLabel(String name) {
+        int length = name.length();
+        while (labelsByLength.size() <= length) {
+            labelsByLength.add(new ArrayList<Label>());
+        }
+
+        List<Label> bucket = labelsByLength.get(length);
+        for (Label label : bucket) {
+            if (label.name.equals(name)) {
+                return label;
+            }
+        }
+
+        Label label = new Label(name);
+        bucket.add(label);
+        return label;
+    }
+
+    /**
+     * @param message
+     * the command as typed by the player, starting with a slash
+     * @return
+     * if the command is whitelisted
+     */
+    public boolean isWhitelisted(String message) {
+        if (message.isEmpty() || message.charAt(0) != '/') {
+            return false;
+        }
+
+        int end = message.indexOf(' ', 1);
+        if (end == -1) {
+            end = message.length();
+        }
+
+        int length = end - 1;
+        if (length >= labelsByLength.size()) {
+            return false;
+        }
+
+        List<Label> bucket = labelsByLength.get(length);
+        for (int i = 0; i < bucket.size(); i++) {
+            Label label = bucket.get(i);
+            if (!message.regionMatches(true, 1, label.name, 0, length)) {
+                continue;
+            }
+            if (label.any) {
+                return true;
+            }
+
+            for (int j = 0; j < label.commands.size(); j++) {
+                String command = label.commands.get(j);
+                int commandLength = command.length();
+                if (message.regionMatches(true, 1, command, 0, commandLength)
+                        && (message.length() == commandLength + 1 || message.charAt(commandLength + 1) == ' ')) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        return false;
+    }
+
+    private static class Label {
+
+        private String name;
+        private boolean any;
+        private List<String> commands = new ArrayList<>();
+
+        private Label(String name) {
+            this.name = name;
+        }
+
+    }
+
+}
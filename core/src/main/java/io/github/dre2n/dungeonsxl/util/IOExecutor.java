@@ -0,0 +1,584 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Runs all file operations of DungeonsXL on a bounded pool of threads.
+ * Tasks with a higher priority are started first; tasks that share a key, usually the file they write, run one after another in the order they were submitted.
+ * Tasks that only read the files of a key may run at the same time as other reading tasks of the key, but not at the same time as writing ones.
+ * Tasks are never run by the submitting thread while the executor is running, as that is usually the main thread.
+ * When more tasks are pending than the capacity allows, the executor is saturated, so that callers like the InstanceQueue can hold back new work.
+ * Saturation is advisory: tasks are always accepted, as the data they write must not be lost.
+ * The state that a pending task writes to a file may be kept in memory, so that the file can be read back without waiting for the task.
+ *
+ * @author Daniel Saukel
+ */
+public class IOExecutor {
+
+    public enum Priority {
+
+        /**
+         * Player, sign and protection data; small files that are read back when players join.
+         */
+        DATA,
+        /**
+         * Copying the files of new instances; players are waiting for them.
+         */
+        INSTANCE,
+        /**
+         * Saving, generating and deleting worlds.
+         */
+        WORLD,
+        /**
+         * Backups of resources.
+         */
+        BACKUP
+
+    }
+
+    /**
+     * The latency of the tasks of one priority.
+     */
+    public static class Metrics {
+
+        private Priority priority;
+        private int queued;
+        private long completed;
+        private long failed;
+        private long totalWait;
+        private long maxWait;
+        private long totalTime;
+
+        public Metrics(Priority priority) {
+            this.priority = priority;
+        }
+
+        /* Getters and setters */
+        /**
+         * @return the priority
+         */
+        public Priority getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return the amount of tasks that are waiting or running
+         */
+        public synchronized int getQueued() {
+            return queued;
+        }
+
+        /**
+         * @return the amount of finished tasks
+         */
+        public synchronized long getCompleted() {
+            return completed;
+        }
+
+        /**
+         * @return the amount of tasks that threw an exception
+         */
+        public synchronized long getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return the average time in milliseconds a task waited before it was started
+         */
+        public synchronized double getAverageWait() {
+            return completed == 0 ? 0 : totalWait / (double) completed / 1000000D;
+        }
+
+        /**
+         * @return the maximum time in milliseconds a task waited before it was started
+         */
+        public synchronized double getMaxWait() {
+            return maxWait / 1000000D;
+        }
+
+        /**
+         * @return the average time in milliseconds a task ran
+         */
+        public synchronized double getAverageTime() {
+            return completed == 0 ? 0 : totalTime / (double) completed / 1000000D;
+        }
+
+        /* Actions */
+        synchronized void enqueue() {
+            queued++;
+        }
+
+        synchronized void record(long wait, long time, boolean success) {
+            queued--;
+            completed++;
+            if (!success) {
+                failed++;
+            }
+            totalWait += wait;
+            maxWait = Math.max(maxWait, wait);
+            totalTime += time;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return priority + ": queued=" + queued + ", completed=" + completed + ", failed=" + failed + ", wait="
+                    + String.format("%.2f", getAverageWait()) + "ms (max " + String.format("%.2f", getMaxWait()) + "ms), time=" + String.format("%.2f", getAverageTime()) + "ms";
+        }
+
+    }
+
+    class Task implements Runnable, Comparable<Task> {
+
+        Priority priority;
+        long sequence;
+        Object key;
+        boolean shared;
+        Runnable runnable;
+        long submitted = System.nanoTime();
+
+        Task(Priority priority, Object key, boolean shared, Runnable runnable) {
+            this.priority = priority;
+            this.sequence = sequences.getAndIncrement();
+            this.key = key;
+            this.shared = shared;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            boolean success = true;
+            try {
+                runnable.run();
+
+            } catch (RuntimeException exception) {
+                success = false;
+                logger.log(Level.SEVERE, "An I/O task of DungeonsXL failed", exception);
+
+            } finally {
+                metrics.get(priority).record(start - submitted, System.nanoTime() - start, success);
+                pending.decrementAndGet();
+                finish(this);
+            }
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int result = priority.compareTo(other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+
+    }
+
+    /**
+     * The tasks of one key that are running and the ones that wait for them.
+     */
+    static class Chain {
+
+        int running;
+        boolean shared;
+        Deque<Task> waiting = new ArrayDeque<>();
+
+    }
+
+    /**
+     * The state that the latest pending write of a file stores; one instance per write.
+     */
+    static class Snapshot {
+
+        Object state;
+
+        Snapshot(Object state) {
+            this.state = state;
+        }
+
+    }
+
+    private Logger logger;
+    private ThreadPoolExecutor executor;
+    private int capacity;
+    private AtomicInteger pending = new AtomicInteger();
+    private AtomicLong sequences = new AtomicLong();
+    private Map<Object, Chain> keys = new HashMap<>();
+    private Map<File, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private Map<Priority, Metrics> metrics = new EnumMap<>(Priority.class);
+    private volatile boolean shutdown;
+
+    /**
+     * @param logger
+     * the logger for exceptions of the tasks
+     * @param threads
+     * the amount of tasks that may run at the same time
+     * @param capacity
+     * the amount of tasks that may be pending before the executor is saturated
+     */
+    public IOExecutor(Logger logger, int threads, int capacity) {
+        this.logger = logger;
+        threads = Math.max(1, threads);
+        executor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "DungeonsXL I/O");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        this.capacity = Math.max(1, capacity);
+
+        for (Priority priority : Priority.values()) {
+            metrics.put(priority, new Metrics(priority));
+        }
+    }
+
+    /* Getters and setters */
+    /**
+     * @param priority
+     * the priority
+     * @return the metrics of the tasks with this priority
+     */
+    public Metrics getMetrics(Priority priority) {
+        return metrics.get(priority);
+    }
+
+    /**
+     * @return the metrics of all priorities, the highest first
+     */
+    public Collection<Metrics> getMetrics() {
+        return new ArrayList<>(metrics.values());
+    }
+
+    /**
+     * @return the amount of tasks that have been started but are not running yet
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return the amount of tasks that have been submitted and are not finished yet, including the ones that wait for their key
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * @return if more tasks are pending than the capacity allows; new tasks are still accepted
+     */
+    public boolean isSaturated() {
+        return pending.get() >= capacity;
+    }
+
+    /**
+     * @return if the executor does not accept tasks anymore and runs them in the submitting thread
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * @param file
+     * the file
+     * @return the state that the latest write of the file stores if it is not finished yet or null if the file is up to date
+     */
+    public Object getSnapshot(File file) {
+        Snapshot snapshot = snapshots.get(file);
+        return snapshot != null ? snapshot.state : null;
+    }
+
+    /* Actions */
+    /**
+     * @param priority
+     * the priority of the task
+     * @param runnable
+     * the file operation
+     */
+    public void execute(Priority priority, Runnable runnable) {
+        execute(priority, null, runnable);
+    }
+
+    /**
+     * @param priority
+     * the priority of the task
+     * @param key
+     * tasks with an equal key run one after another; usually the file that is written
+     * @param runnable
+     * the file operation
+     */
+    public void execute(Priority priority, Object key, Runnable runnable) {
+        submit(new Task(priority, key, false, runnable));
+    }
+
+    /**
+     * Runs a task that only reads the files of the key. It waits for the tasks with the key that have been submitted
+     * before, but runs at the same time as other reading tasks of the key.
+     *
+     * @param priority
+     * the priority of the task
+     * @param key
+     * the key; usually the folder that is read
+     * @param runnable
+     * the file operation
+     */
+    public void read(Priority priority, Object key, Runnable runnable) {
+        submit(new Task(priority, key, true, runnable));
+    }
+
+    /**
+     * Runs a task that writes the file and keeps the state it writes as the snapshot of the file until it is finished.
+     *
+     * @param priority
+     * the priority of the task
+     * @param file
+     * the file that is written; the key of the task
+     * @param state
+     * the state that the file has when the task is finished; must only be changed in the main thread
+     * @param runnable
+     * the file operation
+     */
+    public void write(Priority priority, final File file, Object state, final Runnable runnable) {
+        final Snapshot snapshot = new Snapshot(state);
+        snapshots.put(file, snapshot);
+        execute(priority, file, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    runnable.run();
+                } finally {
+                    // A later write keeps its own snapshot
+                    snapshots.remove(file, snapshot);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes the text to the file with the DATA priority after all pending writes to the file.
+     *
+     * @param file
+     * the file to write
+     * @param text
+     * the content of the file
+     */
+    public void write(final File file, final String text) {
+        write(Priority.DATA, file, text, new Runnable() {
+            @Override
+            public void run() {
+                File parent = file.getParentFile();
+                if (parent != null) {
+                    parent.mkdirs();
+                }
+
+                try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8")) {
+                    writer.write(text);
+                } catch (IOException exception) {
+                    logger.log(Level.SEVERE, "Could not save " + file, exception);
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads a YAML file from the text of its latest pending write or from the file if it is up to date.
+     *
+     * @param file
+     * the file
+     * @return the configuration
+     */
+    public YamlConfiguration loadConfiguration(File file) {
+        Object snapshot = getSnapshot(file);
+        if (!(snapshot instanceof String)) {
+            return YamlConfiguration.loadConfiguration(file);
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString((String) snapshot);
+        } catch (InvalidConfigurationException exception) {
+            logger.log(Level.SEVERE, "Could not load the pending save of " + file, exception);
+        }
+        return config;
+    }
+
+    /**
+     * Blocks until all tasks with the key are finished, so that the file can be read safely.
+     * The main thread should read the snapshot of the file instead while the server is running.
+     *
+     * @param key
+     * the key
+     */
+    public void await(Object key) {
+        synchronized (keys) {
+            while (keys.containsKey(key)) {
+                try {
+                    keys.wait();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Blocks until no writing task with the key is running or waiting, so that the files can be read safely while other
+     * reading tasks of the key are still running.
+     *
+     * @param key
+     * the key
+     */
+    public void awaitWrites(Object key) {
+        synchronized (keys) {
+            while (hasWrites(keys.get(key))) {
+                try {
+                    keys.wait();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean hasWrites(Chain chain) {
+        if (chain == null) {
+            return false;
+        }
+        if (!chain.shared) {
+            return true;
+        }
+        for (Task task : chain.waiting) {
+            if (!task.shared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops accepting tasks and waits until the pending ones are finished.
+     * Tasks that are submitted afterwards run in the submitting thread, as they must not be lost when the plugin is disabled.
+     *
+     * @param timeout
+     * the maximum time to wait in seconds
+     */
+    public void shutdown(long timeout) {
+        shutdown = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout, TimeUnit.SECONDS)) {
+                logger.warning("DungeonsXL I/O tasks did not finish in " + timeout + " seconds");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(Task task) {
+        metrics.get(task.priority).enqueue();
+        pending.incrementAndGet();
+
+        if (task.key != null) {
+            synchronized (keys) {
+                Chain chain = keys.get(task.key);
+                if (chain == null) {
+                    chain = new Chain();
+                    chain.shared = task.shared;
+                    keys.put(task.key, chain);
+
+                } else if (!task.shared || !chain.shared || !chain.waiting.isEmpty()) {
+                    chain.waiting.add(task);
+                    return;
+                }
+                chain.running++;
+            }
+        }
+        start(task);
+    }
+
+    private void finish(Task task) {
+        if (task.key == null) {
+            return;
+        }
+
+        List<Task> next = new ArrayList<>();
+        synchronized (keys) {
+            Chain chain = keys.get(task.key);
+            if (chain == null || --chain.running > 0) {
+                return;
+            }
+
+            Task first = chain.waiting.poll();
+            if (first == null) {
+                keys.remove(task.key);
+                keys.notifyAll();
+                return;
+            }
+
+            // A writing task runs alone; reading tasks run together until the next writing one
+            next.add(first);
+            chain.shared = first.shared;
+            while (first.shared && chain.waiting.peek() != null && chain.waiting.peek().shared) {
+                next.add(chain.waiting.poll());
+            }
+            chain.running = next.size();
+            if (chain.shared) {
+                keys.notifyAll();
+            }
+        }
+
+        for (Task nextTask : next) {
+            start(nextTask);
+        }
+    }
+
+    private void start(Task task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException exception) {
+            // The executor has been shut down in the meantime
+            task.run();
+        }
+    }
+
+}
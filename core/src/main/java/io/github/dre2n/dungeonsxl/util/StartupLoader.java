@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.util;
+
+import io.github.dre2n.commons.util.FileUtil;
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Parses the script files in parallel while the plugin is enabled or reloaded and measures the duration of the startup phases.
+ *
+ * @author Daniel Saukel
+ */
+public class StartupLoader {
+
+    private ForkJoinPool pool = new ForkJoinPool();
+    private Map<File, ForkJoinTask<YamlConfiguration>> configs = new ConcurrentHashMap<>();
+    private Map<String, Long> timings = new LinkedHashMap<>();
+    private long start = System.nanoTime();
+    private String phase;
+    private long phaseStart;
+
+    /* Getters and setters */
+    /**
+     * @return the duration of each finished phase in milliseconds
+     */
+    public Map<String, Long> getTimings() {
+        return timings;
+    }
+
+    /**
+     * @return the milliseconds since the loader has been created
+     */
+    public long getTotalTime() {
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    /* Actions */
+    /**
+     * Starts parsing all files in the folder in the background
+     *
+     * @param folder
+     * the folder that contains the script files
+     */
+    public void preload(File folder) {
+        if (!folder.isDirectory()) {
+            return;
+        }
+
+        for (final File file : FileUtil.getFilesForFolder(folder)) {
+            configs.put(file, pool.submit(new Callable<YamlConfiguration>() {
+                @Override
+                public YamlConfiguration call() {
+                    return YamlConfiguration.loadConfiguration(file);
+                }
+            }));
+        }
+    }
+
+    /**
+     * @param file
+     * the script file
+     * @return the preloaded config or the synchronously loaded config if the file has not been preloaded
+     */
+    public FileConfiguration getConfig(File file) {
+        ForkJoinTask<YamlConfiguration> task = configs.remove(file);
+        if (task == null) {
+            return YamlConfiguration.loadConfiguration(file);
+        }
+        return task.join();
+    }
+
+    /**
+     * Ends the current phase and starts a new one
+     *
+     * @param phase
+     * the name of the phase
+     */
+    public void startPhase(String phase) {
+        endPhase();
+        this.phase = phase;
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the current phase
+     */
+    public void endPhase() {
+        if (phase != null) {
+            timings.put(phase, (System.nanoTime() - phaseStart) / 1000000);
+            phase = null;
+        }
+    }
+
+    /**
+     * Ends the current phase, discards the configs that have not been requested and stops the worker threads
+     */
+    public void shutdown() {
+        endPhase();
+        for (ForkJoinTask<YamlConfiguration> task : configs.values()) {
+            task.cancel(false);
+        }
+        configs.clear();
+        pool.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Long> timing : timings.entrySet()) {
+            if (builder.length() != 0) {
+                builder.append(", ");
+            }
+            builder.append(timing.getKey()).append(": ").append(timing.getValue()).append("ms");
+        }
+        return builder.toString();
+    }
+
+    /* Statics */
+    /**
+     * @param file
+     * the script file
+     * @return the config of the file; preloaded if the plugin is being loaded
+     */
+    public static FileConfiguration loadConfiguration(File file) {
+        StartupLoader loader = DungeonsXL.getInstance().getStartupLoader();
+        if (loader != null) {
+            return loader.getConfig(file);
+        } else {
+            return YamlConfiguration.loadConfiguration(file);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.util.worldloader;
+
+import java.util.Set;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * Edits cuboids of blocks in bulk.
+ * Blocks that already have the target type or are not replaceable are skipped, so that unchanged blocks cause no updates.
+ *
+ * @author Daniel Saukel
+ */
+public class BlockEditor {
+
+    /**
+     * Sets the type of all blocks in the cuboid between the corners whose type is replaceable.
+     *
+     * @param corner1
+     * the first corner
+     * @param corner2
+     * the second corner
+     * @param replace
+     * only blocks of these types are replaced; null to replace all blocks
+     * @param type
+     * the type to set
+     * @param physics
+     * if the neighbours of the changed blocks shall be updated
+     * @return
+     * the amount of changed blocks
+     */
+    public static int replace(Block corner1, Block corner2, Set<Material> replace, Material type, boolean physics) {
+        World world = corner1.getWorld();
+        int x1 = corner1.getX(), y1 = corner1.getY(), z1 = corner1.getZ();
+        int x2 = corner2.getX(), y2 = corner2.getY(), z2 = corner2.getZ();
+
+        int changed = 0;
+        for (int x = Math.min(x1, x2); x <= Math.max(x1, x2); x++) {
+            for (int y = Math.min(y1, y2); y <= Math.max(y1, y2); y++) {
+                for (int z = Math.min(z1, z2); z <= Math.max(z1, z2); z++) {
+                    Block block = world.getBlockAt(x, y, z);
+                    Material old = block.getType();
+                    if (old != type && (replace == null || replace.contains(old))) {
+                        block.setType(type, physics);
+                        changed++;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Sets the type of all blocks in the cuboid between the corners.
+     *
+     * @param corner1
+     * the first corner
+     * @param corner2
+     * the second corner
+     * @param type
+     * the type to set
+     * @param physics
+     * if the neighbours of the changed blocks shall be updated
+     * @return
+     * the amount of changed blocks
+     */
+    public static int fill(Block corner1, Block corner2, Material type, boolean physics) {
+        return replace(corner1, corner2, null, type, physics);
+    }
+
+}
@@ -53,4 +53,27 @@ public class WorldLoader {
         return internals.createWorld(creator);
     }
 
+    /**
+     * Creates a world for a game instance without preparing the spawn region. Maps that have already been saved by
+     * this server version are not converted.
+     *
+     * @param creator
+     * the WorldCreator which stores the information to create the new world
+     * @return
+     * the new World
+     */
+    public static World createInstanceWorld(WorldCreator creator) {
+        return internals.createWorld(creator, true);
+    }
+
+    /**
+     * Blocks until the server has written the chunks of the saved and unloaded worlds to the region files.
+     * Must not be called in the main thread.
+     */
+    public static void flush() {
+        if (internals != null) {
+            internals.flush();
+        }
+    }
+
 }
@@ -17,18 +17,26 @@
 package io.github.dre2n.dungeonsxl.world;
 
 import io.github.dre2n.commons.util.FileUtil;
+import io.github.dre2n.commons.util.NumberUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.config.SignData;
 import io.github.dre2n.dungeonsxl.event.editworld.EditWorldSaveEvent;
 import io.github.dre2n.dungeonsxl.event.editworld.EditWorldUnloadEvent;
 import io.github.dre2n.dungeonsxl.player.DEditPlayer;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
 import java.io.File;
 import java.io.IOException;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.Sign;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 /**
  * @author Frank Baumann, Daniel Saukel
@@ -38,9 +46,13 @@ public class DEditWorld extends DInstanceWorld {
     static DWorlds worlds = plugin.getDWorlds();
 
     public static String ID_FILE_PREFIX = ".id_";
+    public static int MIN_JOURNAL_LENGTH = 256;
 
     private File idFile;
-    private CopyOnWriteArrayList<Block> signs = new CopyOnWriteArrayList<>();
+    private Map<Long, Block> signs = new LinkedHashMap<>();
+    private Map<Long, String[]> signLines = new HashMap<>();
+    private Map<String, Set<Integer>> usedIds = new HashMap<>();
+    private Map<Long, Boolean> changes = new LinkedHashMap<>();
 
     DEditWorld(DResourceWorld resourceWorld, File folder, World world, int id) {
         super(resourceWorld, folder, world, id);
@@ -72,18 +84,39 @@ public class DEditWorld extends DInstanceWorld {
     }
 
     /**
-     * @return the signs
+     * @return the registered sign blocks
      */
-    public CopyOnWriteArrayList<Block> getSigns() {
-        return signs;
+    public Collection<Block> getSigns() {
+        return Collections.unmodifiableCollection(signs.values());
     }
 
     /**
-     * @param sign
-     * the sign to set
+     * @param block
+     * a block
+     * @return if the block is registered as a DSign
+     */
+    public boolean isSign(Block block) {
+        return signs.containsKey(SignData.getKey(block));
+    }
+
+    /**
+     * @param typeName
+     * the name of the sign type, e.g. "Interact"
+     * @return the IDs of the registered signs of this type
      */
-    public void setSigns(CopyOnWriteArrayList<Block> signs) {
-        this.signs = signs;
+    public Set<Integer> getUsedIds(String typeName) {
+        Set<Integer> ids = usedIds.get("[" + typeName.toLowerCase() + "]");
+        if (ids == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * @return the keys of the sign positions that changed since the last save mapped to true if a sign was added and to false if it was removed
+     */
+    public Map<Long, Boolean> getChanges() {
+        return changes;
     }
 
     /* Actions */
@@ -95,12 +128,71 @@ public class DEditWorld extends DInstanceWorld {
      */
     public void registerSign(Block block) {
         if (block.getState() instanceof Sign) {
-            Sign sign = (Sign) block.getState();
-            String[] lines = sign.getLines();
+            registerSign(block, ((Sign) block.getState()).getLines());
+        } else {
+            registerSign(block, new String[]{"", "", "", ""});
+        }
+    }
+
+    /**
+     * Registers the block as a DSign sothat it can later be saved persistently.
+     * Registering a block twice replaces the old registration.
+     *
+     * @param block
+     * a DSign block
+     * @param lines
+     * the lines of the sign
+     */
+    public void registerSign(Block block, String[] lines) {
+        long key = SignData.getKey(block);
+        removeId(key);
+
+        signs.put(key, block);
+        signLines.put(key, lines.clone());
+        changes.put(key, true);
 
-            if (lines[0].equalsIgnoreCase("[lobby]")) {
-                setLobbyLocation(block.getLocation());
+        String header = lines[0].toLowerCase();
+        if (header.equals("[lobby]")) {
+            setLobbyLocation(block.getLocation());
+        }
+
+        if (!lines[1].isEmpty()) {
+            Set<Integer> ids = usedIds.get(header);
+            if (ids == null) {
+                ids = new HashSet<>();
+                usedIds.put(header, ids);
             }
+            ids.add(NumberUtil.parseInt(lines[1]));
+        }
+    }
+
+    /**
+     * Removes the DSign registration of the block.
+     *
+     * @param block
+     * a DSign block
+     * @return if the block was registered
+     */
+    public boolean unregisterSign(Block block) {
+        long key = SignData.getKey(block);
+        if (signs.remove(key) == null) {
+            return false;
+        }
+
+        removeId(key);
+        changes.put(key, false);
+        return true;
+    }
+
+    private void removeId(long key) {
+        String[] lines = signLines.remove(key);
+        if (lines == null || lines[1].isEmpty()) {
+            return;
+        }
+
+        Set<Integer> ids = usedIds.get(lines[0].toLowerCase());
+        if (ids != null) {
+            ids.remove(NumberUtil.parseInt(lines[1]));
         }
     }
 
@@ -116,22 +208,30 @@ public class DEditWorld extends DInstanceWorld {
         }
 
         getWorld().save();
+        // The sign data may be unchanged, so the template is invalidated explicitly
+        getResource().getGameTemplate().delete();
 
         if (!plugin.getMainConfig().areTweaksEnabled()) {
             FileUtil.copyDirectory(getFolder(), getResource().getFolder(), DungeonsXL.EXCLUDED_FILES);
             FileUtil.deleteUnusedFiles(getResource().getFolder());
 
         } else {
-            new BukkitRunnable() {
+            plugin.getIOExecutor().execute(IOExecutor.Priority.WORLD, getResource().getFolder(), new Runnable() {
                 @Override
                 public void run() {
                     FileUtil.copyDirectory(getFolder(), getResource().getFolder(), DungeonsXL.EXCLUDED_FILES);
                     FileUtil.deleteUnusedFiles(getResource().getFolder());
                 }
-            }.runTaskAsynchronously(plugin);
+            });
         }
 
-        getResource().getSignData().serializeSigns(signs);
+        SignData signData = getResource().getSignData();
+        if (signData.getJournalLength() + changes.size() > Math.max(MIN_JOURNAL_LENGTH, signs.size())) {
+            signData.serializeSigns(this);
+        } else {
+            signData.journal(changes);
+            changes.clear();
+        }
     }
 
     @Override
@@ -159,6 +259,8 @@ public class DEditWorld extends DInstanceWorld {
             dPlayer.leave();
         }
 
+        getResource().getGameTemplate().delete();
+
         if (!plugin.getMainConfig().areTweaksEnabled()) {
             if (save) {
                 plugin.getServer().unloadWorld(getWorld(), true);
@@ -173,7 +275,7 @@ public class DEditWorld extends DInstanceWorld {
 
         } else {
             final DEditWorld editWorld = this;
-            new BukkitRunnable() {
+            plugin.getIOExecutor().execute(IOExecutor.Priority.WORLD, getResource().getFolder(), new Runnable() {
                 @Override
                 public void run() {
                     if (save) {
@@ -187,7 +289,7 @@ public class DEditWorld extends DInstanceWorld {
                     FileUtil.removeDirectory(getFolder());
                     worlds.removeInstance(editWorld);
                 }
-            }.runTaskAsynchronously(plugin);
+            });
         }
         plugin.debug.end("DEditWorld#delete", true);
     }
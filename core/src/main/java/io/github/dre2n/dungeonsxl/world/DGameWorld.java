@@ -36,13 +36,20 @@ import io.github.dre2n.dungeonsxl.trigger.RedstoneTrigger;
 import io.github.dre2n.dungeonsxl.trigger.Trigger;
 import io.github.dre2n.dungeonsxl.trigger.TriggerType;
 import io.github.dre2n.dungeonsxl.trigger.TriggerTypeDefault;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.block.Sign;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
@@ -62,6 +69,7 @@ public class DGameWorld extends DInstanceWorld {
 
     // TO DO: Which lists actually need to be CopyOnWriteArrayLists?
     private CopyOnWriteArrayList<GamePlaceableBlock> placeableBlocks = new CopyOnWriteArrayList<>();
+    private Map<Long, GamePlaceableBlock[]> placeableBlockIndex = new HashMap<>();
     private List<ItemStack> secureObjects = new CopyOnWriteArrayList<>();
     private CopyOnWriteArrayList<Chunk> loadedChunks = new CopyOnWriteArrayList<>();
     private CopyOnWriteArrayList<Sign> classesSigns = new CopyOnWriteArrayList<>();
@@ -69,6 +77,8 @@ public class DGameWorld extends DInstanceWorld {
     private CopyOnWriteArrayList<RewardChest> rewardChests = new CopyOnWriteArrayList<>();
     private CopyOnWriteArrayList<DSign> dSigns = new CopyOnWriteArrayList<>();
     private CopyOnWriteArrayList<Trigger> triggers = new CopyOnWriteArrayList<>();
+    private InstanceBudget budget = new InstanceBudget(this);
+    private Random random = new Random();
 
     DGameWorld(DResourceWorld resourceWorld, File folder, World world, int id) {
         super(resourceWorld, folder, world, id);
@@ -107,6 +117,20 @@ public class DGameWorld extends DInstanceWorld {
         this.tutorial = tutorial;
     }
 
+    /**
+     * @return the resource budget of the instance
+     */
+    public InstanceBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * @return the random number generator used to roll the loot of the instance
+     */
+    public Random getRandom() {
+        return random;
+    }
+
     /**
      * @return the isPlaying
      */
@@ -153,10 +177,11 @@ public class DGameWorld extends DInstanceWorld {
     }
 
     /**
-     * @return the placeableBlocks
+     * @return
+     * a read-only view of the placeableBlocks; use {@link #addPlaceableBlock(GamePlaceableBlock)} to add one
      */
-    public CopyOnWriteArrayList<GamePlaceableBlock> getPlaceableBlocks() {
-        return placeableBlocks;
+    public List<GamePlaceableBlock> getPlaceableBlocks() {
+        return Collections.unmodifiableList(placeableBlocks);
     }
 
     /**
@@ -165,6 +190,44 @@ public class DGameWorld extends DInstanceWorld {
      */
     public void setPlaceableBlocks(CopyOnWriteArrayList<GamePlaceableBlock> placeableBlocks) {
         this.placeableBlocks = placeableBlocks;
+
+        placeableBlockIndex.clear();
+        for (GamePlaceableBlock placeableBlock : placeableBlocks) {
+            index(placeableBlock);
+        }
+    }
+
+    /**
+     * @param block
+     * the block to check
+     * @return
+     * the GamePlaceableBlocks at the position of the block or null if there are none
+     */
+    public GamePlaceableBlock[] getPlaceableBlocks(Block block) {
+        return placeableBlockIndex.get(GamePlaceableBlock.getPositionKey(block));
+    }
+
+    /**
+     * @param placeableBlock
+     * the GamePlaceableBlock to add
+     */
+    public void addPlaceableBlock(GamePlaceableBlock placeableBlock) {
+        placeableBlocks.add(placeableBlock);
+        index(placeableBlock);
+    }
+
+    private void index(GamePlaceableBlock placeableBlock) {
+        long key = GamePlaceableBlock.getPositionKey(placeableBlock.getBlock());
+        GamePlaceableBlock[] atPosition = placeableBlockIndex.get(key);
+
+        if (atPosition == null) {
+            atPosition = new GamePlaceableBlock[]{placeableBlock};
+        } else {
+            atPosition = Arrays.copyOf(atPosition, atPosition.length + 1);
+            atPosition[atPosition.length - 1] = placeableBlock;
+        }
+
+        placeableBlockIndex.put(key, atPosition);
     }
 
     /**
@@ -410,17 +473,26 @@ public class DGameWorld extends DInstanceWorld {
             plugin.getServer().unloadWorld(getWorld(), false);
             FileUtil.removeDirectory(getFolder());
             worlds.removeInstance(this);
+            plugin.getInstanceQueue().process();
 
         } else {
             final DGameWorld gameWorld = this;
-            new BukkitRunnable() {
+            plugin.getIOExecutor().execute(IOExecutor.Priority.WORLD, new Runnable() {
                 @Override
                 public void run() {
                     plugin.getServer().unloadWorld(getWorld(), false);
                     FileUtil.removeDirectory(getFolder());
                     worlds.removeInstance(gameWorld);
+
+                    // The freed slot is handed to the next queued request
+                    new BukkitRunnable() {
+                        @Override
+                        public void run() {
+                            plugin.getInstanceQueue().process();
+                        }
+                    }.runTask(plugin);
                 }
-            }.runTaskAsynchronously(plugin);
+            });
         }
         plugin.debug.end("DGameWorld#delete", true);
     }
@@ -433,6 +505,8 @@ public class DGameWorld extends DInstanceWorld {
             return;
         }
 
+        long start = System.nanoTime();
+
         // Update Spiders
         for (LivingEntity mob : getWorld().getLivingEntities()) {
             if (mob.getType() == EntityType.SPIDER || mob.getType() == EntityType.CAVE_SPIDER) {
@@ -450,6 +524,9 @@ public class DGameWorld extends DInstanceWorld {
                 }
             }
         }
+
+        budget.addTaskTime(System.nanoTime() - start);
+        budget.update();
     }
 
     /* Statics */
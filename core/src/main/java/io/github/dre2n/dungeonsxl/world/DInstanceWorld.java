@@ -20,7 +20,10 @@ import io.github.dre2n.commons.util.messageutil.MessageUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.config.WorldConfig;
 import io.github.dre2n.dungeonsxl.player.DGamePlayer;
+import io.github.dre2n.dungeonsxl.task.WorldUnloadTask;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import org.bukkit.Location;
 import org.bukkit.World;
 
@@ -37,6 +40,9 @@ public abstract class DInstanceWorld {
     World world;
     private int id;
     private Location lobby;
+    private boolean loaded;
+    private boolean unloadScheduled;
+    private List<Runnable> loadListeners = new ArrayList<>();
 
     DInstanceWorld(DResourceWorld resourceWorld, File folder, World world, int id) {
         this.resourceWorld = resourceWorld;
@@ -90,6 +96,28 @@ public abstract class DInstanceWorld {
         return world != null;
     }
 
+    /**
+     * @return if the world has been loaded and its signs have been set up
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return if a WorldUnloadTask is scheduled for this instance
+     */
+    public boolean isUnloadScheduled() {
+        return unloadScheduled;
+    }
+
+    /**
+     * @param unloadScheduled
+     * if a WorldUnloadTask is scheduled for this instance
+     */
+    public void setUnloadScheduled(boolean unloadScheduled) {
+        this.unloadScheduled = unloadScheduled;
+    }
+
     /**
      * @return the unique ID
      */
@@ -125,6 +153,48 @@ public abstract class DInstanceWorld {
         }
     }
 
+    /**
+     * Runs the listener when the instance has been loaded or immediately if it already is.
+     *
+     * @param listener
+     * the listener to run
+     */
+    public void whenLoaded(Runnable listener) {
+        if (loaded) {
+            listener.run();
+        } else {
+            loadListeners.add(listener);
+        }
+    }
+
+    /**
+     * Marks the instance as loaded, runs the load listeners and reclaims the instance if nobody joined it.
+     */
+    void finishLoading() {
+        loaded = true;
+        for (Runnable listener : loadListeners) {
+            listener.run();
+        }
+        loadListeners.clear();
+
+        if (this instanceof DGameWorld) {
+            plugin.getInstanceQueue().process();
+        }
+        scheduleUnload();
+    }
+
+    /**
+     * Unloads the instance in the next tick if nobody is left in it.
+     */
+    public void scheduleUnload() {
+        if (unloadScheduled) {
+            return;
+        }
+
+        unloadScheduled = true;
+        new WorldUnloadTask(this).runTask(plugin);
+    }
+
     /* Abstracts */
     /**
      * Deletes this instance.
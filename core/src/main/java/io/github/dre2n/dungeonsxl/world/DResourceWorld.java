@@ -22,9 +22,12 @@ import io.github.dre2n.dungeonsxl.config.SignData;
 import io.github.dre2n.dungeonsxl.config.WorldConfig;
 import io.github.dre2n.dungeonsxl.event.editworld.EditWorldGenerateEvent;
 import io.github.dre2n.dungeonsxl.player.DEditPlayer;
+import io.github.dre2n.dungeonsxl.sign.SignBlueprint;
 import io.github.dre2n.dungeonsxl.task.BackupResourceTask;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
 import io.github.dre2n.dungeonsxl.util.worldloader.WorldLoader;
 import java.io.File;
+import java.util.List;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.WorldCreator;
@@ -43,7 +46,9 @@ public class DResourceWorld {
 
     private File folder;
     private WorldConfig config;
+    private boolean configLoaded;
     private SignData signData;
+    private GameTemplate gameTemplate;
 
     public DResourceWorld(DWorlds worlds, String name) {
         this.worlds = worlds;
@@ -53,13 +58,6 @@ public class DResourceWorld {
             folder.mkdir();
         }
 
-        File configFile = new File(folder, "config.yml");
-        if (configFile.exists()) {
-            config = new WorldConfig(configFile);
-        }
-
-        File signDataFile = new File(folder, "DXLData.data");
-        signData = new SignData(signDataFile);
     }
 
     public DResourceWorld(DWorlds worlds, File folder) {
@@ -67,13 +65,6 @@ public class DResourceWorld {
 
         this.folder = folder;
 
-        File configFile = new File(folder, "config.yml");
-        if (configFile.exists()) {
-            config = new WorldConfig(configFile);
-        }
-
-        File signDataFile = new File(folder, "DXLData.data");
-        signData = new SignData(signDataFile);
     }
 
     /* Getters and setters */
@@ -100,9 +91,19 @@ public class DResourceWorld {
     }
 
     /**
+     * The config is loaded when it is accessed for the first time.
+     *
      * @return the WorldConfig
      */
     public WorldConfig getConfig() {
+        if (!configLoaded) {
+            File configFile = new File(folder, "config.yml");
+            if (configFile.exists()) {
+                config = new WorldConfig(configFile);
+            }
+            configLoaded = true;
+        }
+
         return config;
     }
 
@@ -110,15 +111,30 @@ public class DResourceWorld {
      * @return the DXLData.data file
      */
     public SignData getSignData() {
+        if (signData == null) {
+            signData = new SignData(new File(folder, "DXLData.data"));
+        }
+
         return signData;
     }
 
+    /**
+     * @return the template that game instances are copied from
+     */
+    public GameTemplate getGameTemplate() {
+        if (gameTemplate == null) {
+            gameTemplate = new GameTemplate(this);
+        }
+
+        return gameTemplate;
+    }
+
     /**
      * @param player
      * the player to invite
      */
     public void addInvitedPlayer(OfflinePlayer player) {
-        if (config == null) {
+        if (getConfig() == null) {
             config = new WorldConfig();
         }
 
@@ -131,7 +147,7 @@ public class DResourceWorld {
      * the player to uninvite
      */
     public boolean removeInvitedPlayer(OfflinePlayer player) {
-        if (config == null) {
+        if (getConfig() == null) {
             return false;
         }
 
@@ -153,7 +169,7 @@ public class DResourceWorld {
      * the player to check
      */
     public boolean isInvitedPlayer(OfflinePlayer player) {
-        if (config == null) {
+        if (getConfig() == null) {
             return false;
         }
 
@@ -170,82 +186,150 @@ public class DResourceWorld {
     public void backup(boolean async) {
         BackupResourceTask task = new BackupResourceTask(this);
         if (async) {
-            task.runTaskAsynchronously(plugin);
+            plugin.getIOExecutor().read(IOExecutor.Priority.BACKUP, folder, task);
         } else {
             task.run();
         }
     }
 
     /**
+     * Creates the instance synchronously: The files are copied, the world is loaded and its signs are registered in the calling
+     * thread, which must be the main thread. Use {@link #instantiateAsGameWorldAsync()} and
+     * {@link #instantiateAsEditWorldAsync()} to keep the server responsive while instances are created.
+     *
      * @param game
      * whether the instance is a DGameWorld
-     * @return an instance of this world
+     * @return a loaded instance of this world or null if it could not be created
      */
-    public DInstanceWorld instantiate(final boolean game) {
-        plugin.debug.start("DResourceWorld#instantiate");
-        int id = worlds.generateId();
-        String name = worlds.generateName(game);
-        final File instanceFolder = new File(Bukkit.getWorldContainer(), name);
-
-        if (Bukkit.getWorld(name) != null) {
-            return null;
+    public DInstanceWorld instantiate(boolean game) {
+        InstanceFuture<? extends DInstanceWorld> future;
+        if (game) {
+            future = createGameWorld(true);
+        } else {
+            future = createEditWorld(true);
         }
+        // An edit world that is already being loaded asynchronously is returned as it is
+        return future != null && !future.isFailed() ? future.getInstance() : null;
+    }
 
-        final DInstanceWorld instance = game ? new DGameWorld(this, instanceFolder, id) : new DEditWorld(this, instanceFolder, id);
+    /**
+     * Creates the instance synchronously.
+     *
+     * @see #instantiate(boolean)
+     * @return an old or a new instance of this world.
+     */
+    public DEditWorld instantiateAsEditWorld() {
+        return (DEditWorld) instantiate(false);
+    }
 
-        if (!plugin.getMainConfig().areTweaksEnabled()) {
-            FileUtil.copyDirectory(folder, instanceFolder, DungeonsXL.EXCLUDED_FILES);
-            instance.world = plugin.getServer().createWorld(WorldCreator.name(name));
+    /**
+     * Creates the instance synchronously.
+     *
+     * @see #instantiate(boolean)
+     * @return a new instance of this world
+     */
+    public DGameWorld instantiateAsGameWorld() {
+        return (DGameWorld) instantiate(true);
+    }
+
+    /**
+     * @return a future of an old or a new instance of this world or null if the world name is already taken
+     */
+    public InstanceFuture<DEditWorld> instantiateAsEditWorldAsync() {
+        return createEditWorld(false);
+    }
+
+    /**
+     * @return a future of a new instance of this world or null if the world name is already taken
+     */
+    public InstanceFuture<DGameWorld> instantiateAsGameWorldAsync() {
+        return createGameWorld(false);
+    }
 
-            if (game) {
-                signData.deserializeSigns((DGameWorld) instance);
-            } else {
-                signData.deserializeSigns((DEditWorld) instance);
+    private InstanceFuture<DEditWorld> createEditWorld(boolean sync) {
+        for (final DEditWorld instance : worlds.getEditWorlds()) {
+            if (instance.getName().equals(getName())) {
+                final InstanceFuture<DEditWorld> future = new InstanceFuture<>(instance);
+                instance.whenLoaded(new Runnable() {
+                    @Override
+                    public void run() {
+                        future.complete();
+                    }
+                });
+                return future;
             }
+        }
 
-        } else {
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    FileUtil.copyDirectory(folder, instanceFolder, DungeonsXL.EXCLUDED_FILES);
-                    instance.world = WorldLoader.createWorld(WorldCreator.name(instanceFolder.getName()));
+        int id = worlds.generateId();
+        File instanceFolder = createInstanceFolder(false);
+        if (instanceFolder == null) {
+            return null;
+        }
+        return load(new DEditWorld(this, instanceFolder, id), false, sync);
+    }
 
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            if (game) {
-                                signData.deserializeSigns((DGameWorld) instance);
-                            } else {
-                                signData.deserializeSigns((DEditWorld) instance);
-                            }
-                        }
-                    }.runTask(plugin);
-                }
-            }.runTaskAsynchronously(plugin);
+    private InstanceFuture<DGameWorld> createGameWorld(boolean sync) {
+        int id = worlds.generateId();
+        File instanceFolder = createInstanceFolder(true);
+        if (instanceFolder == null) {
+            return null;
         }
+        return load(new DGameWorld(this, instanceFolder, id), true, sync);
+    }
 
-        plugin.debug.end("DResourceWorld#instantiate", true);
-        return instance;
+    private File createInstanceFolder(boolean game) {
+        String name = worlds.generateName(game);
+        if (Bukkit.getWorld(name) != null) {
+            return null;
+        }
+        return new File(Bukkit.getWorldContainer(), name);
     }
 
     /**
-     * @return an old or a new instance of this world.
+     * Queues the instance in the instance pipeline that copies the files, loads the world and registers the signs,
+     * or runs all of it at once if sync is true.
      */
-    public DEditWorld instantiateAsEditWorld() {
-        for (DEditWorld instance : worlds.getEditWorlds()) {
-            if (instance.getName().equals(getName())) {
-                return instance;
+    private <T extends DInstanceWorld> InstanceFuture<T> load(T instance, boolean game, boolean sync) {
+        final InstanceFuture<T> future = new InstanceFuture<>(instance);
+        instance.whenLoaded(new Runnable() {
+            @Override
+            public void run() {
+                future.complete();
             }
-        }
+        });
 
-        return (DEditWorld) instantiate(false);
+        // Game instances are copied from the baked template if it is up to date
+        GameTemplate template = game && plugin.getMainConfig().areGameTemplatesBaked() ? getGameTemplate() : null;
+        boolean baked = template != null && template.isValid();
+        File source = baked ? template.getFolder() : folder;
+
+        if (sync) {
+            plugin.getInstancePipeline().run(instance, future, source, template, baked);
+        } else {
+            plugin.getInstancePipeline().submit(instance, future, source, template, baked);
+        }
+        return future;
     }
 
     /**
-     * @return a new instance of this world
+     * Returns the sign blueprints of a game world that has not been copied from the baked template if they are known without
+     * reading the world and schedules baking the template if it is missing or outdated.
+     *
+     * @return the blueprints or null if they have to be compiled from the signs of the world
      */
-    public DGameWorld instantiateAsGameWorld() {
-        return (DGameWorld) instantiate(true);
+    List<SignBlueprint> getBlueprints(final GameTemplate template) {
+        if (template != null && !template.isBaking()) {
+            new BukkitRunnable() {
+                @Override
+                public void run() {
+                    // The template is loaded by the I/O executor before it is known whether it has to be baked
+                    if (!template.isValid() && template.isLoaded()) {
+                        template.bake();
+                    }
+                }
+            }.runTask(plugin);
+        }
+        return getSignData().getCachedBlueprints();
     }
 
     /**
@@ -272,16 +356,24 @@ public class DResourceWorld {
 
         if (!plugin.getMainConfig().areTweaksEnabled()) {
             editWorld.world = creator.createWorld();
+            editWorld.finishLoading();
 
         } else {
-            new BukkitRunnable() {
+            plugin.getIOExecutor().execute(IOExecutor.Priority.WORLD, new Runnable() {
                 @Override
                 public void run() {
                     FileUtil.copyDirectory(DWorlds.RAW, folder, DungeonsXL.EXCLUDED_FILES);
                     editWorld.generateIdFile();
                     editWorld.world = WorldLoader.createWorld(creator);
+
+                    new BukkitRunnable() {
+                        @Override
+                        public void run() {
+                            editWorld.finishLoading();
+                        }
+                    }.runTask(plugin);
                 }
-            }.runTaskAsynchronously(plugin);
+            });
         }
 
         plugin.debug.end("DResourceWorld#generate", true);
@@ -21,8 +21,11 @@ import io.github.dre2n.commons.util.NumberUtil;
 import io.github.dre2n.dungeonsxl.DungeonsXL;
 import io.github.dre2n.dungeonsxl.config.MainConfig;
 import io.github.dre2n.dungeonsxl.config.MainConfig.BackupMode;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
@@ -38,6 +41,7 @@ public class DWorlds {
     MainConfig mainConfig = plugin.getMainConfig();
 
     public static final File RAW = new File(DungeonsXL.MAPS, ".raw");
+    public static final String LEFTOVER_PREFIX = ".dxl_leftover_";
 
     private Set<DResourceWorld> resources = new HashSet<>();
     private Set<DInstanceWorld> instances = new HashSet<>();
@@ -189,25 +193,80 @@ public class DWorlds {
 
     /**
      * Check world container for old, remaining instances and delete them.
+     * The folders are moved out of the way immediately, so that they can't collide with new instances, and are recovered asynchronously.
+     * Edit worlds are recovered under the key of their map folder, so that instances of the map are only copied afterwards.
      */
     public void check() {
+        List<File> leftovers = new ArrayList<>();
         for (File file : Bukkit.getWorldContainer().listFiles()) {
-            if (file.getName().startsWith("DXL_Edit_") && file.isDirectory()) {
-                for (File mapFile : file.listFiles()) {
-                    if (mapFile.getName().startsWith(".id_")) {
-                        String name = mapFile.getName().substring(4);
+            if (!file.isDirectory()) {
+                continue;
+            }
+
+            String name = file.getName();
+            if (name.startsWith(LEFTOVER_PREFIX)) {
+                // The server has been stopped while the folder was recovered
+                leftovers.add(file);
+                continue;
+            }
+
+            if (name.startsWith("DXL_Game_") || name.startsWith(GameTemplate.WORLD_PREFIX) || (name.startsWith("DXL_Edit_") && getMapId(file) != null)) {
+                File leftover = new File(file.getParentFile(), LEFTOVER_PREFIX + name);
+                if (file.renameTo(leftover)) {
+                    leftovers.add(leftover);
+                }
+            }
+        }
 
-                        FileUtil.copyDirectory(file, new File(DungeonsXL.MAPS, name), DungeonsXL.EXCLUDED_FILES);
-                        FileUtil.deleteUnusedFiles(new File(DungeonsXL.MAPS, name));
+        for (final File leftover : leftovers) {
+            File map = null;
+            String mapName = getMapId(leftover);
+            if (leftover.getName().startsWith(LEFTOVER_PREFIX + "DXL_Edit_") && mapName != null) {
+                DResourceWorld resource = getResourceByName(mapName);
+                map = resource != null ? resource.getFolder() : new File(DungeonsXL.MAPS, mapName);
+            }
 
-                        FileUtil.removeDirectory(file);
-                    }
+            final File target = map;
+            plugin.getIOExecutor().execute(IOExecutor.Priority.WORLD, target != null ? target : leftover, new Runnable() {
+                @Override
+                public void run() {
+                    recover(leftover, target);
                 }
+            });
+        }
+    }
+
+    /**
+     * Copies a leftover edit world back to its map folder and deletes the leftover instance folder.
+     *
+     * @param target
+     * the map folder or null if the leftover is not an edit world
+     */
+    private void recover(File leftover, File target) {
+        if (target != null) {
+            FileUtil.copyDirectory(leftover, target, DungeonsXL.EXCLUDED_FILES);
+            FileUtil.deleteUnusedFiles(target);
+        }
+
+        FileUtil.removeDirectory(leftover);
+    }
+
+    /**
+     * @return the name of the map stored in the .id_ file of an edit world folder or null if there is none
+     */
+    private String getMapId(File folder) {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return null;
+        }
 
-            } else if (file.getName().startsWith("DXL_Game_") && file.isDirectory()) {
-                FileUtil.removeDirectory(file);
+        for (File file : files) {
+            if (file.getName().startsWith(".id_")) {
+                return file.getName().substring(4);
             }
         }
+
+        return null;
     }
 
     /**
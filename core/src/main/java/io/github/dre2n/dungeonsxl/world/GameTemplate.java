@@ -0,0 +1,434 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.world;
+
+import io.github.dre2n.commons.util.FileUtil;
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.config.SignData;
+import io.github.dre2n.dungeonsxl.sign.DSignType;
+import io.github.dre2n.dungeonsxl.sign.DSignTypeDefault;
+import io.github.dre2n.dungeonsxl.sign.SignBlueprint;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
+import io.github.dre2n.dungeonsxl.util.worldloader.WorldLoader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.scheduler.BukkitRunnable;
+
+/**
+ * A copy of a map without the signs that remove themselves when they are initialized.
+ * Game instances are copied from the template, so that the signs do not cause block changes while the players join.
+ * The sign blueprints are stored in a sidecar file, as the removed signs can't be read from the template.
+ * The template is versioned by the sign data and by the size and modification time of the level.dat and the region
+ * files of the map, so that it is baked again whenever the map is changed. The version of the map is read once and
+ * kept until the template is deleted, which happens whenever the map is saved or imported.
+ *
+ * @author Daniel Saukel
+ */
+public class GameTemplate {
+
+    DungeonsXL plugin = DungeonsXL.getInstance();
+
+    /**
+     * Changes whenever the template format or the set of removed sign types changes.
+     */
+    public static final int FORMAT_VERSION = 2;
+    public static final String DATA_FILE = "DXLTemplate.data";
+    public static final String WORLD_PREFIX = "DXL_Template_";
+
+    /**
+     * The sign types that set their block to air in every case when they are initialized and only use the position of the sign afterwards.
+     */
+    public static final Set<DSignTypeDefault> BAKEABLE = EnumSet.of(
+            DSignTypeDefault.CHECKPOINT,
+            DSignTypeDefault.CHUNK_UPDATER,
+            DSignTypeDefault.DROP,
+            DSignTypeDefault.EXTERNAL_MOB,
+            DSignTypeDefault.HOLOGRAM,
+            DSignTypeDefault.LIVES_MODIFIER,
+            DSignTypeDefault.LOBBY,
+            DSignTypeDefault.MESSAGE,
+            DSignTypeDefault.MOB,
+            DSignTypeDefault.MYTHIC_MOBS,
+            DSignTypeDefault.START,
+            DSignTypeDefault.TRIGGER
+    );
+
+    /**
+     * The content of the data file; the sign types are resolved in the main thread.
+     */
+    static class Data {
+
+        long version;
+        long contentVersion;
+        List<int[]> positions = new ArrayList<>();
+        List<Boolean> baked = new ArrayList<>();
+        List<String[]> lines = new ArrayList<>();
+
+    }
+
+    private DResourceWorld resource;
+    private File folder;
+    private List<SignBlueprint> blueprints;
+    private long version;
+    private long contentVersion;
+    private long mapVersion;
+    private boolean loaded;
+    private boolean loading;
+    private boolean baking;
+    private int generation;
+
+    public GameTemplate(DResourceWorld resource) {
+        this.resource = resource;
+        folder = new File(DungeonsXL.TEMPLATES, resource.getName());
+    }
+
+    /* Getters and setters */
+    /**
+     * @return the folder that stores the template
+     */
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * @return the resource of the template
+     */
+    public DResourceWorld getResource() {
+        return resource;
+    }
+
+    /**
+     * The data file of the template and the content version of the map are read by the I/O executor the first time
+     * this is called and after the template has been deleted; the template is not valid until they are loaded.
+     *
+     * @return if the template exists and has been baked from the current version of the map
+     */
+    public boolean isValid() {
+        if (baking) {
+            return false;
+        }
+        if (!loaded) {
+            load();
+            return false;
+        }
+        return blueprints != null && version == resource.getSignData().getVersion() && contentVersion == mapVersion;
+    }
+
+    /**
+     * @return if the data file of the template and the content version of the map have been loaded
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return if the template is being baked
+     */
+    public boolean isBaking() {
+        return baking;
+    }
+
+    /**
+     * @return the blueprints of all dungeon signs of the map or null if the template is missing, outdated or not loaded yet
+     */
+    public List<SignBlueprint> getBlueprints() {
+        return isValid() ? blueprints : null;
+    }
+
+    /* Actions */
+    /**
+     * @param blueprint
+     * the blueprint to check
+     * @return if the sign can be removed from the template
+     */
+    public static boolean isBakeable(SignBlueprint blueprint) {
+        DSignType type = blueprint.getType();
+        if (type == DSignTypeDefault.COMMAND) {
+            // Command signs without triggers stay as interactable signs
+            return blueprint.getTriggers().length != 0;
+        }
+        return BAKEABLE.contains(type);
+    }
+
+    /**
+     * Copies the map into a temporary world, removes the bakeable signs and moves the world into the template folder.
+     * The files are copied by the I/O executor; the temporary world is loaded in the main thread.
+     */
+    public void bake() {
+        if (baking) {
+            return;
+        }
+        baking = true;
+        blueprints = null;
+
+        final int generation = this.generation;
+        final String name = WORLD_PREFIX + resource.getName();
+        final File worldFolder = new File(Bukkit.getWorldContainer(), name);
+        plugin.getIOExecutor().read(IOExecutor.Priority.WORLD, resource.getFolder(), new Runnable() {
+            @Override
+            public void run() {
+                final long contentVersion = getContentVersion(resource.getFolder());
+                FileUtil.copyDirectory(resource.getFolder(), worldFolder, DungeonsXL.EXCLUDED_FILES);
+                new BukkitRunnable() {
+                    @Override
+                    public void run() {
+                        bake(name, worldFolder, contentVersion, generation);
+                    }
+                }.runTask(plugin);
+            }
+        });
+    }
+
+    private void bake(String name, final File worldFolder, final long contentVersion, final int generation) {
+        plugin.debug.start("GameTemplate#bake");
+        SignData signData = resource.getSignData();
+        final long version = signData.getVersion();
+        WorldCreator creator = WorldCreator.name(name).generateStructures(false);
+        World world = plugin.getMainConfig().areTweaksEnabled() ? WorldLoader.createInstanceWorld(creator) : plugin.getServer().createWorld(creator);
+        if (world == null) {
+            baking = false;
+            plugin.debug.end("GameTemplate#bake", true);
+            return;
+        }
+        world.setAutoSave(false);
+
+        final List<SignBlueprint> baked = new ArrayList<>();
+        for (SignBlueprint blueprint : signData.getBlueprints(world)) {
+            if (isBakeable(blueprint)) {
+                world.getBlockAt(blueprint.getX(), blueprint.getY(), blueprint.getZ()).setType(Material.AIR, false);
+                baked.add(new SignBlueprint(blueprint.getX(), blueprint.getY(), blueprint.getZ(), blueprint.getLines(), blueprint.getType(), true));
+            } else {
+                baked.add(blueprint);
+            }
+        }
+
+        if (!Bukkit.unloadWorld(world, true)) {
+            baking = false;
+            plugin.debug.end("GameTemplate#bake", true);
+            return;
+        }
+
+        // The server writes the chunks of the unloaded world on its own I/O thread, so the world is copied when it is done
+        plugin.getIOExecutor().execute(IOExecutor.Priority.WORLD, worldFolder, new Runnable() {
+            @Override
+            public void run() {
+                WorldLoader.flush();
+                plugin.getIOExecutor().execute(IOExecutor.Priority.WORLD, folder, new Runnable() {
+                    @Override
+                    public void run() {
+                        FileUtil.removeDirectory(folder);
+                        FileUtil.copyDirectory(worldFolder, folder, DungeonsXL.EXCLUDED_FILES);
+                        FileUtil.removeDirectory(worldFolder);
+                        save(baked, version, contentVersion);
+
+                        new BukkitRunnable() {
+                            @Override
+                            public void run() {
+                                baking = false;
+                                // The map has been changed while the template was baked
+                                if (generation != GameTemplate.this.generation) {
+                                    return;
+                                }
+                                blueprints = Collections.unmodifiableList(baked);
+                                GameTemplate.this.version = version;
+                                GameTemplate.this.contentVersion = contentVersion;
+                                mapVersion = contentVersion;
+                                loaded = true;
+                            }
+                        }.runTask(plugin);
+                    }
+                });
+            }
+        });
+        plugin.debug.end("GameTemplate#bake", true);
+    }
+
+    /**
+     * Deletes the template, e.g. after the map has been changed
+     */
+    public void delete() {
+        blueprints = null;
+        loaded = false;
+        generation++;
+        plugin.getIOExecutor().execute(IOExecutor.Priority.WORLD, folder, new Runnable() {
+            @Override
+            public void run() {
+                FileUtil.removeDirectory(folder);
+            }
+        });
+    }
+
+    private void save(List<SignBlueprint> blueprints, long version, long contentVersion) {
+        try {
+            ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(new File(folder, DATA_FILE)));
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(version);
+            out.writeLong(contentVersion);
+            out.writeInt(blueprints.size());
+
+            for (SignBlueprint blueprint : blueprints) {
+                out.writeInt(blueprint.getX());
+                out.writeInt(blueprint.getY());
+                out.writeInt(blueprint.getZ());
+                out.writeBoolean(blueprint.isBaked());
+                for (String line : blueprint.getLines()) {
+                    out.writeUTF(line);
+                }
+            }
+
+            out.close();
+
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads the content version of the map and the data file by the I/O executor and applies them in the main thread.
+     */
+    private void load() {
+        if (loading) {
+            return;
+        }
+        loading = true;
+
+        final int generation = this.generation;
+        plugin.getIOExecutor().read(IOExecutor.Priority.DATA, resource.getFolder(), new Runnable() {
+            @Override
+            public void run() {
+                final long mapVersion = getContentVersion(resource.getFolder());
+                plugin.getIOExecutor().read(IOExecutor.Priority.DATA, folder, new Runnable() {
+                    @Override
+                    public void run() {
+                        final Data data = read();
+                        new BukkitRunnable() {
+                            @Override
+                            public void run() {
+                                loading = false;
+                                if (baking || generation != GameTemplate.this.generation) {
+                                    return;
+                                }
+                                apply(data, mapVersion);
+                            }
+                        }.runTask(plugin);
+                    }
+                });
+            }
+        });
+    }
+
+    private void apply(Data data, long mapVersion) {
+        this.mapVersion = mapVersion;
+        loaded = true;
+        if (data == null || data.version != resource.getSignData().getVersion()) {
+            blueprints = null;
+            return;
+        }
+
+        List<SignBlueprint> blueprints = new ArrayList<>(data.lines.size());
+        for (int i = 0; i < data.lines.size(); i++) {
+            String[] lines = data.lines.get(i);
+            DSignType type = plugin.getDSigns().getByHeader(lines[0]);
+            if (type != null) {
+                int[] position = data.positions.get(i);
+                blueprints.add(new SignBlueprint(position[0], position[1], position[2], lines, type, data.baked.get(i)));
+            }
+        }
+        version = data.version;
+        contentVersion = data.contentVersion;
+        this.blueprints = Collections.unmodifiableList(blueprints);
+    }
+
+    private Data read() {
+        File file = new File(folder, DATA_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+
+        try {
+            ObjectInputStream in = new ObjectInputStream(new FileInputStream(file));
+            try {
+                if (in.readInt() != FORMAT_VERSION) {
+                    return null;
+                }
+
+                Data data = new Data();
+                data.version = in.readLong();
+                data.contentVersion = in.readLong();
+                int length = in.readInt();
+                for (int i = 0; i < length; i++) {
+                    data.positions.add(new int[]{in.readInt(), in.readInt(), in.readInt()});
+                    data.baked.add(in.readBoolean());
+                    String[] lines = new String[4];
+                    for (int j = 0; j < lines.length; j++) {
+                        lines[j] = in.readUTF();
+                    }
+                    data.lines.add(lines);
+                }
+                return data;
+
+            } finally {
+                in.close();
+            }
+
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            return null;
+        }
+    }
+
+    /* Statics */
+    /**
+     * @param map
+     * the folder of the map
+     * @return a number that changes whenever the level.dat or a region file of the map is replaced or modified
+     */
+    public static long getContentVersion(File map) {
+        long contentVersion = addContentVersion(1, new File(map, "level.dat"));
+
+        File[] regions = new File(map, "region").listFiles();
+        if (regions != null) {
+            Arrays.sort(regions);
+            for (File region : regions) {
+                contentVersion = addContentVersion(contentVersion, region);
+            }
+        }
+
+        return contentVersion;
+    }
+
+    private static long addContentVersion(long contentVersion, File file) {
+        contentVersion = contentVersion * 31 + file.getName().hashCode();
+        contentVersion = contentVersion * 31 + file.length();
+        return contentVersion * 31 + file.lastModified();
+    }
+
+}
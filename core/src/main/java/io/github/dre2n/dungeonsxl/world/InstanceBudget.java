@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.world;
+
+import io.github.dre2n.commons.util.messageutil.MessageUtil;
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.config.DMessages;
+import io.github.dre2n.dungeonsxl.config.MainConfig;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+
+/**
+ * Keeps track of the resources a DGameWorld uses and throttles it when it exceeds the limits set in the main config.
+ *
+ * @author Daniel Saukel
+ */
+public class InstanceBudget {
+
+    static DungeonsXL plugin = DungeonsXL.getInstance();
+
+    private DGameWorld gameWorld;
+
+    private int entities;
+    private int items;
+    private int chunks;
+    private double tickTime;
+
+    private long taskTime;
+    private long lastUpdate = System.nanoTime();
+    private boolean overBudget;
+
+    public InstanceBudget(DGameWorld gameWorld) {
+        this.gameWorld = gameWorld;
+    }
+
+    /* Getters and setters */
+    /**
+     * @return the amount of living entities that are not players
+     */
+    public int getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return the amount of dropped items
+     */
+    public int getItems() {
+        return items;
+    }
+
+    /**
+     * @return the amount of loaded chunks
+     */
+    public int getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return the average time in milliseconds DungeonsXL spent on the instance per tick since the last update
+     */
+    public double getTickTime() {
+        return tickTime;
+    }
+
+    /**
+     * @return if the instance exceeded any of its limits at the last update
+     */
+    public boolean isOverBudget() {
+        return overBudget;
+    }
+
+    /* Actions */
+    /**
+     * @param nanos
+     * time in nanoseconds spent on a task that belongs to the instance
+     */
+    public void addTaskTime(long nanos) {
+        taskTime += nanos;
+    }
+
+    /**
+     * Counts an entity that has been spawned since the last update
+     */
+    public void addEntity() {
+        entities++;
+    }
+
+    /**
+     * Counts an item that has been dropped since the last update
+     */
+    public void addItem() {
+        items++;
+    }
+
+    /**
+     * @return
+     * false if mob spawners should be paused
+     */
+    public boolean canSpawnMob() {
+        MainConfig config = plugin.getMainConfig();
+        return !exceeds(entities, config.getInstanceMaxEntities()) && !exceeds(chunks, config.getInstanceMaxChunks())
+                && !exceeds(tickTime, config.getInstanceMaxTickTime());
+    }
+
+    /**
+     * @return
+     * false if new drops should be merged into existing items or skipped
+     */
+    public boolean canDropItem() {
+        return !exceeds(items, plugin.getMainConfig().getInstanceMaxItems());
+    }
+
+    /**
+     * Recounts the resources and reports the instance if it has just exceeded its budget
+     */
+    public void update() {
+        World world = gameWorld.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        entities = 0;
+        items = 0;
+        for (Entity entity : world.getEntities()) {
+            if (entity instanceof Item) {
+                items++;
+            } else if (entity instanceof LivingEntity && !(entity instanceof Player)) {
+                entities++;
+            }
+        }
+        chunks = world.getLoadedChunks().length;
+
+        long now = System.nanoTime();
+        long ticks = Math.max(1, (now - lastUpdate) / 50000000L);
+        tickTime = taskTime / 1000000D / ticks;
+        taskTime = 0;
+        lastUpdate = now;
+
+        boolean wasOverBudget = overBudget;
+        overBudget = !canSpawnMob() || !canDropItem();
+        if (overBudget && !wasOverBudget) {
+            MessageUtil.log(plugin, DMessages.LOG_INSTANCE_OVER_BUDGET.getMessage(world.getName(), toString()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "entities=" + entities + ", items=" + items + ", chunks=" + chunks + ", tickTime=" + String.format("%.2f", tickTime) + "ms";
+    }
+
+    /* Statics */
+    private static boolean exceeds(double value, double limit) {
+        return limit >= 0 && value >= limit;
+    }
+
+}
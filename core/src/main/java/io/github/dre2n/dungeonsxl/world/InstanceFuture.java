@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.world;
+
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import java.util.ArrayList;
+import java.util.List;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitRunnable;
+
+/**
+ * The pending result of an instantiation. All callbacks are called in the main thread.
+ *
+ * @author Daniel Saukel
+ */
+public class InstanceFuture<T extends DInstanceWorld> {
+
+    public enum Stage {
+
+        /**
+         * The files of the resource are copied into the instance folder.
+         */
+        COPYING,
+        /**
+         * The copied world is loaded by the server.
+         */
+        LOADING,
+        /**
+         * The signs of the instance are being registered.
+         */
+        INITIALIZING,
+        /**
+         * The instance is ready to be used.
+         */
+        DONE,
+        /**
+         * The instantiation failed.
+         */
+        FAILED
+
+    }
+
+    public interface Callback<V> {
+
+        public void call(V value);
+
+    }
+
+    static DungeonsXL plugin = DungeonsXL.getInstance();
+
+    private T instance;
+    private volatile Stage stage = Stage.COPYING;
+    private Throwable cause;
+    private List<Callback<? super T>> callbacks = new ArrayList<>();
+    private List<Callback<Throwable>> failureCallbacks = new ArrayList<>();
+    private List<Callback<Stage>> progressCallbacks = new ArrayList<>();
+
+    InstanceFuture(T instance) {
+        this.instance = instance;
+    }
+
+    /* Getters and setters */
+    /**
+     * @return the instance if it is ready or null if it is not
+     */
+    public T get() {
+        return stage == Stage.DONE ? instance : null;
+    }
+
+    /**
+     * @return the instance, even if it is not ready yet
+     */
+    public T getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the current stage
+     */
+    public Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * @return if the instance is ready or the instantiation failed
+     */
+    public boolean isDone() {
+        return stage == Stage.DONE || stage == Stage.FAILED;
+    }
+
+    /**
+     * @return if the instantiation failed
+     */
+    public boolean isFailed() {
+        return stage == Stage.FAILED;
+    }
+
+    /**
+     * @return the reason why the instantiation failed or null
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+
+    /* Actions */
+    /**
+     * Calls the callback with the instance when it is ready or immediately if it already is.
+     *
+     * @param callback
+     * the callback
+     * @return this future
+     */
+    public InstanceFuture<T> thenRun(Callback<? super T> callback) {
+        if (stage == Stage.DONE) {
+            callback.call(instance);
+        } else if (stage != Stage.FAILED) {
+            callbacks.add(callback);
+        }
+        return this;
+    }
+
+    /**
+     * Calls the callback with the cause if the instantiation fails or immediately if it already has failed.
+     *
+     * @param callback
+     * the callback
+     * @return this future
+     */
+    public InstanceFuture<T> onFailure(Callback<Throwable> callback) {
+        if (stage == Stage.FAILED) {
+            callback.call(cause);
+        } else if (stage != Stage.DONE) {
+            failureCallbacks.add(callback);
+        }
+        return this;
+    }
+
+    /**
+     * Calls the callback whenever the instantiation reaches a new stage.
+     *
+     * @param callback
+     * the callback
+     * @return this future
+     */
+    public InstanceFuture<T> onProgress(Callback<Stage> callback) {
+        if (!isDone()) {
+            progressCallbacks.add(callback);
+        }
+        return this;
+    }
+
+    /**
+     * @param stage
+     * the stage the instantiation has reached; may be called from any thread
+     */
+    void setStage(final Stage stage) {
+        if (!Bukkit.isPrimaryThread()) {
+            new BukkitRunnable() {
+                @Override
+                public void run() {
+                    setStage(stage);
+                }
+            }.runTask(plugin);
+            return;
+        }
+
+        if (isDone()) {
+            return;
+        }
+        this.stage = stage;
+        for (Callback<Stage> callback : new ArrayList<>(progressCallbacks)) {
+            callback.call(stage);
+        }
+    }
+
+    /**
+     * Marks the instance as ready and calls the callbacks. Must be called in the main thread.
+     */
+    void complete() {
+        if (isDone()) {
+            return;
+        }
+        setStage(Stage.DONE);
+        for (Callback<? super T> callback : callbacks) {
+            callback.call(instance);
+        }
+        clear();
+    }
+
+    /**
+     * Marks the instantiation as failed and calls the failure callbacks; may be called from any thread.
+     *
+     * @param cause
+     * the reason why the instantiation failed
+     */
+    void fail(final Throwable cause) {
+        if (!Bukkit.isPrimaryThread()) {
+            new BukkitRunnable() {
+                @Override
+                public void run() {
+                    fail(cause);
+                }
+            }.runTask(plugin);
+            return;
+        }
+
+        if (isDone()) {
+            return;
+        }
+        this.cause = cause;
+        setStage(Stage.FAILED);
+        for (Callback<Throwable> callback : failureCallbacks) {
+            callback.call(cause);
+        }
+        clear();
+    }
+
+    private void clear() {
+        callbacks.clear();
+        failureCallbacks.clear();
+        progressCallbacks.clear();
+    }
+
+}
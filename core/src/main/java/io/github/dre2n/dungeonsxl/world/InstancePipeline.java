@@ -0,0 +1,533 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.world;
+
+import io.github.dre2n.commons.util.FileUtil;
+import io.github.dre2n.commons.util.messageutil.MessageUtil;
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.config.DMessages;
+import io.github.dre2n.dungeonsxl.config.MainConfig;
+import io.github.dre2n.dungeonsxl.config.SignData;
+import io.github.dre2n.dungeonsxl.sign.SignBlueprint;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
+import io.github.dre2n.dungeonsxl.util.worldloader.WorldLoader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bukkit.WorldCreator;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Instantiates worlds in three stages so that the instantiations of multiple worlds overlap:
+ * The files are copied by the I/O executor with the highest priority;
+ * the worlds are loaded in the main thread and their signs are registered chunk by chunk, both within a time budget per tick.
+ *
+ * @author Daniel Saukel
+ */
+public class InstancePipeline {
+
+    /**
+     * The throughput of one stage of the pipeline.
+     */
+    public static class Metrics {
+
+        private String name;
+        private int queued;
+        private long processed;
+        private long failed;
+        private long totalTime;
+        private long maxTime;
+
+        public Metrics(String name) {
+            this.name = name;
+        }
+
+        /* Getters and setters */
+        /**
+         * @return the name of the stage
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the amount of instances that wait for or are in this stage
+         */
+        public synchronized int getQueued() {
+            return queued;
+        }
+
+        /**
+         * @return the amount of instances that passed this stage
+         */
+        public synchronized long getProcessed() {
+            return processed;
+        }
+
+        /**
+         * @return the amount of instances that failed in this stage
+         */
+        public synchronized long getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return the average time in milliseconds an instance spent in this stage
+         */
+        public synchronized double getAverageTime() {
+            return processed == 0 ? 0 : totalTime / (double) processed / 1000000D;
+        }
+
+        /**
+         * @return the maximum time in milliseconds an instance spent in this stage
+         */
+        public synchronized double getMaxTime() {
+            return maxTime / 1000000D;
+        }
+
+        /* Actions */
+        synchronized void enqueue() {
+            queued++;
+        }
+
+        synchronized void record(long time) {
+            queued--;
+            processed++;
+            totalTime += time;
+            maxTime = Math.max(maxTime, time);
+        }
+
+        synchronized void fail() {
+            queued--;
+            failed++;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return name + ": queued=" + queued + ", processed=" + processed + ", failed=" + failed
+                    + ", avg=" + String.format("%.2f", getAverageTime()) + "ms, max=" + String.format("%.2f", getMaxTime()) + "ms";
+        }
+
+    }
+
+    /**
+     * One instance on its way through the pipeline.
+     */
+    static class Job {
+
+        DInstanceWorld instance;
+        InstanceFuture<?> future;
+        File source;
+        GameTemplate template;
+        boolean baked;
+        List<SignBlueprint> blueprints;
+        Deque<Runnable> chunks = new ArrayDeque<>();
+        long initTime;
+
+        Job(DInstanceWorld instance, InstanceFuture<?> future, File source, GameTemplate template, boolean baked) {
+            this.instance = instance;
+            this.future = future;
+            this.source = source;
+            this.template = template;
+            this.baked = baked;
+            // The blueprints of the template that is copied, even if it is baked again in the meantime
+            if (baked) {
+                blueprints = template.getBlueprints();
+            }
+        }
+
+    }
+
+    static DungeonsXL plugin = DungeonsXL.getInstance();
+
+    private Deque<Job> loadQueue = new ArrayDeque<>();
+    private Deque<Job> initQueue = new ArrayDeque<>();
+    private BukkitTask task;
+
+    private Metrics ioMetrics = new Metrics("copy");
+    private Metrics loadMetrics = new Metrics("load");
+    private Metrics initMetrics = new Metrics("signs");
+
+    /* Getters and setters */
+    /**
+     * @return the metrics of the stage that copies the files
+     */
+    public Metrics getIOMetrics() {
+        return ioMetrics;
+    }
+
+    /**
+     * @return the metrics of the stage that loads the worlds
+     */
+    public Metrics getLoadMetrics() {
+        return loadMetrics;
+    }
+
+    /**
+     * @return the metrics of the stage that registers the signs
+     */
+    public Metrics getInitMetrics() {
+        return initMetrics;
+    }
+
+    /**
+     * @return the metrics of all stages in order
+     */
+    public List<Metrics> getMetrics() {
+        List<Metrics> metrics = new ArrayList<>();
+        metrics.add(ioMetrics);
+        metrics.add(loadMetrics);
+        metrics.add(initMetrics);
+        return metrics;
+    }
+
+    /* Actions */
+    /**
+     * Queues an instance for the I/O stage.
+     *
+     * @param instance
+     * the instance to load
+     * @param future
+     * the future to notify
+     * @param source
+     * the folder to copy the files from
+     * @param template
+     * the game template or null
+     * @param baked
+     * if the source is the baked template
+     */
+    void submit(DInstanceWorld instance, InstanceFuture<?> future, File source, GameTemplate template, boolean baked) {
+        final Job job = new Job(instance, future, source, template, baked);
+        ioMetrics.enqueue();
+        // Saves into the map and bakes of the template write under the key of the source folder
+        plugin.getIOExecutor().read(IOExecutor.Priority.INSTANCE, source, new Runnable() {
+            @Override
+            public void run() {
+                copy(job);
+            }
+        });
+    }
+
+    /**
+     * Runs all stages for the instance in the calling thread, which must be the main thread.
+     * This blocks until the writes into the source folder that are pending in the I/O executor are finished,
+     * so it is only used by the synchronous instantiation methods.
+     *
+     * @param instance
+     * the instance to load
+     * @param future
+     * the future to notify
+     * @param source
+     * the folder to copy the files from
+     * @param template
+     * the game template or null
+     * @param baked
+     * if the source is the baked template
+     */
+    void run(DInstanceWorld instance, InstanceFuture<?> future, File source, GameTemplate template, boolean baked) {
+        Job job = new Job(instance, future, source, template, baked);
+        ioMetrics.enqueue();
+        plugin.getIOExecutor().awaitWrites(source);
+
+        long start = System.nanoTime();
+        try {
+            FileUtil.copyDirectory(source, instance.getFolder(), DungeonsXL.EXCLUDED_FILES);
+
+        } catch (RuntimeException exception) {
+            ioMetrics.fail();
+            abort(job, exception);
+            return;
+        }
+
+        ioMetrics.record(System.nanoTime() - start);
+        future.setStage(InstanceFuture.Stage.LOADING);
+        loadMetrics.enqueue();
+        if (!load(job)) {
+            return;
+        }
+
+        initMetrics.enqueue();
+        while (!future.isDone()) {
+            initialize(job);
+        }
+    }
+
+    /**
+     * I/O stage: copies the files into the instance folder and prefetches the region files.
+     */
+    private void copy(final Job job) {
+        long start = System.nanoTime();
+        try {
+            File folder = job.instance.getFolder();
+            FileUtil.copyDirectory(job.source, folder, DungeonsXL.EXCLUDED_FILES);
+            prefetch(new File(folder, "region"));
+
+        } catch (final RuntimeException exception) {
+            ioMetrics.fail();
+            new BukkitRunnable() {
+                @Override
+                public void run() {
+                    abort(job, exception);
+                }
+            }.runTask(plugin);
+            return;
+        }
+
+        ioMetrics.record(System.nanoTime() - start);
+        job.future.setStage(InstanceFuture.Stage.LOADING);
+        loadMetrics.enqueue();
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                loadQueue.add(job);
+                schedule();
+            }
+        }.runTask(plugin);
+    }
+
+    /**
+     * Reads the region files once, so that the world loads them from the page cache.
+     */
+    private void prefetch(File regionFolder) {
+        File[] files = regionFolder.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        byte[] buffer = new byte[65536];
+        for (File file : files) {
+            try (InputStream in = new FileInputStream(file)) {
+                while (in.read(buffer) != -1) {
+                }
+            } catch (IOException exception) {
+                // Only an optimization
+            }
+        }
+    }
+
+    private void schedule() {
+        if (task != null) {
+            return;
+        }
+
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }.runTaskTimer(plugin, 0L, 1L);
+    }
+
+    /**
+     * Runs the load and the initialization stage until the time budget of this tick is used up.
+     * Each stage processes at least one unit per tick.
+     */
+    private void tick() {
+        long deadline = System.nanoTime() + (long) (plugin.getMainConfig().getPipelineTickBudget() * 1000000D);
+
+        boolean first = true;
+        while (!loadQueue.isEmpty() && (first || System.nanoTime() < deadline)) {
+            Job job = loadQueue.poll();
+            if (load(job)) {
+                initMetrics.enqueue();
+                initQueue.add(job);
+            }
+            first = false;
+        }
+
+        first = true;
+        while (!initQueue.isEmpty() && (first || System.nanoTime() < deadline)) {
+            initialize(initQueue.peek());
+            first = false;
+        }
+
+        if (loadQueue.isEmpty() && initQueue.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Load stage: loads the world and splits the sign registration into one unit per chunk.
+     *
+     * @return if the job may proceed to the initialization stage
+     */
+    private boolean load(Job job) {
+        DInstanceWorld instance = job.instance;
+        if (!plugin.getDWorlds().getInstances().contains(instance)) {
+            loadMetrics.fail();
+            job.future.fail(new IllegalStateException("The instance has been deleted while it was loaded"));
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try {
+            String name = instance.getFolder().getName();
+            MainConfig config = plugin.getMainConfig();
+            WorldCreator creator = WorldCreator.name(name).generateStructures(false);
+            if (!config.areTweaksEnabled()) {
+                instance.world = plugin.getServer().createWorld(creator);
+            } else if (instance instanceof DGameWorld) {
+                instance.world = WorldLoader.createInstanceWorld(creator);
+            } else {
+                // Edit worlds are saved back into the map and keep the regular loading process
+                instance.world = WorldLoader.createWorld(creator);
+            }
+            if (instance.world == null) {
+                throw new IllegalStateException("The world " + name + " could not be loaded");
+            }
+            if (instance instanceof DGameWorld) {
+                // Game worlds are deleted when they are unloaded
+                instance.world.setAutoSave(false);
+            }
+
+            split(job);
+
+        } catch (RuntimeException exception) {
+            loadMetrics.fail();
+            abort(job, exception);
+            return false;
+        }
+
+        loadMetrics.record(System.nanoTime() - start);
+        job.future.setStage(InstanceFuture.Stage.INITIALIZING);
+        return true;
+    }
+
+    private void split(Job job) {
+        DResourceWorld resource = job.instance.getResource();
+        final SignData signData = resource.getSignData();
+
+        if (job.instance instanceof DGameWorld) {
+            final DGameWorld gameWorld = (DGameWorld) job.instance;
+            List<SignBlueprint> known = job.baked ? job.blueprints : resource.getBlueprints(job.template);
+            if (known != null) {
+                Map<Long, List<SignBlueprint>> chunks = new LinkedHashMap<>();
+                for (SignBlueprint blueprint : known) {
+                    getChunk(chunks, blueprint.getX() >> 4, blueprint.getZ() >> 4).add(blueprint);
+                }
+                for (final List<SignBlueprint> blueprints : chunks.values()) {
+                    job.chunks.add(new Runnable() {
+                        @Override
+                        public void run() {
+                            signData.deserializeSigns(gameWorld, blueprints);
+                        }
+                    });
+                }
+                return;
+            }
+
+            // The blueprints are compiled chunk by chunk, too, and cached for the next instances when all chunks are done
+            final long version = signData.getVersion();
+            final List<SignBlueprint> compiled = new ArrayList<>();
+            Map<Long, List<Long>> chunks = new LinkedHashMap<>();
+            for (long key : signData.getKeys()) {
+                getChunk(chunks, SignData.getX(key) >> 4, SignData.getZ(key) >> 4).add(key);
+            }
+            for (final Collection<Long> keys : chunks.values()) {
+                job.chunks.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        List<SignBlueprint> blueprints = signData.compileBlueprints(gameWorld.getWorld(), keys);
+                        compiled.addAll(blueprints);
+                        signData.deserializeSigns(gameWorld, blueprints);
+                    }
+                });
+            }
+            job.chunks.add(new Runnable() {
+                @Override
+                public void run() {
+                    if (signData.getVersion() == version) {
+                        signData.cacheBlueprints(Collections.unmodifiableList(compiled), version);
+                    }
+                }
+            });
+
+        } else {
+            final DEditWorld editWorld = (DEditWorld) job.instance;
+            Map<Long, List<Long>> chunks = new LinkedHashMap<>();
+            for (long key : signData.getKeys()) {
+                getChunk(chunks, SignData.getX(key) >> 4, SignData.getZ(key) >> 4).add(key);
+            }
+            for (final Collection<Long> keys : chunks.values()) {
+                job.chunks.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        signData.deserializeSigns(editWorld, keys);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Initialization stage: registers the signs of one chunk and finishes the instance when all chunks are done.
+     */
+    private void initialize(Job job) {
+        Runnable chunk = job.chunks.poll();
+        if (chunk != null) {
+            long start = System.nanoTime();
+            try {
+                chunk.run();
+
+            } catch (RuntimeException exception) {
+                initQueue.remove(job);
+                initMetrics.fail();
+                abort(job, exception);
+                return;
+            }
+            job.initTime += System.nanoTime() - start;
+        }
+
+        if (job.chunks.isEmpty()) {
+            initQueue.remove(job);
+            initMetrics.record(job.initTime);
+            job.instance.finishLoading();
+        }
+    }
+
+    /**
+     * Forgets an instance that could not be loaded.
+     */
+    private void abort(Job job, Throwable cause) {
+        MessageUtil.log(plugin, DMessages.LOG_ERROR_INSTANTIATION.getMessage(job.instance.getResource().getName(), String.valueOf(cause.getMessage())));
+        plugin.getDWorlds().removeInstance(job.instance);
+        job.future.fail(cause);
+    }
+
+    /* Statics */
+    private static <V> List<V> getChunk(Map<Long, List<V>> chunks, int x, int z) {
+        long key = (long) x << 32 | z & 0xFFFFFFFFL;
+        List<V> chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = new ArrayList<>();
+            chunks.put(key, chunk);
+        }
+        return chunk;
+    }
+
+}
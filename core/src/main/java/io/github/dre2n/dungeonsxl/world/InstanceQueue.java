@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.world;
+
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.config.DMessages;
+import io.github.dre2n.dungeonsxl.config.MainConfig;
+import io.github.dre2n.dungeonsxl.player.DGroup;
+import io.github.dre2n.dungeonsxl.util.IOExecutor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Admits requests for new game instances so that the instance limit is respected and only a few worlds are loaded at once.
+ * No requests are admitted while the I/O executor is saturated, so that the copies of new instances do not pile up.
+ *
+ * @author Daniel Saukel
+ */
+public class InstanceQueue {
+
+    DungeonsXL plugin = DungeonsXL.getInstance();
+
+    private List<InstanceRequest> requests = new ArrayList<>();
+    private Set<DGameWorld> loading = new HashSet<>();
+    private BukkitTask retryTask;
+
+    /* Getters and setters */
+    /**
+     * @return the waiting requests
+     */
+    public List<InstanceRequest> getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return the admitted instances whose world is not loaded yet
+     */
+    public Set<DGameWorld> getLoading() {
+        return loading;
+    }
+
+    /**
+     * @param dGroup
+     * the group to check
+     * @return
+     * the request of the group or null if the group is not queued
+     */
+    public InstanceRequest getRequest(DGroup dGroup) {
+        for (InstanceRequest request : requests) {
+            if (request.getDGroups().contains(dGroup)) {
+                return request;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param dGroup
+     * the group to check
+     * @return
+     * the position of the group in the queue, starting with 1; 0 if it is not queued
+     */
+    public int getPosition(DGroup dGroup) {
+        InstanceRequest request = getRequest(dGroup);
+        return request != null ? request.getPosition() : 0;
+    }
+
+    /* Actions */
+    /**
+     * Queues the request and admits it immediately if possible.
+     *
+     * @param request
+     * the request to add
+     * @return
+     * false if one of the groups is already queued
+     */
+    public boolean add(InstanceRequest request) {
+        for (DGroup dGroup : request.getDGroups()) {
+            if (getRequest(dGroup) != null) {
+                return false;
+            }
+        }
+
+        requests.add(request);
+        process();
+        return true;
+    }
+
+    /**
+     * @param request
+     * the request to remove without admitting it
+     */
+    public void remove(InstanceRequest request) {
+        requests.remove(request);
+    }
+
+    /**
+     * Admits the requests with the highest priority while there are free slots and notifies the others of their position.
+     * This runs whenever a request is added, an instance has finished loading or a game world has been deleted.
+     */
+    public void process() {
+        MainConfig config = plugin.getMainConfig();
+        Set<DGameWorld> gameWorlds = plugin.getDWorlds().getGameWorlds();
+
+        for (DGameWorld gameWorld : new ArrayList<>(loading)) {
+            if (gameWorld.isLoaded() || !gameWorlds.contains(gameWorld)) {
+                loading.remove(gameWorld);
+            }
+        }
+
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        // The priority depends on the wait time, so it is calculated once per run
+        final Map<InstanceRequest, Integer> priorities = new HashMap<>();
+        for (InstanceRequest request : requests) {
+            priorities.put(request, request.getPriority());
+        }
+        Collections.sort(requests, new Comparator<InstanceRequest>() {
+            @Override
+            public int compare(InstanceRequest request1, InstanceRequest request2) {
+                return priorities.get(request2).compareTo(priorities.get(request1));
+            }
+        });
+
+        IOExecutor ioExecutor = plugin.getIOExecutor();
+        // Instances that loaded synchronously during this run; asynchronous ones are counted through the loading set
+        int admitted = 0;
+        while (!requests.isEmpty() && loading.size() + admitted < config.getMaxParallelInstantiations()
+                && plugin.getDWorlds().getGameWorlds().size() < config.getMaxInstances() && !ioExecutor.isSaturated()) {
+            InstanceRequest request = requests.remove(0);
+            if (!request.isValid()) {
+                continue;
+            }
+
+            DGameWorld gameWorld = request.admit();
+            if (gameWorld != null && !gameWorld.isLoaded()) {
+                loading.add(gameWorld);
+            } else {
+                admitted++;
+            }
+        }
+
+        // Saturation does not end with an event that processes the queue, so it is checked again later
+        if (!requests.isEmpty() && ioExecutor.isSaturated() && retryTask == null) {
+            retryTask = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    retryTask = null;
+                    process();
+                }
+            }.runTaskLater(plugin, 20L);
+        }
+
+        int position = 0;
+        for (InstanceRequest request : requests) {
+            position++;
+            if (request.getPosition() != position) {
+                request.setPosition(position);
+                request.sendMessage(DMessages.PLAYER_QUEUE_POSITION.getMessage(String.valueOf(position), String.valueOf(requests.size())));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2012-2016 Frank Baumann
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.dre2n.dungeonsxl.world;
+
+import io.github.dre2n.dungeonsxl.DungeonsXL;
+import io.github.dre2n.dungeonsxl.player.DGroup;
+import io.github.dre2n.dungeonsxl.player.DPermissions;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A request for a new game instance that waits in the InstanceQueue until it is admitted.
+ *
+ * @author Daniel Saukel
+ */
+public abstract class InstanceRequest {
+
+    /**
+     * Priority points per second the request has been waiting
+     */
+    public static final int WAIT_WEIGHT = 1;
+    /**
+     * Priority points per player in the requesting groups
+     */
+    public static final int PARTY_SIZE_WEIGHT = 5;
+    /**
+     * Priority points if a captain has the queue priority permission
+     */
+    public static final int VIP_BONUS = 60;
+
+    static DungeonsXL plugin = DungeonsXL.getInstance();
+
+    private List<DGroup> dGroups;
+    private long time = System.currentTimeMillis();
+    private int position;
+
+    public InstanceRequest(DGroup... dGroups) {
+        this(Arrays.asList(dGroups));
+    }
+
+    public InstanceRequest(List<DGroup> dGroups) {
+        this.dGroups = dGroups;
+    }
+
+    /* Getters and setters */
+    /**
+     * @return the groups that requested the instance
+     */
+    public List<DGroup> getDGroups() {
+        return dGroups;
+    }
+
+    /**
+     * @return the time in milliseconds the request has been waiting
+     */
+    public long getWaitTime() {
+        return System.currentTimeMillis() - time;
+    }
+
+    /**
+     * @return the priority; higher values are admitted first
+     */
+    public int getPriority() {
+        int players = 0;
+        boolean vip = false;
+        for (DGroup dGroup : dGroups) {
+            players += dGroup.getPlayers().size();
+            if (!vip && dGroup.getCaptain() != null) {
+                vip = DPermissions.hasPermission(dGroup.getCaptain(), DPermissions.QUEUE_PRIORITY);
+            }
+        }
+
+        return (int) (getWaitTime() / 1000) * WAIT_WEIGHT + players * PARTY_SIZE_WEIGHT + (vip ? VIP_BONUS : 0);
+    }
+
+    /**
+     * @return the last position in the queue the players were notified about
+     */
+    int getPosition() {
+        return position;
+    }
+
+    /**
+     * @param position
+     * the position in the queue the players have been notified about
+     */
+    void setPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * @return if at least one of the groups still exists
+     */
+    public boolean isValid() {
+        for (DGroup dGroup : dGroups) {
+            if (plugin.getDGroups().contains(dGroup)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param message
+     * the message to send to all players of the requesting groups
+     */
+    public void sendMessage(String message) {
+        for (DGroup dGroup : dGroups) {
+            dGroup.sendMessage(message);
+        }
+    }
+
+    /* Actions */
+    /**
+     * Called when the request leaves the queue. Implementations instantiate the world and teleport the players.
+     *
+     * @return
+     * the instantiated world or null if instantiating failed
+     */
+    public abstract DGameWorld admit();
+
+}
@@ -17,6 +17,8 @@
 package io.github.dre2n.dungeonsxl.util.worldloader;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -25,9 +27,12 @@ import net.minecraft.server.v1_10_R1.Convertable;
 import net.minecraft.server.v1_10_R1.EntityTracker;
 import net.minecraft.server.v1_10_R1.EnumDifficulty;
 import net.minecraft.server.v1_10_R1.EnumGamemode;
+import net.minecraft.server.v1_10_R1.FileIOThread;
 import net.minecraft.server.v1_10_R1.IDataManager;
 import net.minecraft.server.v1_10_R1.IProgressUpdate;
 import net.minecraft.server.v1_10_R1.MinecraftServer;
+import net.minecraft.server.v1_10_R1.NBTCompressedStreamTools;
+import net.minecraft.server.v1_10_R1.NBTTagCompound;
 import net.minecraft.server.v1_10_R1.ServerNBTManager;
 import net.minecraft.server.v1_10_R1.WorldData;
 import net.minecraft.server.v1_10_R1.WorldLoaderServer;
@@ -50,6 +55,11 @@ import org.bukkit.plugin.PluginManager;
  */
 public class v1_10_R1 extends InternalsProvider {
 
+    /**
+     * The DataVersion of the first Minecraft release that uses these internals (1.10)
+     */
+    static final int DATA_VERSION = 510;
+
     MinecraftServer console;
     CraftServer server = ((CraftServer) Bukkit.getServer());
     Map<String, World> worlds;
@@ -72,9 +82,14 @@ public class v1_10_R1 extends InternalsProvider {
         }
     }
 
-    @SuppressWarnings("deprecation")
     @Override
     World createWorld(WorldCreator creator) {
+        return createWorld(creator, false);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    World createWorld(WorldCreator creator, boolean lean) {
         String name = creator.name();
         ChunkGenerator generator = creator.generator();
         File folder = new File(worldContainer, name);
@@ -94,8 +109,9 @@ public class v1_10_R1 extends InternalsProvider {
             generator = server.getGenerator(name);
         }
 
-        Convertable converter = new WorldLoaderServer(worldContainer, server.getHandle().getServer().getDataConverterManager());
-        if (converter.isConvertable(name)) {
+        // Only maps that have been saved by this server version may skip the conversion
+        Convertable converter = lean && isCurrent(folder) ? null : new WorldLoaderServer(worldContainer, server.getHandle().getServer().getDataConverterManager());
+        if (converter != null && converter.isConvertable(name)) {
             logger.info("Converting world '" + name + "'");
             converter.convert(name, new IProgressUpdate() {
                 private long b = System.currentTimeMillis();
@@ -156,6 +172,9 @@ public class v1_10_R1 extends InternalsProvider {
         internal.addIWorldAccess(new WorldManager(console, internal));
         internal.worldData.setDifficulty(EnumDifficulty.EASY);
         internal.setSpawnFlags(true, true);
+        if (lean) {
+            internal.keepSpawnInMemory = false;
+        }
         console.worlds.add(internal);
 
         if (generator != null) {
@@ -163,9 +182,9 @@ public class v1_10_R1 extends InternalsProvider {
         }
 
         pluginManager.callEvent(new WorldInitEvent(internal.getWorld()));
-        logger.info("Preparing start region for level " + (console.worlds.size() - 1) + " (Seed: " + internal.getSeed() + ")");
 
-        if (internal.getWorld().getKeepSpawnInMemory()) {
+        if (!lean && internal.getWorld().getKeepSpawnInMemory()) {
+            logger.info("Preparing start region for level " + (console.worlds.size() - 1) + " (Seed: " + internal.getSeed() + ")");
             short short1 = 196;
             long i = System.currentTimeMillis();
             for (int j = -short1; j <= short1; j += 16) {
@@ -196,4 +215,34 @@ public class v1_10_R1 extends InternalsProvider {
         return internal.getWorld();
     }
 
+    @Override
+    void flush() {
+        try {
+            FileIOThread.a().b();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param folder
+     * the world folder
+     * @return
+     * if the level.dat of the world has been written by this server version or by a later one
+     */
+    boolean isCurrent(File folder) {
+        File levelDat = new File(folder, "level.dat");
+        if (!levelDat.exists()) {
+            return false;
+        }
+
+        try (FileInputStream input = new FileInputStream(levelDat)) {
+            NBTTagCompound data = NBTCompressedStreamTools.a(input).getCompound("Data");
+            return data.getInt("DataVersion") >= DATA_VERSION;
+
+        } catch (IOException exception) {
+            return false;
+        }
+    }
+
 }